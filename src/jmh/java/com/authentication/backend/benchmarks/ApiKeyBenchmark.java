@@ -0,0 +1,75 @@
+package com.authentication.backend.benchmarks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.authentication.backend.configurations.ApiKeyProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.ApiKeyAuthenticationProvider;
+import com.authentication.backend.security.ApiKeyAuthenticationToken;
+import com.authentication.backend.services.ApiKeyService;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryApiKeyRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Compares authenticating a machine client by a cached API key, one HMAC per
+ * request, with verifying its password against a BCrypt hash of the default
+ * cost, as HTTP Basic does on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiKeyBenchmark {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private String passwordHash;
+
+    private AuthenticationManager authenticationManager;
+
+    private String apiKey;
+
+    @Setup
+    public void setUp() {
+        passwordHash = passwordEncoder.encode("password");
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", passwordHash, Set.of(new Role("1", "USER"))));
+
+        ApiKeyService apiKeyService = new ApiKeyService(new InMemoryApiKeyRepository(),
+                new UserService(userRepository),
+                new ApiKeyProperties(true, "a-secret-shared-by-all-nodes", "X-API-Key", 10_000, Duration.ofMinutes(1)));
+        authenticationManager = new ProviderManager(new ApiKeyAuthenticationProvider(apiKeyService));
+        apiKey = apiKeyService.issue("Ethan", "benchmark").apiKey();
+    }
+
+    @Benchmark
+    public Authentication apiKey() {
+        return authenticationManager.authenticate(ApiKeyAuthenticationToken.unauthenticated(apiKey));
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return passwordEncoder.matches("password", passwordHash);
+    }
+}
@@ -0,0 +1,96 @@
+package com.authentication.backend.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.InstrumentedAuthenticationManager;
+import com.authentication.backend.security.InstrumentedAuthoritiesMapper;
+import com.authentication.backend.security.InstrumentedPasswordEncoder;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * Measures the overhead of the authentication stage timers, comparing the
+ * provider manager with and without instrumentation. BCrypt runs at its lowest
+ * strength so the overhead is measured against the cheapest realistic
+ * authentication; it should stay under 1%.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationMetricsBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean instrumented;
+
+    private AuthenticationManager authenticationManager;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        AuthenticationMetrics metrics = instrumented ? new AuthenticationMetrics(meterRegistry)
+                : AuthenticationMetrics.noop();
+
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role("1", "USER"));
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", passwordEncoder.encode("password"), roles));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new UserService(userRepository, metrics, null));
+        if (instrumented) {
+            provider.setPasswordEncoder(new InstrumentedPasswordEncoder(passwordEncoder, metrics));
+            provider.setAuthoritiesMapper(new InstrumentedAuthoritiesMapper(metrics));
+            provider.setHideUserNotFoundExceptions(false);
+            authenticationManager = new InstrumentedAuthenticationManager(new ProviderManager(provider), metrics);
+        } else {
+            provider.setPasswordEncoder(passwordEncoder);
+            authenticationManager = new ProviderManager(provider);
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("Ethan", "password"));
+    }
+}
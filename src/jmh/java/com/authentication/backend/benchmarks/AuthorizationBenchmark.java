@@ -0,0 +1,85 @@
+package com.authentication.backend.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.AuthoritySetAuthorizationManager;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryRoleRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Compares Spring Security's string based {@link AuthorityAuthorizationManager}
+ * with the {@link AuthoritySetAuthorizationManager} for users holding many
+ * roles. The required authority is one the user does not hold, the worst case
+ * for the string comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    @Param({ "4", "64", "512" })
+    private int roleCount;
+
+    private Supplier<Authentication> authentication;
+
+    private AuthorizationManager<Object> authorityManager;
+
+    private AuthorizationManager<Object> authoritySetManager;
+
+    @Setup
+    public void setUp() {
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        roleRepository.save(new Role("admin", "ADMIN"));
+        Set<Role> roles = new HashSet<>();
+        for (int i = 0; i < roleCount; i++)
+            roles.add(roleRepository.save(new Role("role-" + i, "PERMISSION_" + i)));
+        RoleCatalog roleCatalog = new RoleCatalog(roleRepository);
+
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", "$2a$10$storedHash", roles));
+        ApplicationUser user = (ApplicationUser) new UserService(userRepository, AuthenticationMetrics.noop(),
+                roleCatalog).loadUserByUsername("Ethan");
+        Authentication token = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        authentication = () -> token;
+
+        authorityManager = AuthorityAuthorizationManager.hasAuthority("ADMIN");
+        authoritySetManager = AuthoritySetAuthorizationManager.hasAuthority(roleCatalog, "ADMIN");
+    }
+
+    @Benchmark
+    public boolean authorityAuthorizationManager() {
+        return authorityManager.check(authentication, null).isGranted();
+    }
+
+    @Benchmark
+    public boolean authoritySetAuthorizationManager() {
+        return authoritySetManager.check(authentication, null).isGranted();
+    }
+}
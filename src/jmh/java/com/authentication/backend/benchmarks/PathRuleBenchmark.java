@@ -0,0 +1,100 @@
+package com.authentication.backend.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import com.authentication.backend.configurations.AuthorizationRulesProperties;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.PathRuleAuthorizationManager;
+import com.authentication.backend.support.InMemoryAuthorizationRuleRepository;
+import com.authentication.backend.support.InMemoryRoleRepository;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Compares a linear list of request matchers, as built by
+ * {@code authorizeHttpRequests}, with the {@link PathRuleAuthorizationManager}
+ * for hundreds of rules. The request matches the last rule, the worst case for
+ * the linear list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathRuleBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int ruleCount;
+
+    private Supplier<Authentication> authentication;
+
+    private RequestAuthorizationContext context;
+
+    private AuthorizationManager<HttpServletRequest> requestMatchers;
+
+    private PathRuleAuthorizationManager pathRules;
+
+    @Setup
+    public void setUp() {
+        List<AuthorizationRulesProperties.Rule> rules = new ArrayList<>();
+        RequestMatcherDelegatingAuthorizationManager.Builder builder = RequestMatcherDelegatingAuthorizationManager
+                .builder();
+        for (int i = 0; i < ruleCount; i++) {
+            String pattern = "/api/service" + i + "/resources/**";
+            rules.add(new AuthorizationRulesProperties.Rule(pattern, null, List.of("PERMISSION_" + i)));
+            builder.add(new AntPathRequestMatcher(pattern),
+                    AuthorityAuthorizationManager.hasAuthority("PERMISSION_" + i));
+        }
+        requestMatchers = builder.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated())
+                .build();
+        pathRules = new PathRuleAuthorizationManager(new AuthorizationRulesProperties(rules),
+                new InMemoryAuthorizationRuleRepository(), new RoleCatalog(new InMemoryRoleRepository()));
+        pathRules.reload();
+
+        String authority = "PERMISSION_" + (ruleCount - 1);
+        Authentication token = UsernamePasswordAuthenticationToken.authenticated("Ethan", null,
+                List.of(new SimpleGrantedAuthority(authority)));
+        authentication = () -> token;
+        String path = "/api/service" + (ruleCount - 1) + "/resources/items/42";
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        context = new RequestAuthorizationContext(request);
+    }
+
+    @Benchmark
+    public boolean requestMatcherList() {
+        return requestMatchers.check(authentication, context.getRequest()).isGranted();
+    }
+
+    @Benchmark
+    public boolean pathRuleTrie() {
+        return pathRules.check(authentication, context).isGranted();
+    }
+}
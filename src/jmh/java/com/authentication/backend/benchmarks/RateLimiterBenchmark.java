@@ -0,0 +1,84 @@
+package com.authentication.backend.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.authentication.backend.configurations.RateLimitingProperties;
+import com.authentication.backend.configurations.RateLimitingProperties.Quota;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.InMemoryRateLimitStore;
+import com.authentication.backend.security.RateLimiter;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryRoleRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Measures the cost the {@link RateLimiter} adds to a request under quota:
+ * matching the quota, resolving it by role and taking a token of the in-memory
+ * bucket, for a few or many active users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({ "1", "10000" })
+    private int userCount;
+
+    private Authentication[] authentications;
+
+    private RateLimiter rateLimiter;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        Role userRole = roleRepository.save(new Role("user", "USER"));
+        RoleCatalog roleCatalog = new RoleCatalog(roleRepository);
+
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        UserService userService = new UserService(userRepository, AuthenticationMetrics.noop(), roleCatalog);
+        authentications = new Authentication[userCount];
+        for (int i = 0; i < userCount; i++) {
+            userRepository.save(new ApplicationUser("user" + i, "$2a$10$storedHash", Set.of(userRole)));
+            ApplicationUser user = (ApplicationUser) userService.loadUserByUsername("user" + i);
+            authentications[i] = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        }
+
+        rateLimiter = new RateLimiter(new RateLimitingProperties(true, "memory", 100_000, List.of(
+                new Quota("/api/user/**", null, null, null, 120, Duration.ofMinutes(1)),
+                new Quota("/api/user/**", null, "USER", null, Long.MAX_VALUE / Duration.ofDays(1).toNanos(),
+                        Duration.ofDays(1)),
+                new Quota("/api/admin/**", null, "ADMIN", null, 60, Duration.ofMinutes(1)))),
+                new InMemoryRateLimitStore(100_000, Duration.ofDays(1)), roleCatalog);
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        Authentication authentication = authentications[next++ % userCount];
+        return rateLimiter.tryAcquire("GET", "/api/user/profile", authentication).allowed();
+    }
+}
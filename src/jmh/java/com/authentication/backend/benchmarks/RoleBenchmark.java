@@ -0,0 +1,62 @@
+package com.authentication.backend.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.authentication.backend.models.Role;
+
+/**
+ * Measures {@link Role#hashCode()}, {@link Role#equals(Object)} and the set
+ * lookup they back, which authorization checks run on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoleBenchmark {
+
+    private Role role;
+
+    private Role equalRole;
+
+    private Set<Role> roles;
+
+    @Setup
+    public void setUp() {
+        role = new Role("64f0c0ffee0000000000000a", "ADMIN");
+        equalRole = new Role("64f0c0ffee0000000000000a", "ADMIN");
+        roles = new HashSet<>();
+        for (int i = 0; i < 10; i++)
+            roles.add(new Role("64f0c0ffee000000000000" + String.format("%02d", i), "ROLE_" + i));
+        roles.add(role);
+    }
+
+    @Benchmark
+    public int hashCodeOfRole() {
+        return role.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOfRole() {
+        return role.equals(equalRole);
+    }
+
+    @Benchmark
+    public boolean containsRole() {
+        return roles.contains(equalRole);
+    }
+}
@@ -0,0 +1,90 @@
+package com.authentication.backend.benchmarks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockCookie;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.authentication.backend.configurations.SessionProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.CaffeineSessionStore;
+import com.authentication.backend.security.CompactSecurityContextRepository;
+import com.authentication.backend.support.InMemoryRoleRepository;
+
+/**
+ * Compares authenticating a request from its in-memory session with verifying
+ * its password against a BCrypt hash of the default cost, as HTTP Basic does on
+ * every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private String passwordHash;
+
+    private CompactSecurityContextRepository repository;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        Role userRole = roleRepository.save(new Role("1", "USER"));
+        RoleCatalog roleCatalog = new RoleCatalog(roleRepository);
+        roleCatalog.reload();
+
+        passwordHash = passwordEncoder.encode("password");
+        ApplicationUser user = new ApplicationUser("Ethan", passwordHash, Set.of(userRole));
+        user.setUserId("42");
+
+        SessionProperties properties = new SessionProperties(true, "memory", Duration.ofMinutes(30), 10_000,
+                "AUTH_SESSION", true);
+        repository = new CompactSecurityContextRepository(
+                new CaffeineSessionStore(properties.maximumSessions(), properties.idleTimeout()), roleCatalog,
+                properties);
+        MockHttpServletRequest login = new MockHttpServletRequest("POST", CompactSecurityContextRepository.LOGIN_PATH);
+        login.setServletPath(CompactSecurityContextRepository.LOGIN_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveContext(new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities())), login,
+                response);
+
+        request = new MockHttpServletRequest();
+        request.setCookies(new MockCookie("AUTH_SESSION", response.getCookie("AUTH_SESSION").getValue()));
+    }
+
+    @Benchmark
+    public Authentication session() {
+        return repository.loadDeferredContext(request).get().getAuthentication();
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return passwordEncoder.matches("password", passwordHash);
+    }
+}
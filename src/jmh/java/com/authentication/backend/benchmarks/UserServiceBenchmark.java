@@ -0,0 +1,56 @@
+package com.authentication.backend.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryRoleRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Measures {@link UserService#loadUserByUsername(String)} on top of in-memory
+ * repositories, i.e. the cost of the service itself (including the role
+ * catalog lookup) without MongoDB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        Set<Role> roles = new HashSet<>();
+        roles.add(roleRepository.save(new Role("1", "USER")));
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", "$2a$10$storedHash", roles));
+        userService = new UserService(userRepository, AuthenticationMetrics.noop(), new RoleCatalog(roleRepository));
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userService.loadUserByUsername("Ethan");
+    }
+}
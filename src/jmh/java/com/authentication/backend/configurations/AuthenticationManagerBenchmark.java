@@ -0,0 +1,90 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.LoginThrottle;
+import com.authentication.backend.services.ApiKeyService;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryRoleRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures the full {@code ProviderManager.authenticate} call as wired by
+ * {@link SpringSecurityConfiguration}, with and without the verified-credential
+ * cache in front of it. Lives in the configuration package to reuse the
+ * package-private bean methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AuthenticationManagerBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean credentialCache;
+
+    private AuthenticationManager authenticationManager;
+
+    @Setup
+    public void setUp() {
+        SpringSecurityConfiguration configuration = new SpringSecurityConfiguration();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuthenticationMetrics metrics = new AuthenticationMetrics(meterRegistry);
+        PasswordEncoder passwordEncoder = configuration.passwordEncoder(
+                new PasswordEncodingProperties(PasswordEncodingProperties.Algorithm.BCRYPT,
+                        Duration.ofMillis(100), 10, 19456, 1),
+                new PasswordHashingProperties(false, 0, 256, Duration.ofSeconds(5), Duration.ofSeconds(1)),
+                metrics, meterRegistry);
+
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        Set<Role> roles = new HashSet<>();
+        roles.add(roleRepository.save(new Role("1", "USER")));
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", passwordEncoder.encode("password"), roles));
+
+        UserService userService = new UserService(userRepository, metrics, new RoleCatalog(roleRepository));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        authenticationManager = configuration.authenticationManager(userService, passwordEncoder,
+                beanFactory.getBeanProvider(UserDetailsPasswordService.class),
+                beanFactory.getBeanProvider(UserCache.class), beanFactory.getBeanProvider(LoginThrottle.class),
+                beanFactory.getBeanProvider(ApiKeyService.class),
+                new CredentialCacheProperties(credentialCache, 10_000, Duration.ofMinutes(5), null), metrics,
+                meterRegistry);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("Ethan", "password"));
+    }
+}
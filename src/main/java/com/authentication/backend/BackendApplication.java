@@ -1,48 +1,25 @@
 package com.authentication.backend;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-import com.authentication.backend.models.ApplicationUser;
-import com.authentication.backend.models.Role;
-import com.authentication.backend.repository.RoleRepository;
-import com.authentication.backend.repository.UserRepository;
+import com.authentication.backend.configurations.ApplicationRuntimeHints;
 
+/**
+ * Entry point of the authentication service. The default roles and
+ * administrator are created by
+ * {@link com.authentication.backend.migrations.InitialDataSeeder}; the hints of a
+ * native image are registered by {@link ApplicationRuntimeHints}.
+ */
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(ApplicationRuntimeHints.class)
 public class BackendApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(BackendApplication.class, args);
 	}
 
-	/**
-	 * @param userRepository
-	 * @param roleRepository
-	 * @param passwordEncoder
-	 * @return
-	 */
-	@Bean
-	CommandLineRunner runner(UserRepository userRepository, RoleRepository roleRepository,
-			PasswordEncoder passwordEncoder) {
-		return args -> {
-			if (roleRepository.findByAuthority("ADMIN").isPresent())
-				return;
-			Role admRole = roleRepository.save(new Role("ADMIN"));
-			roleRepository.save(new Role("USER"));
-
-			Set<Role> roles = new HashSet<>();
-			roles.add(admRole);
-
-			ApplicationUser admin = new ApplicationUser("admin", passwordEncoder.encode("password"), roles);
-
-			userRepository.save(admin);
-		};
-	}
-
 }
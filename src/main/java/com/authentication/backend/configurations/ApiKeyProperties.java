@@ -0,0 +1,29 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration of the API keys of machine clients.
+ *
+ * @param enabled          Whether API keys can be issued and authenticate
+ *                         requests.
+ * @param secret           HMAC key the key secrets are hashed with. Must be
+ *                         shared by all nodes, and set to enable API keys.
+ * @param headerName       Request header carrying the API key.
+ * @param cacheMaximumSize Upper bound on the number of cached keys.
+ * @param cacheTimeToLive  Expiry of a cached key, i.e. the longest time a key
+ *                         revoked on another node is still accepted.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.api-keys")
+public record ApiKeyProperties(
+        @DefaultValue("false") boolean enabled,
+        String secret,
+        @DefaultValue("X-API-Key") String headerName,
+        @DefaultValue("10000") long cacheMaximumSize,
+        @DefaultValue("1m") Duration cacheTimeToLive) {
+}
@@ -0,0 +1,67 @@
+package com.authentication.backend.configurations;
+
+import java.util.HashSet;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.authentication.backend.dto.UserImportEvent;
+import com.authentication.backend.dto.UserImportRow;
+import com.authentication.backend.dto.UserSummary;
+import com.authentication.backend.models.ApiKey;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.AuthorizationRule;
+import com.authentication.backend.models.Role;
+
+/**
+ * Reflection, serialization and resource hints for a native image of the
+ * application, for what the AOT processing cannot infer.
+ *
+ * <ul>
+ * <li>The MongoDB documents are read and written field by field, including
+ * the {@link Role} copies embedded in every {@link ApplicationUser}. The
+ * legacy {@code DBRef} references are only read as raw documents by the
+ * migration, so they need no hints.</li>
+ * <li>{@link ApplicationUser} and {@link Role} are {@code UserDetails} and
+ * {@code GrantedAuthority}, so they can be Java-serialized with the security
+ * context.</li>
+ * <li>The import rows, import reports and exported users are bound by an
+ * {@code ObjectMapper} in the streaming endpoints rather than by Spring MVC,
+ * which registers the hints of request and response bodies itself.</li>
+ * <li>The Javadoc of the controllers is read by springdoc from the
+ * {@code __Javadoc.json} resources written at compile time.</li>
+ * </ul>
+ *
+ * <p>
+ * The BCrypt and Argon2 password encoders are plain Java, Argon2 through the
+ * Bouncy Castle lightweight API rather than a JCA provider, so they need no
+ * hints.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] DOCUMENTS = { ApplicationUser.class, Role.class, ApiKey.class,
+            AuthorizationRule.class };
+
+    private static final Class<?>[] JSON_TYPES = { UserImportRow.class, UserImportEvent.class, UserSummary.class };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> document : DOCUMENTS)
+            hints.reflection().registerType(document, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+
+        hints.serialization()
+                .registerType(ApplicationUser.class)
+                .registerType(Role.class)
+                .registerType(HashSet.class);
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+        hints.resources().registerPattern("com/authentication/backend/*/*__Javadoc.json");
+    }
+}
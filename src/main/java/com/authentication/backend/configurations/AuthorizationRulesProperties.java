@@ -0,0 +1,30 @@
+package com.authentication.backend.configurations;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration of the path based authorization rules. Rules stored in
+ * the {@code authorization_rules} collection are added to these, replacing a
+ * configured rule with the same pattern and method.
+ *
+ * @param rules The configured rules.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.authorization")
+public record AuthorizationRulesProperties(@DefaultValue List<Rule> rules) {
+
+    /**
+     * A single configured rule.
+     *
+     * @param pattern     Path pattern, e.g. {@code /api/admin/**}.
+     * @param method      HTTP method the rule is restricted to, or {@code null}
+     *                    for every method.
+     * @param authorities Authorities, any of which grants access.
+     */
+    public record Rule(String pattern, String method, List<String> authorities) {
+    }
+}
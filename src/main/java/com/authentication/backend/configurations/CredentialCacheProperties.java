@@ -0,0 +1,27 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for the verified-credential cache placed in front of the
+ * {@link org.springframework.security.authentication.AuthenticationManager}.
+ *
+ * @param enabled     Whether successful authentications are cached at all.
+ * @param maximumSize Upper bound on the number of cached credentials.
+ * @param timeToLive  How long a verified credential is trusted before the
+ *                    password is verified again.
+ * @param secret      Key for the HMAC used to derive cache keys. When blank a
+ *                    random key is generated per process.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.credential-cache")
+public record CredentialCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration timeToLive,
+        String secret) {
+}
@@ -0,0 +1,33 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for the throttling of failed logins per username and per
+ * client address.
+ *
+ * @param enabled              Whether failed logins are throttled at all.
+ * @param window               Sliding window failed logins are counted over.
+ * @param windowSlices         Number of slices the window advances by; a
+ *                             lockout is lifted at the end of a slice.
+ * @param maxUsernameFailures  Failed logins of a username within the window
+ *                             after which its logins are rejected.
+ * @param maxAddressFailures   Failed logins from a client address within the
+ *                             window after which its logins are rejected.
+ * @param maxTrackedKeys       Usernames, and separately addresses, whose
+ *                             failures are counted at once.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.login-throttling")
+public record LoginThrottlingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("15m") Duration window,
+        @DefaultValue("5") int windowSlices,
+        @DefaultValue("10") int maxUsernameFailures,
+        @DefaultValue("100") int maxAddressFailures,
+        @DefaultValue("100000") long maxTrackedKeys) {
+}
@@ -0,0 +1,39 @@
+package com.authentication.backend.configurations;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.authentication.backend.repository.MongoPoolMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration class tuning the MongoDB client through the
+ * {@code authentication.mongo.*} properties, on both stacks.
+ */
+@Configuration
+public class MongoClientConfiguration {
+
+    /**
+     * Bean definition for the saturation metrics of the connection pools.
+     *
+     * @param meterRegistry Registry the metrics are registered in.
+     * @return An instance of MongoPoolMetrics.
+     */
+    @Bean
+    MongoPoolMetrics mongoPoolMetrics(MeterRegistry meterRegistry) {
+        return new MongoPoolMetrics(meterRegistry);
+    }
+
+    /**
+     * Bean definition for the customizer applying the client properties.
+     *
+     * @param properties  The pool, timeout and compression settings.
+     * @param poolMetrics The listener recording pool saturation.
+     * @return An instance of MongoClientCustomizer.
+     */
+    @Bean
+    MongoClientCustomizer mongoClientCustomizer(MongoClientProperties properties, MongoPoolMetrics poolMetrics) {
+        return new MongoClientCustomizer(properties, poolMetrics);
+    }
+}
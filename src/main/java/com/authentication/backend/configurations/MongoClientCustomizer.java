@@ -0,0 +1,80 @@
+package com.authentication.backend.configurations;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.event.ConnectionPoolListener;
+
+/**
+ * Applies the {@link MongoClientProperties} to the settings of the MongoDB
+ * client built by Spring Boot.
+ *
+ * <p>
+ * Runs after the customizer applying {@code spring.data.mongodb.uri}, so the
+ * properties set here take precedence, while unset properties leave the
+ * connection string and driver defaults alone.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class MongoClientCustomizer implements MongoClientSettingsBuilderCustomizer {
+
+    private final MongoClientProperties properties;
+
+    private final ConnectionPoolListener poolListener;
+
+    /**
+     * Create the customizer.
+     *
+     * @param properties   The client settings to apply.
+     * @param poolListener A listener added to every connection pool, or
+     *                     {@code null}.
+     */
+    public MongoClientCustomizer(MongoClientProperties properties, ConnectionPoolListener poolListener) {
+        this.properties = properties;
+        this.poolListener = poolListener;
+    }
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.applyToConnectionPoolSettings(pool -> {
+            if (properties.maxPoolSize() != null)
+                pool.maxSize(properties.maxPoolSize());
+            if (properties.minPoolSize() != null)
+                pool.minSize(properties.minPoolSize());
+            if (properties.maxConnecting() != null)
+                pool.maxConnecting(properties.maxConnecting());
+            if (properties.maxWaitTime() != null)
+                pool.maxWaitTime(properties.maxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+            if (properties.maxConnectionIdleTime() != null)
+                pool.maxConnectionIdleTime(properties.maxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+            if (poolListener != null)
+                pool.addConnectionPoolListener(poolListener);
+        });
+        builder.applyToSocketSettings(socket -> {
+            if (properties.connectTimeout() != null)
+                socket.connectTimeout((int) properties.connectTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (properties.socketTimeout() != null)
+                socket.readTimeout((int) properties.socketTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        });
+        if (properties.serverSelectionTimeout() != null)
+            builder.applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(
+                    properties.serverSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        if (properties.compressors() != null && !properties.compressors().isEmpty())
+            builder.compressorList(compressors(properties.compressors()));
+    }
+
+    private static List<MongoCompressor> compressors(List<String> names) {
+        return names.stream().map(name -> switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException("Unknown MongoDB compressor: " + name);
+        }).toList();
+    }
+}
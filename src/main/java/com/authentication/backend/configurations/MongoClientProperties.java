@@ -0,0 +1,54 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration of the MongoDB client: connection pool, timeouts, wire
+ * compression and the read preference of the authentication reads.
+ *
+ * <p>
+ * Settings left unset keep the value of
+ * {@code spring.data.mongodb.uri}, or else the driver default; settings set
+ * here take precedence over the connection string.
+ * </p>
+ *
+ * @param maxPoolSize            Maximum number of connections per server.
+ * @param minPoolSize            Number of connections per server kept open
+ *                               even when idle.
+ * @param maxConnecting          Maximum number of connections per server
+ *                               being established at once; further requests
+ *                               wait in the queue.
+ * @param maxWaitTime            Maximum time a request waits in the queue for
+ *                               a connection before failing.
+ * @param maxConnectionIdleTime  Time after which an idle connection is
+ *                               closed.
+ * @param connectTimeout         Timeout of opening a connection.
+ * @param socketTimeout          Timeout of a read on a connection.
+ * @param serverSelectionTimeout Maximum time to find a suitable server, e.g.
+ *                               while the primary is being elected.
+ * @param compressors            Wire compressors to negotiate with the
+ *                               server, in order of preference: zstd, snappy
+ *                               or zlib.
+ * @param authReadPreference     Read preference of the user lookups done for
+ *                               authentication, e.g.
+ *                               {@code secondaryPreferred}.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.mongo")
+public record MongoClientProperties(
+        Integer maxPoolSize,
+        Integer minPoolSize,
+        Integer maxConnecting,
+        Duration maxWaitTime,
+        Duration maxConnectionIdleTime,
+        Duration connectTimeout,
+        Duration socketTimeout,
+        Duration serverSelectionTimeout,
+        List<String> compressors,
+        @DefaultValue("primary") String authReadPreference) {
+}
@@ -0,0 +1,56 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for how new password hashes are produced.
+ *
+ * @param algorithm              Algorithm new and upgraded hashes are produced
+ *                               with.
+ * @param targetVerificationTime Time a single password verification should
+ *                               take; the cost is calibrated to it at startup.
+ * @param cost                   Fixed cost that skips the calibration, the
+ *                               log2 rounds for BCrypt or the iterations for
+ *                               Argon2; {@code 0} to calibrate.
+ * @param argon2Memory           Memory used by one Argon2 hash, in KiB.
+ * @param argon2Parallelism      Lanes of one Argon2 hash.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.password-encoding")
+public record PasswordEncodingProperties(
+        @DefaultValue("bcrypt") Algorithm algorithm,
+        @DefaultValue("100ms") Duration targetVerificationTime,
+        @DefaultValue("0") int cost,
+        @DefaultValue("19456") int argon2Memory,
+        @DefaultValue("1") int argon2Parallelism) {
+
+    /**
+     * The password hashing algorithms new hashes can be produced with.
+     */
+    public enum Algorithm {
+
+        BCRYPT("bcrypt"),
+
+        ARGON2("argon2");
+
+        private final String id;
+
+        Algorithm(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Get the prefix identifying hashes of this algorithm, as used by the
+         * DelegatingPasswordEncoder.
+         *
+         * @return The encoding id, e.g. {@code bcrypt}.
+         */
+        public String id() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for the bounded executor password hashes are verified
+ * on.
+ *
+ * @param bounded       Whether password verification is moved off the request
+ *                      thread onto the bounded executor.
+ * @param threads       Number of hashing threads, {@code 0} for one per core.
+ * @param queueCapacity Number of verifications allowed to wait for a thread
+ *                      before requests are rejected.
+ * @param timeout       Longest a request waits for its verification.
+ * @param retryAfter    Value of the {@code Retry-After} header sent with the
+ *                      503 response when the executor is saturated.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("false") boolean bounded,
+        @DefaultValue("0") int threads,
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("5s") Duration timeout,
+        @DefaultValue("1s") Duration retryAfter) {
+
+    /**
+     * Get the effective number of hashing threads.
+     *
+     * @return The configured thread count, or the number of cores.
+     */
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,81 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.authentication.backend.configurations.RateLimitingProperties.Quota;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.InMemoryRateLimitStore;
+import com.authentication.backend.security.MongoRateLimitStore;
+import com.authentication.backend.security.RateLimitStore;
+import com.authentication.backend.security.RateLimiter;
+
+/**
+ * Configuration class for the request quotas of authenticated users.
+ *
+ * <p>
+ * Token buckets are kept in memory unless
+ * {@code authentication.rate-limiting.store=mongo} shares them across nodes
+ * through the database. Any other {@link RateLimitStore} bean replaces both.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "authentication.rate-limiting.enabled", matchIfMissing = true)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RateLimitingConfiguration {
+
+    /**
+     * Bean definition for the store sharing token buckets across nodes.
+     *
+     * @param mongoTemplate The template the buckets are updated through.
+     * @return An instance of MongoRateLimitStore.
+     */
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    @ConditionalOnProperty(name = "authentication.rate-limiting.store", havingValue = "mongo")
+    MongoRateLimitStore mongoRateLimitStore(MongoTemplate mongoTemplate) {
+        return new MongoRateLimitStore(mongoTemplate);
+    }
+
+    /**
+     * Bean definition for the store keeping token buckets on this node.
+     *
+     * <p>
+     * Idle buckets expire after the longest quota period, when every bucket has
+     * refilled completely.
+     * </p>
+     *
+     * @param properties The rate limiting settings holding the maximum number of
+     *                   buckets and the quotas.
+     * @return An instance of InMemoryRateLimitStore.
+     */
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    InMemoryRateLimitStore inMemoryRateLimitStore(RateLimitingProperties properties) {
+        Duration refillHorizon = properties.quotas().stream().map(Quota::period).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).orElse(Duration.ofMinutes(1));
+        return new InMemoryRateLimitStore(properties.maximumKeys(), refillHorizon);
+    }
+
+    /**
+     * Bean definition for the compiled request quotas.
+     *
+     * @param properties  The configured quotas.
+     * @param store       The keeper of the token buckets.
+     * @param roleCatalog The catalog assigning the authority indexes.
+     * @return An instance of RateLimiter.
+     */
+    @Bean
+    RateLimiter rateLimiter(RateLimitingProperties properties, RateLimitStore store, RoleCatalog roleCatalog) {
+        return new RateLimiter(properties, store, roleCatalog);
+    }
+}
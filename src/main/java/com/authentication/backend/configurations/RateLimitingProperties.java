@@ -0,0 +1,42 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration of the request quotas of authenticated users.
+ *
+ * @param enabled     Whether requests are rate limited at all.
+ * @param store       Where bucket state is kept: {@code memory} for this node
+ *                    only, or {@code mongo} to share quotas across nodes.
+ * @param maximumKeys Number of buckets kept in memory at most.
+ * @param quotas      The configured quotas.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.rate-limiting")
+public record RateLimitingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") String store,
+        @DefaultValue("100000") int maximumKeys,
+        @DefaultValue List<Quota> quotas) {
+
+    /**
+     * A single quota, granting each matching user {@code capacity} requests per
+     * {@code period}, in bursts of up to {@code capacity} requests.
+     *
+     * @param pattern  Path pattern, e.g. {@code /api/user/**}.
+     * @param method   HTTP method the quota is restricted to, or {@code null}
+     *                 for every method.
+     * @param role     Role the quota applies to, or {@code null}.
+     * @param username Username the quota applies to, or {@code null}.
+     * @param capacity Requests allowed per period, and largest burst.
+     * @param period   Time in which a drained bucket refills.
+     */
+    public record Quota(String pattern, String method, String role, String username, long capacity,
+            Duration period) {
+    }
+}
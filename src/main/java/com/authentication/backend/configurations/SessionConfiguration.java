@@ -0,0 +1,79 @@
+package com.authentication.backend.configurations;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.CaffeineSessionStore;
+import com.authentication.backend.security.CompactSecurityContextRepository;
+import com.authentication.backend.security.MongoSessionStore;
+import com.authentication.backend.security.SessionStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Configuration class for the opt-in server-side session mode.
+ *
+ * <p>
+ * Sessions are kept in memory unless {@code authentication.session.store=mongo}
+ * shares them across nodes through the database. Any other
+ * {@link SessionStore} bean replaces both.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "authentication.session.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class SessionConfiguration {
+
+    /**
+     * Bean definition for the store sharing sessions across nodes.
+     *
+     * @param mongoTemplate The template sessions are stored through.
+     * @param properties    The session settings holding the idle timeout.
+     * @return An instance of MongoSessionStore.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SessionStore.class)
+    @ConditionalOnProperty(name = "authentication.session.store", havingValue = "mongo")
+    MongoSessionStore mongoSessionStore(MongoTemplate mongoTemplate, SessionProperties properties) {
+        return new MongoSessionStore(mongoTemplate, properties.idleTimeout());
+    }
+
+    /**
+     * Bean definition for the store keeping sessions on this node.
+     *
+     * @param properties    The session settings holding the idle timeout and
+     *                      the maximum number of sessions.
+     * @param meterRegistry Registry the cache statistics are bound to.
+     * @return An instance of CaffeineSessionStore.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SessionStore.class)
+    CaffeineSessionStore caffeineSessionStore(SessionProperties properties, MeterRegistry meterRegistry) {
+        CaffeineSessionStore store = new CaffeineSessionStore(properties.maximumSessions(),
+                properties.idleTimeout());
+        CaffeineCacheMetrics.monitor(meterRegistry, store.getCache(), "authentication.sessions");
+        return store;
+    }
+
+    /**
+     * Bean definition for the security context repository opening and
+     * restoring sessions.
+     *
+     * @param store       The keeper of the sessions.
+     * @param roleCatalog The catalog session roles are resolved through.
+     * @param properties  The session cookie settings.
+     * @return An instance of CompactSecurityContextRepository.
+     */
+    @Bean
+    CompactSecurityContextRepository compactSecurityContextRepository(SessionStore store,
+            RoleCatalog roleCatalog, SessionProperties properties) {
+        return new CompactSecurityContextRepository(store, roleCatalog, properties);
+    }
+}
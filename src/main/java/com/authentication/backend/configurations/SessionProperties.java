@@ -0,0 +1,32 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration of the opt-in server-side session mode.
+ *
+ * @param enabled         Whether a successful login opens a session, so later
+ *                        requests authenticate with the session cookie instead
+ *                        of the password.
+ * @param store           Where sessions are kept: {@code memory} for this node
+ *                        only, or {@code mongo} to share them across nodes.
+ * @param idleTimeout     Time after its last use a session expires.
+ * @param maximumSessions Number of sessions kept in memory before the least
+ *                        recently used are evicted.
+ * @param cookieName      Name of the session cookie.
+ * @param secureCookie    Whether the session cookie is only sent over HTTPS.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.session")
+public record SessionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("memory") String store,
+        @DefaultValue("30m") Duration idleTimeout,
+        @DefaultValue("100000") long maximumSessions,
+        @DefaultValue("AUTH_SESSION") String cookieName,
+        @DefaultValue("true") boolean secureCookie) {
+}
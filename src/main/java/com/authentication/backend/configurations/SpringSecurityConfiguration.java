@@ -1,66 +1,364 @@
 package com.authentication.backend.configurations;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.AuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.authentication.AuthenticationFilter;
+import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
+
+import com.authentication.backend.security.ApiKeyAuthenticationConverter;
+import com.authentication.backend.security.ApiKeyAuthenticationProvider;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.AuthenticationMetricsFilter;
+import com.authentication.backend.security.BoundedPasswordEncoder;
+import com.authentication.backend.security.CachingAuthenticationManager;
+import com.authentication.backend.security.CompactSecurityContextRepository;
+import com.authentication.backend.security.CaffeineUserCache;
+import com.authentication.backend.security.InstrumentedAuthenticationManager;
+import com.authentication.backend.security.InstrumentedAuthoritiesMapper;
+import com.authentication.backend.security.InstrumentedPasswordEncoder;
+import com.authentication.backend.security.LoginThrottle;
+import com.authentication.backend.security.PasswordEncoderCalibrator;
+import com.authentication.backend.security.PathRuleAuthorizationManager;
+import com.authentication.backend.security.RateLimiter;
+import com.authentication.backend.security.RateLimitingFilter;
+import com.authentication.backend.security.SaturationAwareAuthenticationEntryPoint;
+import com.authentication.backend.security.SharedUserCache;
+import com.authentication.backend.security.ThrottlingAuthenticationManager;
+import com.authentication.backend.services.ApiKeyService;
+import com.authentication.backend.services.TokenService;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 
 /**
  * Configuration class for setting up Spring Security in the authentication
  * backend.
+ * Only active on the servlet stack; the WebFlux variant built with the
+ * {@code reactive} Maven profile has its own ReactiveSecurityConfiguration.
  */
 @Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class SpringSecurityConfiguration {
 
     /**
-     * Bean definition for creating a BCryptPasswordEncoder, which is used for
+     * Bean definition for creating a DelegatingPasswordEncoder, which is used for
      * password encoding.
      *
-     * @return An instance of BCryptPasswordEncoder.
+     * <p>
+     * New hashes use the configured algorithm, with a cost calibrated at startup
+     * to the target verification time. Hashes of another algorithm or cost are
+     * upgraded on the next successful login.
+     * </p>
+     *
+     * <p>
+     * When bounded hashing is enabled, password verification runs on a
+     * dedicated core-sized executor instead of the request thread. The
+     * verification time is recorded without the time spent waiting for the
+     * executor.
+     * </p>
+     *
+     * @param encodingProperties Algorithm and cost settings of new hashes.
+     * @param hashingProperties  Settings of the bounded hashing executor.
+     * @param metrics            Timers the verifications are recorded in.
+     * @param meterRegistry      Registry the executor metrics are bound to.
+     * @return An instance of DelegatingPasswordEncoder, instrumented and
+     *         possibly wrapped in a BoundedPasswordEncoder.
+     */
+    @Bean
+    PasswordEncoder passwordEncoder(PasswordEncodingProperties encodingProperties,
+            PasswordHashingProperties hashingProperties, AuthenticationMetrics metrics,
+            MeterRegistry meterRegistry) {
+        PasswordEncoder passwordEncoder = new InstrumentedPasswordEncoder(
+                PasswordEncoderCalibrator.create(encodingProperties), metrics);
+        if (!hashingProperties.bounded())
+            return passwordEncoder;
+
+        BoundedPasswordEncoder boundedEncoder = new BoundedPasswordEncoder(passwordEncoder,
+                hashingProperties.effectiveThreads(), hashingProperties.queueCapacity(), hashingProperties.timeout());
+        new ExecutorServiceMetrics(boundedEncoder.getExecutor(), "password-hashing", Tags.empty())
+                .bindTo(meterRegistry);
+        return boundedEncoder;
+    }
+
+    /**
+     * Bean definition for the cache of loaded users consulted by the
+     * DaoAuthenticationProvider before going to the database, backed by the
+     * shared tier when one is configured.
+     *
+     * @param userDetailsService The user details service entries are loaded
+     *                           from.
+     * @param properties         Size, expiry and refresh settings of the cache.
+     * @param sharedCache        The shared tier of the cache, if configured.
+     * @param meterRegistry      Registry the cache statistics are bound to.
+     * @return An instance of CaffeineUserCache.
      */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @ConditionalOnProperty(name = "authentication.user-cache.enabled", matchIfMissing = true)
+    CaffeineUserCache userCache(UserDetailsService userDetailsService, UserCacheProperties properties,
+            ObjectProvider<SharedUserCache> sharedCache, MeterRegistry meterRegistry) {
+        CaffeineUserCache userCache = new CaffeineUserCache(userDetailsService, properties,
+                sharedCache.getIfAvailable(), Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache.getCache(), "authentication.user-cache");
+        return userCache;
     }
 
     /**
      * Bean definition for creating an AuthenticationManager.
      *
-     * @param userDetailsService The user details service used for authentication.
+     * <p>
+     * When the credential cache is enabled the provider manager is wrapped in a
+     * {@link CachingAuthenticationManager}, so a username/password pair that was
+     * verified recently is not hashed again.
+     * </p>
+     *
+     * <p>
+     * Authentications by the provider manager are timed by outcome. Unknown
+     * users are only told apart from wrong passwords inside the instrumented
+     * manager, callers see a BadCredentialsException for both.
+     * </p>
+     *
+     * <p>
+     * When login throttling is enabled, logins of locked out usernames and
+     * client addresses are rejected before the provider manager, without
+     * verifying the password. Credentials found in the verified-credential
+     * cache are still accepted during a lockout, as they cost no hashing.
+     * </p>
+     *
+     * <p>
+     * When API keys are enabled, the provider manager also authenticates
+     * {@link com.authentication.backend.security.ApiKeyAuthenticationToken}s,
+     * throttled per key prefix and client address like password logins.
+     * </p>
+     *
+     * @param userDetailsService    The user details service used for
+     *                              authentication.
+     * @param passwordEncoder       The encoder the stored password hashes are
+     *                              verified with.
+     * @param passwordService       The service outdated password hashes are
+     *                              replaced through after a successful login.
+     * @param userCache             The cache of loaded users, if enabled.
+     * @param loginThrottle         The failed-login counters, if throttling is
+     *                              enabled.
+     * @param apiKeyService         The API keys of machine clients, if
+     *                              enabled.
+     * @param cacheProperties       Settings of the verified-credential cache.
+     * @param metrics               Timers the authentication stages are
+     *                              recorded in.
+     * @param meterRegistry         Registry the cache hit/miss counters are
+     *                              bound to.
      * @return An instance of AuthenticationManager configured with a
      *         DaoAuthenticationProvider.
      */
     @Bean
-    AuthenticationManager authenticationManager(UserDetailsService userDetailsService) {
+    AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder, ObjectProvider<UserDetailsPasswordService> passwordService,
+            ObjectProvider<UserCache> userCache, ObjectProvider<LoginThrottle> loginThrottle,
+            ObjectProvider<ApiKeyService> apiKeyService, CredentialCacheProperties cacheProperties,
+            AuthenticationMetrics metrics, MeterRegistry meterRegistry) {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        passwordService.ifAvailable(daoAuthenticationProvider::setUserDetailsPasswordService);
+        userCache.ifAvailable(daoAuthenticationProvider::setUserCache);
+        daoAuthenticationProvider.setAuthoritiesMapper(new InstrumentedAuthoritiesMapper(metrics));
+        daoAuthenticationProvider.setHideUserNotFoundExceptions(false);
+
+        ApiKeyService apiKeys = apiKeyService.getIfAvailable();
+        if (apiKeys != null)
+            CaffeineCacheMetrics.monitor(meterRegistry, apiKeys.getCache(), "authentication.api-keys");
+        AuthenticationManager providerManager = apiKeys == null
+                ? new ProviderManager(daoAuthenticationProvider)
+                : new ProviderManager(daoAuthenticationProvider, new ApiKeyAuthenticationProvider(apiKeys));
+        LoginThrottle throttle = loginThrottle.getIfAvailable();
+        if (throttle != null)
+            providerManager = new ThrottlingAuthenticationManager(providerManager, throttle);
+        AuthenticationManager instrumentedManager = new InstrumentedAuthenticationManager(providerManager, metrics);
+        if (!cacheProperties.enabled())
+            return instrumentedManager;
 
-        return new ProviderManager(daoAuthenticationProvider);
+        CachingAuthenticationManager cachingManager = new CachingAuthenticationManager(instrumentedManager,
+                cacheProperties.maximumSize(), cacheProperties.timeToLive(), cacheProperties.secret());
+        CaffeineCacheMetrics.monitor(meterRegistry, cachingManager.getCache(), "authentication.credential-cache");
+        return cachingManager;
     }
 
     /**
      * Bean definition for setting up Spring Security filters and configurations.
      *
-     * @param httpSecurity The HttpSecurity object to configure security settings.
+     * <p>
+     * HTTP Basic logins are verified by the {@code authenticationManager} bean,
+     * so they go through its throttling, instrumentation and credential cache,
+     * rather than by the manager Spring Security would build from the user
+     * details service.
+     * </p>
+     *
+     * <p>
+     * When the token mode is enabled, bearer access tokens are accepted next to
+     * HTTP Basic and validated locally by the JwtDecoder.
+     * </p>
+     *
+     * <p>
+     * Failures caused by a saturated password hashing executor are answered
+     * with a 503 and a Retry-After header instead of a 401.
+     * </p>
+     *
+     * <p>
+     * The whole filter chain is timed by authentication outcome. Requests are
+     * authorized by the compiled per-path authority rules, evaluated against the
+     * authority bitset precomputed when the user was loaded.
+     * </p>
+     *
+     * <p>
+     * When rate limiting is enabled, the request quotas of authenticated users
+     * are enforced between authentication and authorization.
+     * </p>
+     *
+     * <p>
+     * When the session mode is enabled, a successful login to
+     * {@code /api/auth/login} opens a server-side session, and requests
+     * carrying its cookie are authenticated without verifying the password
+     * again until {@code /api/auth/logout}.
+     * </p>
+     *
+     * <p>
+     * When API keys are enabled, requests carrying the API key header are
+     * authenticated by the key before HTTP Basic is considered. They never
+     * open a session.
+     * </p>
+     *
+     * @param httpSecurity          The HttpSecurity object to configure
+     *                              security settings.
+     * @param jwtDecoder            The decoder of bearer access tokens, if the
+     *                              token mode is enabled.
+     * @param hashingProperties     Settings of the bounded hashing executor.
+     * @param metrics               Timers the filter chain is recorded in.
+     * @param pathRules             The per-path authority rules of the
+     *                              application.
+     * @param rateLimiter           The request quotas, if rate limiting is
+     *                              enabled.
+     * @param sessions              The session repository, if the session mode
+     *                              is enabled.
+     * @param authenticationManager The manager HTTP Basic logins and API keys
+     *                              are authenticated by.
+     * @param apiKeyService         The API keys of machine clients, if enabled.
+     * @param apiKeyProperties      Settings of the API keys.
      * @return A SecurityFilterChain configured with disabled CSRF, requiring all
-     *         requests to be authenticated,
+     *         requests but the token endpoints to be authenticated, the
+     *         per-path authority rules to be met,
      *         and using HTTP Basic authentication.
      * @throws Exception If an error occurs during the configuration.
      */
     @Bean
-    SecurityFilterChain setSpringSecurity(HttpSecurity httpSecurity) throws Exception {
+    SecurityFilterChain setSpringSecurity(HttpSecurity httpSecurity, ObjectProvider<JwtDecoder> jwtDecoder,
+            PasswordHashingProperties hashingProperties, AuthenticationMetrics metrics,
+            PathRuleAuthorizationManager pathRules, ObjectProvider<RateLimiter> rateLimiter,
+            ObjectProvider<CompactSecurityContextRepository> sessions, AuthenticationManager authenticationManager,
+            ObjectProvider<ApiKeyService> apiKeyService, ApiKeyProperties apiKeyProperties) throws Exception {
+        BasicAuthenticationEntryPoint basicEntryPoint = new BasicAuthenticationEntryPoint();
+        basicEntryPoint.setRealmName("Realm");
+        AuthenticationEntryPoint entryPoint = new SaturationAwareAuthenticationEntryPoint(basicEntryPoint,
+                hashingProperties.retryAfter());
+
+        CompactSecurityContextRepository sessionRepository = sessions.getIfAvailable();
         httpSecurity
+                .authenticationManager(authenticationManager)
+                .addFilterBefore(new AuthenticationMetricsFilter(metrics), DisableEncodeUrlFilter.class)
                 .csrf(crossOrigin -> crossOrigin.disable())
-                .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
-                .httpBasic(Customizer.withDefaults());
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(CompactSecurityContextRepository.LOGIN_PATH).authenticated()
+                        .requestMatchers("/api/auth/**").permitAll()
+                        .anyRequest().access(pathRules))
+                .httpBasic(basic -> basic.authenticationEntryPoint(entryPoint));
+        if (sessionRepository != null) {
+            SecurityContextRepository contextRepository = new DelegatingSecurityContextRepository(
+                    new RequestAttributeSecurityContextRepository(), sessionRepository);
+            httpSecurity
+                    .securityContext(context -> context.securityContextRepository(contextRepository))
+                    .httpBasic(basic -> basic.securityContextRepository(contextRepository))
+                    .logout(logout -> logout
+                            .logoutUrl("/api/auth/logout")
+                            .addLogoutHandler(sessionRepository)
+                            .logoutSuccessHandler(new HttpStatusReturningLogoutSuccessHandler()));
+        }
+        if (apiKeyService.getIfAvailable() != null) {
+            AuthenticationFilter apiKeyFilter = new AuthenticationFilter(authenticationManager,
+                    new ApiKeyAuthenticationConverter(apiKeyProperties.headerName()));
+            apiKeyFilter.setSuccessHandler((request, response, authentication) -> {
+            });
+            apiKeyFilter.setFailureHandler(new AuthenticationEntryPointFailureHandler(entryPoint));
+            httpSecurity.addFilterBefore(apiKeyFilter, BasicAuthenticationFilter.class);
+        }
+        rateLimiter.ifAvailable(
+                limiter -> httpSecurity.addFilterBefore(new RateLimitingFilter(limiter), AuthorizationFilter.class));
+
+        JwtDecoder decoder = jwtDecoder.getIfAvailable();
+        if (decoder != null) {
+            httpSecurity
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .oauth2ResourceServer(resourceServer -> resourceServer
+                            .jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager(decoder))));
+        }
 
         return httpSecurity.build();
     }
+
+    /**
+     * Create the manager validating bearer access tokens. The chain's
+     * authentication manager only verifies passwords and API keys, so tokens
+     * get their own.
+     *
+     * @param decoder The decoder validating the token signature and expiry.
+     * @return A manager authenticating with a JwtAuthenticationProvider.
+     */
+    private static AuthenticationManager jwtAuthenticationManager(JwtDecoder decoder) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(decoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        return new ProviderManager(provider);
+    }
+
+    /**
+     * Map the {@code roles} claim of access tokens to granted authorities, with
+     * the same names as the stored {@link com.authentication.backend.models.Role}s.
+     *
+     * @return The converter from a validated token to an authentication.
+     */
+    private static JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(TokenService.ROLES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("");
+
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return converter;
+    }
 }
@@ -0,0 +1,54 @@
+package com.authentication.backend.configurations;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class deferring work the first requests do not need.
+ *
+ * <p>
+ * With {@code authentication.startup.lazy-docs}, the springdoc beans, which
+ * build the OpenAPI description and read the runtime Javadoc of every
+ * controller, are marked lazy: they are created on the first request to the
+ * API docs or the Swagger UI instead of at startup. Their request mappings are
+ * still registered at startup.
+ * </p>
+ */
+@Configuration
+public class StartupConfiguration {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    /**
+     * Bean definition for the post-processor marking the springdoc beans lazy.
+     *
+     * @return The post-processor, applied before any bean is created.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "authentication.startup.lazy-docs", matchIfMissing = true)
+    static BeanFactoryPostProcessor lazyDocumentationBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isSpringdoc(beanFactory, definition))
+                    definition.setLazyInit(true);
+            }
+        };
+    }
+
+    /**
+     * Whether a bean is a springdoc class, or created by a springdoc
+     * configuration class.
+     */
+    private static boolean isSpringdoc(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName()))
+            className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        return className != null && className.startsWith(SPRINGDOC_PACKAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration of what the application does, and defers, at startup.
+ *
+ * @param asyncInitialization      Whether the database is initialized, from
+ *                                 the migrations to the default roles and
+ *                                 administrator, in the background, retrying
+ *                                 until MongoDB is reachable, instead of
+ *                                 before the application reports ready.
+ * @param initializationRetryDelay Initial delay between attempts of a failed
+ *                                 initialization step, doubled up to a
+ *                                 minute.
+ * @param lazyDocs                 Whether the OpenAPI and Swagger UI beans are
+ *                                 only created on the first documentation
+ *                                 request.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.startup")
+public record StartupProperties(
+        @DefaultValue("true") boolean asyncInitialization,
+        @DefaultValue("1s") Duration initializationRetryDelay,
+        @DefaultValue("true") boolean lazyDocs) {
+}
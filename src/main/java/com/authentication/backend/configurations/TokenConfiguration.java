@@ -0,0 +1,107 @@
+package com.authentication.backend.configurations;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import com.authentication.backend.services.TokenService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+/**
+ * Configuration class for the signed-token (JWT) authentication mode.
+ *
+ * <p>
+ * The signing key is built once and shared by the encoder and the decoders, so
+ * validating a bearer token is a local HMAC verification without any database
+ * or password hashing work.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "authentication.token.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class TokenConfiguration {
+
+    /**
+     * Minimum HMAC-SHA256 key length in bytes.
+     */
+    private static final int MINIMUM_KEY_LENGTH = 32;
+
+    /**
+     * Bean definition for the key tokens are signed and verified with.
+     *
+     * @param properties The token settings holding the configured secret.
+     * @return The HMAC-SHA256 secret key.
+     */
+    @Bean
+    SecretKey tokenSigningKey(TokenProperties properties) {
+        byte[] keyBytes;
+        if (properties.secret() == null || properties.secret().isBlank()) {
+            keyBytes = new byte[MINIMUM_KEY_LENGTH];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = properties.secret().getBytes(StandardCharsets.UTF_8);
+        }
+        if (keyBytes.length < MINIMUM_KEY_LENGTH)
+            throw new IllegalStateException(
+                    "authentication.token.secret must be at least " + MINIMUM_KEY_LENGTH + " bytes long");
+        return new SecretKeySpec(keyBytes, "HmacSHA256");
+    }
+
+    /**
+     * Bean definition for the encoder signing access and refresh tokens.
+     *
+     * @param tokenSigningKey The signing key.
+     * @return An instance of JwtEncoder.
+     */
+    @Bean
+    JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    /**
+     * Bean definition for the decoder validating bearer access tokens on every
+     * request. Refresh tokens are rejected.
+     *
+     * @param tokenSigningKey The signing key.
+     * @param properties      The token settings holding the issuer.
+     * @return An instance of JwtDecoder.
+     */
+    @Bean
+    JwtDecoder jwtDecoder(SecretKey tokenSigningKey, TokenProperties properties) {
+        return TokenConfiguration.decoder(tokenSigningKey, properties, TokenService.ACCESS_TOKEN);
+    }
+
+    /**
+     * Build a decoder accepting only tokens of the given use.
+     *
+     * @param tokenSigningKey The signing key.
+     * @param properties      The token settings holding the issuer.
+     * @param tokenUse        The required value of the {@code token_use} claim.
+     * @return The decoder.
+     */
+    public static JwtDecoder decoder(SecretKey tokenSigningKey, TokenProperties properties, String tokenUse) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(tokenSigningKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(properties.issuer()),
+                new JwtClaimValidator<String>(TokenService.TOKEN_USE_CLAIM, tokenUse::equals)));
+        return decoder;
+    }
+}
@@ -0,0 +1,30 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for the signed-token (JWT) authentication mode.
+ *
+ * @param enabled         Whether the token endpoints are exposed and bearer
+ *                        tokens are accepted next to HTTP Basic.
+ * @param secret          HMAC-SHA256 signing key, at least 32 bytes. When blank
+ *                        a random key is generated per process, which only
+ *                        suits a single instance.
+ * @param issuer          Value of the {@code iss} claim issued and required.
+ * @param accessTokenTtl  Lifetime of access tokens.
+ * @param refreshTokenTtl Lifetime of refresh tokens, cut short by any change
+ *                        of the user's password or roles.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.token")
+public record TokenProperties(
+        @DefaultValue("false") boolean enabled,
+        String secret,
+        @DefaultValue("authentication-backend") String issuer,
+        @DefaultValue("15m") Duration accessTokenTtl,
+        @DefaultValue("7d") Duration refreshTokenTtl) {
+}
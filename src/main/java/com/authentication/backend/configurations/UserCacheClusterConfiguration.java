@@ -0,0 +1,82 @@
+package com.authentication.backend.configurations;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.InvalidationBroadcaster;
+import com.authentication.backend.security.InvalidationBus;
+import com.authentication.backend.security.MongoInvalidationBus;
+import com.authentication.backend.security.MongoSharedUserCache;
+import com.authentication.backend.security.SharedUserCache;
+
+/**
+ * Configuration class for keeping the user caches of several nodes coherent.
+ *
+ * <p>
+ * {@code authentication.user-cache.shared-store=mongo} adds a shared tier
+ * behind the in-process user cache, and
+ * {@code authentication.user-cache.bus=mongo} broadcasts invalidations to the
+ * other nodes. Any other {@link SharedUserCache} or {@link InvalidationBus}
+ * bean replaces the MongoDB one.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "authentication.user-cache.enabled", matchIfMissing = true)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class UserCacheClusterConfiguration {
+
+    /**
+     * Bean definition for the shared tier of the user cache.
+     *
+     * @param mongoTemplate The template users are cached through.
+     * @param roleCatalog   The catalog the roles of cached users are resolved
+     *                      through.
+     * @param properties    The user cache settings holding the shared expiry.
+     * @return An instance of MongoSharedUserCache.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SharedUserCache.class)
+    @ConditionalOnProperty(name = "authentication.user-cache.shared-store", havingValue = "mongo")
+    MongoSharedUserCache mongoSharedUserCache(MongoTemplate mongoTemplate, RoleCatalog roleCatalog,
+            UserCacheProperties properties) {
+        return new MongoSharedUserCache(mongoTemplate, roleCatalog, properties.sharedTimeToLive());
+    }
+
+    /**
+     * Bean definition for the bus broadcasting invalidations to the other
+     * nodes.
+     *
+     * @param mongoTemplate The template invalidations are exchanged through.
+     * @return An instance of MongoInvalidationBus.
+     */
+    @Bean
+    @ConditionalOnMissingBean(InvalidationBus.class)
+    @ConditionalOnProperty(name = "authentication.user-cache.bus", havingValue = "mongo")
+    MongoInvalidationBus mongoInvalidationBus(MongoTemplate mongoTemplate) {
+        return new MongoInvalidationBus(mongoTemplate);
+    }
+
+    /**
+     * Bean definition for the bridge between the invalidation bus and the local
+     * invalidation events.
+     *
+     * @param bus            The bus invalidations are exchanged over.
+     * @param eventPublisher The publisher of the local events.
+     * @param roleCatalog    The catalog reloaded on remote role changes.
+     * @return An instance of InvalidationBroadcaster.
+     */
+    @Bean
+    @ConditionalOnBean(InvalidationBus.class)
+    InvalidationBroadcaster invalidationBroadcaster(InvalidationBus bus, ApplicationEventPublisher eventPublisher,
+            RoleCatalog roleCatalog) {
+        return new InvalidationBroadcaster(bus, eventPublisher, roleCatalog);
+    }
+}
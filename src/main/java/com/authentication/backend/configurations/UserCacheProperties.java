@@ -0,0 +1,39 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for the in-process cache of loaded
+ * {@link org.springframework.security.core.userdetails.UserDetails}.
+ *
+ * @param enabled              Whether loaded users are cached at all.
+ * @param maximumSize          Upper bound on the number of cached users.
+ * @param timeToLive           Hard expiry of a cached user.
+ * @param refreshAfter         Age after which a cached user is reloaded in the
+ *                             background on its next access. Must be shorter
+ *                             than the time to live to have any effect.
+ * @param changeStreamsEnabled Whether cached users are invalidated from MongoDB
+ *                             change streams on the users and roles
+ *                             collections. Requires a replica set.
+ * @param sharedStore          Shared tier behind the in-process cache:
+ *                             {@code none} or {@code mongo}.
+ * @param sharedTimeToLive     Expiry of a user in the shared tier.
+ * @param bus                  Channel invalidations are broadcast to the other
+ *                             nodes over: {@code none} or {@code mongo}.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.user-cache")
+public record UserCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration timeToLive,
+        @DefaultValue("1m") Duration refreshAfter,
+        @DefaultValue("false") boolean changeStreamsEnabled,
+        @DefaultValue("none") String sharedStore,
+        @DefaultValue("10m") Duration sharedTimeToLive,
+        @DefaultValue("none") String bus) {
+}
@@ -0,0 +1,29 @@
+package com.authentication.backend.configurations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for the bulk user import of the admin API.
+ *
+ * @param batchSize Number of users hashed together and written in one
+ *                  unordered bulk write.
+ * @param threads   Number of threads hashing passwords, {@code 0} for one per
+ *                  core.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.user-import")
+public record UserImportProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("0") int threads) {
+
+    /**
+     * Get the effective number of hashing threads.
+     *
+     * @return The configured thread count, or the number of cores.
+     */
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,35 @@
+package com.authentication.backend.configurations;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration of the Bloom filter rejecting unknown usernames before
+ * they are looked up in the database.
+ *
+ * @param enabled           Whether logins with unknown usernames are rejected
+ *                          by the filter.
+ * @param expectedUsernames Number of usernames the filter is sized for, at
+ *                          least; a larger collection sizes it to its count.
+ * @param falsePositiveRate Fraction of unknown usernames still looked up in
+ *                          the database, at the expected size. Together with
+ *                          the size, it sets the memory of the filter.
+ * @param rebuildInterval   Interval between rebuilds of the filter from the
+ *                          {@code users} collection, which also pick up the
+ *                          users created on other nodes without an event.
+ * @param padRejections     Whether a rejected login waits for as long as a
+ *                          typical lookup, so its timing does not reveal that
+ *                          the username does not exist.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.username-filter")
+public record UsernameFilterProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000000") long expectedUsernames,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("10m") Duration rebuildInterval,
+        @DefaultValue("true") boolean padRejections) {
+}
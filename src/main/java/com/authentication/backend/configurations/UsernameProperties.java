@@ -0,0 +1,20 @@
+package com.authentication.backend.configurations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed configuration for how usernames are indexed and matched in the
+ * {@code users} collection.
+ *
+ * @param caseInsensitive Whether usernames are unique and matched ignoring
+ *                        case, through a collation on the username index.
+ * @param collationLocale Locale of the case-insensitive collation.
+ *
+ * @author Tejaswee Gaur
+ */
+@ConfigurationProperties(prefix = "authentication.usernames")
+public record UsernameProperties(
+        @DefaultValue("false") boolean caseInsensitive,
+        @DefaultValue("en") String collationLocale) {
+}
@@ -1,24 +1,200 @@
 package com.authentication.backend.controllers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.authentication.backend.dto.UserImportEvent;
+import com.authentication.backend.dto.UserPage;
+import com.authentication.backend.security.PathRuleAuthorizationManager;
+import com.authentication.backend.services.UserImportService;
+import com.authentication.backend.services.UserImportService.Format;
+import com.authentication.backend.services.UserListingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 /**
  * Controller class for handling admin-related operations.
  * This class is designed to provide endpoints specifically for admin access to
  * the Spring Boot application.
  * It may include operations such as managing users, configuring application
  * settings, etc.
+ * The streaming endpoints work on the servlet request and response, so the
+ * controller is only part of the servlet stack.
  */
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin("*")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class AdminController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Number of exported users written between two flushes of the response.
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
+    private final UserImportService userImportService;
+
+    private final UserListingService userListingService;
+
+    private final ObjectMapper objectMapper;
+
+    private final PathRuleAuthorizationManager pathRules;
+
+    public AdminController(UserImportService userImportService, UserListingService userListingService,
+            ObjectMapper objectMapper, PathRuleAuthorizationManager pathRules) {
+        this.userImportService = userImportService;
+        this.userListingService = userListingService;
+        this.objectMapper = objectMapper;
+        this.pathRules = pathRules;
+    }
+
     @GetMapping("/")
     public String testPath() {
         return "You have reached Admin Controller. Congratulations you have Admin Level Access !!!";
     }
+
+    /**
+     * Recompile the per-path authorization rules from the application
+     * properties and the {@code authorization_rules} collection, e.g. after the
+     * collection was edited outside the application without change streams.
+     *
+     * @return The number of rules now applied.
+     */
+    @PostMapping(value = "/authorization-rules/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Integer> reloadAuthorizationRules() {
+        return Map.of("rules", pathRules.reload());
+    }
+
+    /**
+     * List users one page at a time, without their passwords.
+     *
+     * <p>
+     * Pages are addressed by the id of the last user of the previous page
+     * rather than by offset, so deep pages cost as little as the first one.
+     * </p>
+     *
+     * @param after The {@code next} cursor of the previous page; omitted for the
+     *              first page.
+     * @param limit The page size, at most 1000.
+     * @return The page and the cursor of the next one.
+     */
+    @GetMapping(value = "/users", produces = MediaType.APPLICATION_JSON_VALUE)
+    public UserPage listUsers(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return userListingService.page(after, limit);
+    }
+
+    /**
+     * Export every user, without passwords, as NDJSON.
+     *
+     * @param response The response the users are streamed to.
+     * @throws IOException If the response cannot be written.
+     */
+    @GetMapping(value = "/users/export", produces = NDJSON)
+    public void exportUsersAsNdjson(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        export(response.getOutputStream(), false);
+    }
+
+    /**
+     * Export every user, without passwords, as a JSON array.
+     *
+     * @param response The response the users are streamed to.
+     * @throws IOException If the response cannot be written.
+     */
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void exportUsersAsJson(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        export(response.getOutputStream(), true);
+    }
+
+    /**
+     * Create users in bulk from an NDJSON or CSV request body.
+     *
+     * <p>
+     * The body is read as it arrives and the report is streamed back as NDJSON:
+     * one {@code error} line per rejected row, one {@code progress} line per
+     * written batch and a final {@code summary} line.
+     * </p>
+     *
+     * @param request  The request carrying the users, with a
+     *                 {@code application/x-ndjson} or {@code text/csv} content
+     *                 type.
+     * @param response The response the report is streamed to.
+     * @throws IOException If the body cannot be read or the report written.
+     */
+    @PostMapping(value = "/users/import", consumes = { NDJSON, "text/csv" }, produces = NDJSON)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Format format = contentType.isCompatibleWith(MediaType.valueOf(NDJSON)) ? Format.NDJSON : Format.CSV;
+
+        response.setContentType(NDJSON);
+        OutputStream output = response.getOutputStream();
+        try {
+            userImportService.importUsers(request.getInputStream(), format, event -> write(output, event));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Stream the users from the cursor to the response one at a time, so
+     * memory use does not depend on the number of users.
+     */
+    private void export(OutputStream output, boolean jsonArray) throws IOException {
+        long[] written = { 0 };
+        if (jsonArray)
+            output.write('[');
+        try {
+            userListingService.export(user -> {
+                try {
+                    if (jsonArray && written[0] > 0)
+                        output.write(',');
+                    output.write(objectMapper.writeValueAsBytes(user));
+                    if (!jsonArray)
+                        output.write('\n');
+                    if (++written[0] % EXPORT_FLUSH_INTERVAL == 0)
+                        output.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (jsonArray)
+            output.write(']');
+        output.flush();
+    }
+
+    /**
+     * Write one report line; progress and summary lines are flushed right away
+     * so the client sees them while the import runs.
+     */
+    private void write(OutputStream output, UserImportEvent event) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(event));
+            output.write('\n');
+            if (!"error".equals(event.type()))
+                output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
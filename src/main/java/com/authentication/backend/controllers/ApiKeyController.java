@@ -0,0 +1,85 @@
+package com.authentication.backend.controllers;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.authentication.backend.dto.ApiKeySummary;
+import com.authentication.backend.dto.IssuedApiKey;
+import com.authentication.backend.security.ApiKeyAuthenticationToken;
+import com.authentication.backend.services.ApiKeyService;
+
+/**
+ * Controller class letting users manage the API keys their machine clients
+ * authenticate with. Keys are always issued, listed and revoked for the
+ * authenticated user.
+ */
+@RestController
+@RequestMapping("/api/user/api-keys")
+@CrossOrigin("*")
+@ConditionalOnProperty(name = "authentication.api-keys.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+
+    public ApiKeyController(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    /**
+     * Issue a new API key to the authenticated user. Requests authenticated by
+     * an API key cannot issue keys, so a leaked key cannot be used to obtain
+     * one that outlives its revocation.
+     *
+     * @param name           A label for the key, e.g. the client using it.
+     * @param authentication The authenticated user.
+     * @return The key, the only time it is shown, or 403 if the request was
+     *         authenticated by an API key.
+     */
+    @PostMapping
+    public ResponseEntity<IssuedApiKey> issue(@RequestParam(defaultValue = "") String name,
+            Authentication authentication) {
+        if (authentication instanceof ApiKeyAuthenticationToken)
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        return ResponseEntity.status(HttpStatus.CREATED).body(apiKeyService.issue(authentication.getName(), name));
+    }
+
+    /**
+     * List the API keys of the authenticated user, without their secrets.
+     *
+     * @param authentication The authenticated user.
+     * @return The user's keys.
+     */
+    @GetMapping
+    public List<ApiKeySummary> list(Authentication authentication) {
+        return apiKeyService.list(authentication.getName());
+    }
+
+    /**
+     * Revoke an API key of the authenticated user.
+     *
+     * @param keyId          The id of the key.
+     * @param authentication The authenticated user.
+     * @return 204 if the key was revoked, 404 if the user has no such key.
+     */
+    @DeleteMapping("/{keyId}")
+    public ResponseEntity<Void> revoke(@PathVariable String keyId, Authentication authentication) {
+        return apiKeyService.revoke(authentication.getName(), keyId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.authentication.backend.controllers;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.authentication.backend.dto.RefreshTokenRequest;
+import com.authentication.backend.dto.TokenRequest;
+import com.authentication.backend.dto.TokenResponse;
+import com.authentication.backend.services.TokenService;
+
+/**
+ * Controller class for the token authentication mode.
+ * Credentials are verified once and exchanged for a short-lived access token
+ * and a refresh token, so later requests skip password verification entirely.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin("*")
+@ConditionalOnProperty(name = "authentication.token.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class AuthenticationController {
+
+    private final AuthenticationManager authenticationManager;
+
+    private final TokenService tokenService;
+
+    public AuthenticationController(AuthenticationManager authenticationManager, TokenService tokenService) {
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Exchange a username and password for a token pair.
+     *
+     * @param request The credentials of the user.
+     * @return The access and refresh token pair.
+     */
+    @PostMapping("/token")
+    public TokenResponse token(@RequestBody TokenRequest request) {
+        return tokenService.issue(authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.username(), request.password())));
+    }
+
+    /**
+     * Exchange a refresh token for a new token pair.
+     *
+     * @param request The refresh token previously issued.
+     * @return The new access and refresh token pair.
+     */
+    @PostMapping("/refresh")
+    public TokenResponse refresh(@RequestBody RefreshTokenRequest request) {
+        return tokenService.refresh(request.refreshToken());
+    }
+}
@@ -0,0 +1,32 @@
+package com.authentication.backend.controllers;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for the session mode. A request reaching it has been
+ * authenticated, and the session cookie set, by the security filter chain.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin("*")
+@ConditionalOnProperty(name = "authentication.session.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class SessionController {
+
+    /**
+     * Open a session for the user authenticated by HTTP Basic.
+     *
+     * @return An empty response carrying the session cookie.
+     */
+    @PostMapping("/login")
+    public ResponseEntity<Void> login() {
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.authentication.backend.dto;
+
+import java.time.Instant;
+
+import com.authentication.backend.models.ApiKey;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * An API key as listed to its user, identified by its public prefix.
+ *
+ * @param keyId     The id the key is revoked by.
+ * @param name      The label of the key.
+ * @param prefix    The public part of the key.
+ * @param createdAt The time the key was issued.
+ */
+public record ApiKeySummary(
+        @JsonProperty("key_id") String keyId,
+        @JsonProperty("name") String name,
+        @JsonProperty("prefix") String prefix,
+        @JsonProperty("created_at") Instant createdAt) {
+
+    /**
+     * Summarize the given key.
+     *
+     * @param apiKey The stored key.
+     * @return The summary.
+     */
+    public static ApiKeySummary of(ApiKey apiKey) {
+        return new ApiKeySummary(apiKey.getKeyId(), apiKey.getName(), apiKey.getPrefix(), apiKey.getCreatedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package com.authentication.backend.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * API key returned once, when issued. Only a hash of its secret is stored, so
+ * the key cannot be shown again.
+ *
+ * @param keyId     The id the key is revoked by.
+ * @param name      The label of the key.
+ * @param apiKey    The key to send in the API key header.
+ * @param createdAt The time the key was issued.
+ */
+public record IssuedApiKey(
+        @JsonProperty("key_id") String keyId,
+        @JsonProperty("name") String name,
+        @JsonProperty("api_key") String apiKey,
+        @JsonProperty("created_at") Instant createdAt) {
+}
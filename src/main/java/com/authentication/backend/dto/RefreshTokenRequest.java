@@ -0,0 +1,11 @@
+package com.authentication.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Refresh token exchanged for a new access and refresh token pair.
+ *
+ * @param refreshToken The refresh token previously issued.
+ */
+public record RefreshTokenRequest(@JsonProperty("refresh_token") String refreshToken) {
+}
@@ -0,0 +1,10 @@
+package com.authentication.backend.dto;
+
+/**
+ * Credentials exchanged once for an access and refresh token pair.
+ *
+ * @param username The username of the user.
+ * @param password The plain password of the user.
+ */
+public record TokenRequest(String username, String password) {
+}
@@ -0,0 +1,18 @@
+package com.authentication.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Access and refresh token pair issued by the token endpoints.
+ *
+ * @param accessToken  Short-lived signed token carrying the user's roles.
+ * @param refreshToken Longer-lived signed token to obtain a new pair.
+ * @param tokenType    Always {@code Bearer}.
+ * @param expiresIn    Lifetime of the access token in seconds.
+ */
+public record TokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("refresh_token") String refreshToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("expires_in") long expiresIn) {
+}
@@ -0,0 +1,62 @@
+package com.authentication.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the NDJSON report streamed back by the bulk user import: a
+ * failed row, the progress after a batch, or the final summary.
+ *
+ * @param type      {@code error}, {@code progress} or {@code summary}.
+ * @param row       Line number of the failed row in the input.
+ * @param username  Username of the failed row, when it could be read.
+ * @param message   Why the row failed.
+ * @param processed Number of rows read so far.
+ * @param imported  Number of users created so far.
+ * @param failed    Number of rows rejected so far.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportEvent(
+        String type,
+        Long row,
+        String username,
+        String message,
+        Long processed,
+        Long imported,
+        Long failed) {
+
+    /**
+     * Create the report of a rejected row.
+     *
+     * @param row      Line number of the row.
+     * @param username Username of the row, or {@code null}.
+     * @param message  Why the row was rejected.
+     * @return The error event.
+     */
+    public static UserImportEvent error(long row, String username, String message) {
+        return new UserImportEvent("error", row, username, message, null, null, null);
+    }
+
+    /**
+     * Create the progress report after a batch.
+     *
+     * @param processed Rows read so far.
+     * @param imported  Users created so far.
+     * @param failed    Rows rejected so far.
+     * @return The progress event.
+     */
+    public static UserImportEvent progress(long processed, long imported, long failed) {
+        return new UserImportEvent("progress", null, null, null, processed, imported, failed);
+    }
+
+    /**
+     * Create the final report of the import.
+     *
+     * @param processed Rows read.
+     * @param imported  Users created.
+     * @param failed    Rows rejected.
+     * @return The summary event.
+     */
+    public static UserImportEvent summary(long processed, long imported, long failed) {
+        return new UserImportEvent("summary", null, null, null, processed, imported, failed);
+    }
+}
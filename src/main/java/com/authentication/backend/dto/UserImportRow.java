@@ -0,0 +1,17 @@
+package com.authentication.backend.dto;
+
+import java.util.List;
+
+/**
+ * A user to create, as read from one line of a bulk import.
+ *
+ * @param username The unique username.
+ * @param password The plain password, encoded before it is stored.
+ * @param roles    Names of the roles granted to the user; {@code USER} when
+ *                 empty.
+ */
+public record UserImportRow(
+        String username,
+        String password,
+        List<String> roles) {
+}
@@ -0,0 +1,15 @@
+package com.authentication.backend.dto;
+
+import java.util.List;
+
+/**
+ * A page of users listed by the admin API.
+ *
+ * @param users The users of the page, in id order.
+ * @param next  The cursor to pass as {@code after} for the next page, or
+ *              {@code null} on the last page.
+ */
+public record UserPage(
+        List<UserSummary> users,
+        String next) {
+}
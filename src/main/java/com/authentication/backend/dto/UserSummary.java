@@ -0,0 +1,31 @@
+package com.authentication.backend.dto;
+
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * A user as listed and exported by the admin API, without its password hash.
+ *
+ * @param id       The id of the user, also the cursor of the next page.
+ * @param username The username.
+ * @param roles    The names of the roles granted to the user.
+ */
+public record UserSummary(
+        String id,
+        String username,
+        List<String> roles) {
+
+    /**
+     * Summarize the given user.
+     *
+     * @param user The user, typically read without its password.
+     * @return The summary.
+     */
+    public static UserSummary of(ApplicationUser user) {
+        return new UserSummary(user.getUserId(), user.getUsername(),
+                user.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().toList());
+    }
+}
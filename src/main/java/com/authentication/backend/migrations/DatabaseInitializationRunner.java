@@ -0,0 +1,168 @@
+package com.authentication.backend.migrations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.configurations.StartupProperties;
+import com.mongodb.MongoException;
+
+/**
+ * Runs every {@link DatabaseInitializer} at startup, in order.
+ *
+ * <p>
+ * By default the steps run in the background, each retried until it
+ * succeeds, so an unreachable MongoDB neither fails nor delays the startup.
+ * Until every step {@link DatabaseInitializer#requiredForReadiness() required
+ * for readiness} completed, the readiness state refuses traffic: the role
+ * catalog and the authorization rules are not loaded yet, so requests could
+ * not be authorized correctly. The remaining steps, such as the seeding, run
+ * once the application accepts traffic. With
+ * {@code authentication.startup.async-initialization=false}, the steps run
+ * once before the application reports ready, and a failure aborts the
+ * startup.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+public class DatabaseInitializationRunner implements ApplicationRunner, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseInitializationRunner.class);
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final ObjectProvider<DatabaseInitializer> initializers;
+
+    private final StartupProperties properties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private final Object readinessLock = new Object();
+
+    /**
+     * Whether every step required for readiness completed, guarded by
+     * {@code readinessLock}.
+     */
+    private boolean ready;
+
+    /**
+     * Whether traffic was refused for the initialization, guarded by
+     * {@code readinessLock}.
+     */
+    private boolean refusingTraffic;
+
+    public DatabaseInitializationRunner(ObjectProvider<DatabaseInitializer> initializers,
+            StartupProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.initializers = initializers;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<DatabaseInitializer> steps = initializers.orderedStream().toList();
+        if (!properties.asyncInitialization()) {
+            steps.forEach(DatabaseInitializer::initialize);
+            markReady();
+            completion.complete(null);
+            return;
+        }
+
+        Thread thread = new Thread(() -> initializeUntilDone(steps), "database-initialization");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Refuse traffic if the steps required for readiness are still running
+     * once the application reports ready.
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        synchronized (readinessLock) {
+            if (ready)
+                return;
+            refusingTraffic = true;
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    /**
+     * Get the completion of the initialization.
+     *
+     * @return A future completed once every step has run.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    private void initializeUntilDone(List<DatabaseInitializer> steps) {
+        int readinessSteps = 0;
+        for (int i = 0; i < steps.size(); i++)
+            if (steps.get(i).requiredForReadiness())
+                readinessSteps = i + 1;
+
+        try {
+            for (int i = 0; i < steps.size(); i++) {
+                if (i == readinessSteps)
+                    markReady();
+                initializeUntilDone(steps.get(i));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completion.cancel(false);
+            return;
+        } catch (RuntimeException e) {
+            log.error("Initializing the database failed, giving up", e);
+            completion.completeExceptionally(e);
+            return;
+        }
+        markReady();
+        completion.complete(null);
+        log.info("Database initialized");
+    }
+
+    /**
+     * Accept traffic again if it was refused for the initialization.
+     */
+    private void markReady() {
+        synchronized (readinessLock) {
+            if (ready)
+                return;
+            ready = true;
+            if (refusingTraffic)
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    private void initializeUntilDone(DatabaseInitializer step) throws InterruptedException {
+        Duration delay = properties.initializationRetryDelay();
+        while (true) {
+            try {
+                step.initialize();
+                return;
+            } catch (DataAccessException | MongoException e) {
+                log.warn("Initializing the database failed in {}, retrying in {}", step.getClass().getSimpleName(),
+                        delay, e);
+            }
+            Thread.sleep(delay.toMillis());
+            delay = delay.multipliedBy(2).compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay.multipliedBy(2);
+        }
+    }
+}
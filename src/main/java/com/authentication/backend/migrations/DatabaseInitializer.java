@@ -0,0 +1,33 @@
+package com.authentication.backend.migrations;
+
+/**
+ * A step of the database initialization run at startup by the
+ * {@link DatabaseInitializationRunner}, e.g. a migration, an index or the
+ * loading of an in-memory catalog.
+ *
+ * <p>
+ * Steps run in their {@code @Order}, each once the previous one completed. A
+ * step failing, e.g. because MongoDB is not reachable yet, is run again, so
+ * steps must be idempotent. The application refuses traffic until every step
+ * required for readiness completed; the later steps run while it already
+ * accepts traffic.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public interface DatabaseInitializer {
+
+    /**
+     * Run the step.
+     */
+    void initialize();
+
+    /**
+     * Whether requests cannot be served correctly until the step completed.
+     *
+     * @return {@code true} by default.
+     */
+    default boolean requiredForReadiness() {
+        return true;
+    }
+}
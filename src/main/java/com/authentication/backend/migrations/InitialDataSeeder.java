@@ -0,0 +1,153 @@
+package com.authentication.backend.migrations;
+
+import java.util.Date;
+import java.util.Set;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.repository.UserRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+
+/**
+ * Creates the {@code ADMIN} and {@code USER} roles and the default
+ * {@code admin} user of an empty database.
+ *
+ * <p>
+ * It is the last step of the {@link DatabaseInitializationRunner} and is not
+ * required for readiness, so by default it runs in the background once the
+ * application accepts traffic, and is retried until MongoDB is reachable.
+ * Like {@link RoleEmbeddingMigration}, it records itself in the
+ * {@code migrations} collection and is a no-op on every later start, so an
+ * administrator deleted or demoted by an operator is never recreated with the
+ * default password.
+ * </p>
+ *
+ * <p>
+ * It is safe to run from several nodes at once: roles are upserted by
+ * authority, made unique by an index, and the administrator is only inserted
+ * while the {@code users} collection is empty, the insert of a concurrent node
+ * failing on the unique username. A node that stopped before recording the
+ * seeding is completed by the next attempt, while a database that already
+ * holds users gets no default administrator.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class InitialDataSeeder implements DatabaseInitializer {
+
+    static final String MIGRATION_ID = "seed-default-administrator";
+
+    private static final Logger log = LoggerFactory.getLogger(InitialDataSeeder.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final UserRepository userRepository;
+
+    private final RoleCatalog roleCatalog;
+
+    private final PasswordEncoder passwordEncoder;
+
+    public InitialDataSeeder(MongoTemplate mongoTemplate, UserRepository userRepository, RoleCatalog roleCatalog,
+            PasswordEncoder passwordEncoder) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+        this.roleCatalog = roleCatalog;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void initialize() {
+        seed();
+    }
+
+    /**
+     * Seeding is not required for readiness: it only creates the default
+     * administrator, whose first login may wait for it.
+     */
+    @Override
+    public boolean requiredForReadiness() {
+        return false;
+    }
+
+    /**
+     * Create the default roles unless they exist, and the default
+     * administrator if the database holds no user, unless the seeding was
+     * already recorded.
+     *
+     * @return {@code true} if this call created the administrator.
+     */
+    public boolean seed() {
+        MongoCollection<Document> migrations = mongoTemplate.getCollection("migrations");
+        if (migrations.countDocuments(Filters.eq("_id", MIGRATION_ID)) > 0)
+            return false;
+
+        try {
+            mongoTemplate.indexOps(Role.class).ensureIndex(new Index().on("authority", Sort.Direction.ASC).unique());
+        } catch (DataAccessException e) {
+            // Duplicated authorities from before the index; the upserts below
+            // still match one of them.
+            log.warn("Could not create the unique index on roles.authority", e);
+        }
+
+        upsertRole("ADMIN");
+        upsertRole("USER");
+        roleCatalog.reload();
+        boolean seeded = !mongoTemplate.exists(new Query(), ApplicationUser.class) && createAdministrator();
+
+        try {
+            migrations.insertOne(new Document("_id", MIGRATION_ID).append("applied_at", new Date()));
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY)
+                throw e;
+            // Another node seeded the database at the same time and recorded it first.
+        }
+        return seeded;
+    }
+
+    /**
+     * Insert the default administrator.
+     *
+     * @return {@code true} unless a concurrent node inserted it first.
+     */
+    private boolean createAdministrator() {
+        Role admin = roleCatalog.findByAuthority("ADMIN").orElseThrow();
+        try {
+            userRepository.save(new ApplicationUser("admin", passwordEncoder.encode("password"), Set.of(admin)));
+        } catch (DuplicateKeyException e) {
+            log.debug("The admin user was created concurrently", e);
+            return false;
+        }
+        log.info("Seeded the default administrator");
+        return true;
+    }
+
+    /**
+     * Create the role with the given authority unless it exists.
+     */
+    private void upsertRole(String authority) {
+        mongoTemplate.upsert(Query.query(Criteria.where("authority").is(authority)),
+                new Update().setOnInsert("authority", authority), Role.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.authentication.backend.migrations;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.mongodb.DBRef;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+
+/**
+ * One-shot migration replacing the {@code @DBRef} role references stored in
+ * existing {@code users} documents by embedded copies of the referenced roles.
+ *
+ * <p>
+ * The migration records itself in the {@code migrations} collection and is a
+ * no-op on every later start. It runs before any other initialization step,
+ * so the seeding in {@link InitialDataSeeder} already sees the embedded
+ * layout.
+ * </p>
+ *
+ * <p>
+ * Only users still holding references are rewritten, so nodes starting
+ * together may both run it safely; the node recording it second finds the
+ * record already there and carries on.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "authentication.migrations.embed-roles.enabled", matchIfMissing = true)
+public class RoleEmbeddingMigration implements DatabaseInitializer {
+
+    static final String MIGRATION_ID = "embed-role-authorities";
+
+    private static final Logger log = LoggerFactory.getLogger(RoleEmbeddingMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public RoleEmbeddingMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void initialize() {
+        MongoCollection<Document> migrations = mongoTemplate.getCollection("migrations");
+        if (migrations.countDocuments(Filters.eq("_id", MIGRATION_ID)) > 0)
+            return;
+
+        Map<Object, String> authorities = new HashMap<>();
+        for (Document role : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Role.class)).find())
+            authorities.put(role.get("_id"), role.getString("authority"));
+
+        MongoCollection<Document> users = mongoTemplate
+                .getCollection(mongoTemplate.getCollectionName(ApplicationUser.class));
+        long migrated = 0;
+        for (Document user : users.find(Filters.exists("authorities.$id"))) {
+            List<Document> embedded = new ArrayList<>();
+            for (Object reference : user.getList("authorities", Object.class)) {
+                Object roleId = referencedId(reference);
+                if (roleId != null && authorities.containsKey(roleId))
+                    embedded.add(new Document("_id", roleId).append("authority", authorities.get(roleId)));
+            }
+            users.updateOne(Filters.eq("_id", user.get("_id")), Updates.set("authorities", embedded));
+            migrated++;
+        }
+
+        try {
+            migrations.insertOne(new Document("_id", MIGRATION_ID).append("applied_at", new Date()));
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY)
+                throw e;
+            // Another node ran the migration at the same time and recorded it first.
+        }
+        log.info("Embedded role authorities into {} user documents", migrated);
+    }
+
+    private static Object referencedId(Object reference) {
+        if (reference instanceof DBRef dbRef)
+            return dbRef.getId();
+        if (reference instanceof Document document)
+            return document.containsKey("$id") ? document.get("$id") : document.get("_id");
+        return null;
+    }
+}
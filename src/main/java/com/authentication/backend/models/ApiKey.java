@@ -0,0 +1,200 @@
+package com.authentication.backend.models;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * MongoDB model class representing an API key issued to an
+ * {@link ApplicationUser} for machine clients.
+ *
+ * <p>
+ * Only the public prefix of the key and a keyed hash of its secret are
+ * stored; the key itself is shown once, when issued.
+ * </p>
+ *
+ * @param
+ * keyId            {@code String} - Unique key identifier
+ * @param
+ * prefix           {@code String} - Random public part of the key, unique,
+ *                  used to look the key up
+ * @param
+ * secretHash       {@code String} - HMAC-SHA256 of the secret part of the key
+ * @param
+ * username         {@code String} - Username of the user the key
+ *                  authenticates as
+ * @param
+ * name             {@code String} - Label given by the user, e.g. the client
+ *                  using the key
+ * @param
+ * createdAt        {@code Instant} - Time the key was issued
+ *
+ * @author Tejaswee Gaur
+ */
+@Document(collection = "api_keys")
+public class ApiKey {
+
+    @Id
+    @Field(name = "key_id")
+    private String keyId;
+
+    @Field(name = "prefix")
+    private String prefix;
+
+    @Field(name = "secret_hash")
+    private String secretHash;
+
+    @Field(name = "user_name")
+    private String username;
+
+    @Field(name = "name")
+    private String name;
+
+    @Field(name = "created_at")
+    private Instant createdAt;
+
+    /**
+     * Default constructor for the ApiKey class.
+     */
+    public ApiKey() {
+    }
+
+    /**
+     * Parameterized constructor for the ApiKey class.
+     *
+     * @param prefix     The public part of the key.
+     * @param secretHash The keyed hash of the secret part of the key.
+     * @param username   The username of the key's user.
+     * @param name       The label of the key.
+     * @param createdAt  The time the key was issued.
+     */
+    public ApiKey(String prefix, String secretHash, String username, String name, Instant createdAt) {
+        this.prefix = prefix;
+        this.secretHash = secretHash;
+        this.username = username;
+        this.name = name;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Get the key identifier.
+     *
+     * @return The key identifier.
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * Set the key identifier.
+     *
+     * @param keyId The key identifier to set.
+     */
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
+    }
+
+    /**
+     * Get the public part of the key.
+     *
+     * @return The key prefix.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Set the public part of the key.
+     *
+     * @param prefix The key prefix to set.
+     */
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Get the keyed hash of the secret part of the key.
+     *
+     * @return The secret hash.
+     */
+    public String getSecretHash() {
+        return secretHash;
+    }
+
+    /**
+     * Set the keyed hash of the secret part of the key.
+     *
+     * @param secretHash The secret hash to set.
+     */
+    public void setSecretHash(String secretHash) {
+        this.secretHash = secretHash;
+    }
+
+    /**
+     * Get the username of the key's user.
+     *
+     * @return The username.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Set the username of the key's user.
+     *
+     * @param username The username to set.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Get the label of the key.
+     *
+     * @return The label.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the label of the key.
+     *
+     * @param name The label to set.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the time the key was issued.
+     *
+     * @return The creation time.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Set the time the key was issued.
+     *
+     * @param createdAt The creation time to set.
+     */
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Get a string representation of the ApiKey object, without the secret
+     * hash.
+     *
+     * @return A string representation of the ApiKey object.
+     */
+    @Override
+    public String toString() {
+        return "ApiKey [keyId=" + keyId + ", prefix=" + prefix + ", username=" + username + ", name=" + name
+                + ", createdAt=" + createdAt + "]";
+    }
+}
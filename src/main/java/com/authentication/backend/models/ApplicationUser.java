@@ -1,18 +1,20 @@
 package com.authentication.backend.models;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.authentication.backend.configurations.SpringSecurityConfiguration;
+import com.authentication.backend.security.AuthoritySet;
 
 /**
  * Represents a user in the application, implementing the Spring Security
@@ -36,8 +38,12 @@ import com.authentication.backend.configurations.SpringSecurityConfiguration;
  *                    before storing in the database.
  * @param
  * authorities        {@code Set<Role>} - A set of all the auhorities permitted
- *                    to the user by the Application Administrator. Linked to
- *                    the {@link Role} database collection.
+ *                    to the user by the Application Administrator. Embedded
+ *                    copies of the {@link Role} database collection, kept in
+ *                    sync when a role changes.
+ * @param
+ * version            {@code long} - Number of writes of the user, compared
+ *                    by the caches to discard stale copies.
  *
  * @author Tejaswee Gaur
  */
@@ -73,11 +79,48 @@ public class ApplicationUser implements UserDetails {
     /**
      * The set of roles assigned to the user.
      *
+     * <p>
+     * Roles are embedded in the user document rather than referenced, so a user
+     * is loaded with a single read however many roles it holds.
+     * </p>
+     *
      * @since 1.0
      */
-    @DBRef
+    @Field(name = "authorities")
     private Set<Role> authorities;
 
+    /**
+     * The version of the user, incremented on every write, so caches can tell
+     * a stale copy from a current one.
+     *
+     * <p>
+     * Maintained by the application rather than with {@code @Version}, so
+     * documents written before the field existed are still updated in place.
+     * </p>
+     *
+     * @since 1.0
+     */
+    @Field(name = "version")
+    private long version;
+
+    /**
+     * The authorities of the user as a bitset, computed when the user is loaded
+     * for authentication. Not persisted.
+     *
+     * @since 1.0
+     */
+    @Transient
+    private AuthoritySet authoritySet;
+
+    /**
+     * End of the lockout of the user after too many failed logins, set when the
+     * user is loaded for authentication. Not persisted.
+     *
+     * @since 1.0
+     */
+    @Transient
+    private Instant lockedUntil;
+
     /**
      * Default constructor for the ApplicationUser class.
      *
@@ -193,6 +236,73 @@ public class ApplicationUser implements UserDetails {
      */
     public void setAuthorities(Set<Role> authorities) {
         this.authorities = authorities;
+        this.authoritySet = null;
+    }
+
+    /**
+     * Get the precomputed bitset of the user's authorities.
+     *
+     * @return The authority set, or {@code null} if it was not computed since
+     *         the authorities were last set. (Type: {@code AuthoritySet})
+     * @since 1.0
+     */
+    public AuthoritySet getAuthoritySet() {
+        return authoritySet;
+    }
+
+    /**
+     * Set the precomputed bitset of the user's authorities.
+     *
+     * @param authoritySet The authority set, matching the user's authorities.
+     *                     (Type: {@code AuthoritySet})
+     * @since 1.0
+     */
+    public void setAuthoritySet(AuthoritySet authoritySet) {
+        this.authoritySet = authoritySet;
+    }
+
+    /**
+     * Get the version of the user.
+     *
+     * @return The number of writes of the user, {@code 0} if it was never
+     *         written by this version of the application. (Type:
+     *         {@code long})
+     * @since 1.0
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set the version of the user.
+     *
+     * @param version The version of the user. (Type: {@code long})
+     * @since 1.0
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Get the end of the user's lockout.
+     *
+     * @return The end of the lockout, or {@code null} if the user was not
+     *         locked out when loaded. (Type: {@code Instant})
+     * @since 1.0
+     */
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    /**
+     * Set the end of the user's lockout.
+     *
+     * @param lockedUntil The end of the lockout, or {@code null} if the user is
+     *                    not locked out. (Type: {@code Instant})
+     * @since 1.0
+     */
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
     }
 
     // UserDetails interface methods...
@@ -212,13 +322,18 @@ public class ApplicationUser implements UserDetails {
     /**
      * Check if the user's account is not locked.
      *
+     * <p>
+     * An account is locked while a lockout after too many failed logins is
+     * running.
+     * </p>
+     *
      * @return True if the account is not locked, false otherwise. (Type:
      *         {@code boolean})
      * @since 1.0
      */
     @Override
     public boolean isAccountNonLocked() {
-        return true;
+        return lockedUntil == null || !Instant.now().isBefore(lockedUntil);
     }
 
     /**
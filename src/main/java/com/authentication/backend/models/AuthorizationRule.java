@@ -0,0 +1,145 @@
+package com.authentication.backend.models;
+
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * MongoDB model class representing a path based authorization rule, extending
+ * the rules configured in the application properties.
+ *
+ * @param
+ * ruleId           {@code String} - Unique rule identifier
+ * @param
+ * pattern          {@code String} - Path pattern the rule applies to, such as
+ *                  {@code /api/admin/**}. {@code *} matches one path segment,
+ *                  a trailing {@code **} any number of segments.
+ * @param
+ * method           {@code String} - HTTP method the rule is restricted to, or
+ *                  {@code null} for every method
+ * @param
+ * authorities      {@code List<String>} - Authorities, any of which grants
+ *                  access to the matching requests
+ *
+ * @author Tejaswee Gaur
+ */
+@Document(collection = "authorization_rules")
+public class AuthorizationRule {
+
+    @Id
+    @Field(name = "rule_id")
+    private String ruleId;
+
+    @Field(name = "pattern")
+    private String pattern;
+
+    @Field(name = "method")
+    private String method;
+
+    @Field(name = "authorities")
+    private List<String> authorities;
+
+    /**
+     * Default constructor for the AuthorizationRule class.
+     */
+    public AuthorizationRule() {
+    }
+
+    /**
+     * Parameterized constructor for the AuthorizationRule class.
+     *
+     * @param pattern     The path pattern.
+     * @param method      The HTTP method, or {@code null} for every method.
+     * @param authorities The authorities granting access.
+     */
+    public AuthorizationRule(String pattern, String method, List<String> authorities) {
+        this.pattern = pattern;
+        this.method = method;
+        this.authorities = authorities;
+    }
+
+    /**
+     * Get the rule identifier.
+     *
+     * @return The rule identifier.
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * Set the rule identifier.
+     *
+     * @param ruleId The rule identifier to set.
+     */
+    public void setRuleId(String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    /**
+     * Get the path pattern.
+     *
+     * @return The path pattern.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Set the path pattern.
+     *
+     * @param pattern The path pattern to set.
+     */
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Get the HTTP method.
+     *
+     * @return The HTTP method, or {@code null} for every method.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Set the HTTP method.
+     *
+     * @param method The HTTP method to set, or {@code null} for every method.
+     */
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    /**
+     * Get the authorities granting access.
+     *
+     * @return The authorities.
+     */
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Set the authorities granting access.
+     *
+     * @param authorities The authorities to set.
+     */
+    public void setAuthorities(List<String> authorities) {
+        this.authorities = authorities;
+    }
+
+    /**
+     * Get a string representation of the AuthorizationRule object.
+     *
+     * @return A string representation of the AuthorizationRule object.
+     */
+    @Override
+    public String toString() {
+        return "AuthorizationRule [ruleId=" + ruleId + ", pattern=" + pattern + ", method=" + method
+                + ", authorities=" + authorities + "]";
+    }
+}
@@ -128,10 +128,15 @@ public class Role implements GrantedAuthority {
     /**
      * Generate a hash code for the Role object.
      *
+     * <p>
+     * Equal to {@code Objects.hash(roleId, authority)}, without allocating the
+     * varargs array on every set lookup.
+     * </p>
+     *
      * @return The hash code for the Role object.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(roleId, authority);
+        return 31 * (31 + Objects.hashCode(roleId)) + Objects.hashCode(authority);
     }
 }
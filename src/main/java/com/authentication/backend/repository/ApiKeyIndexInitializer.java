@@ -0,0 +1,34 @@
+package com.authentication.backend.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.migrations.DatabaseInitializer;
+import com.authentication.backend.models.ApiKey;
+
+/**
+ * Creates the indexes of the {@code api_keys} collection at startup: a unique
+ * index on {@code prefix}, so authenticating a key is an index point read, and
+ * an index on {@code user_name} for listing a user's keys.
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@ConditionalOnProperty(name = "authentication.api-keys.enabled", havingValue = "true")
+public class ApiKeyIndexInitializer implements DatabaseInitializer {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ApiKeyIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void initialize() {
+        mongoTemplate.indexOps(ApiKey.class).ensureIndex(new Index().on("prefix", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(ApiKey.class).ensureIndex(new Index().on("user_name", Sort.Direction.ASC));
+    }
+}
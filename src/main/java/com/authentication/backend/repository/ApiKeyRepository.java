@@ -0,0 +1,33 @@
+package com.authentication.backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.authentication.backend.models.ApiKey;
+
+/**
+ * Repository of the API keys stored in MongoDB.
+ */
+@Repository
+public interface ApiKeyRepository extends MongoRepository<ApiKey, String> {
+
+    /**
+     * Retrieves the key with the given public prefix, an index point read on
+     * the unique {@code prefix} index.
+     *
+     * @param prefix The public part of the key.
+     * @return The key, or an empty {@link Optional}.
+     */
+    Optional<ApiKey> findByPrefix(String prefix);
+
+    /**
+     * Retrieves the keys of a user.
+     *
+     * @param username The username.
+     * @return The user's keys.
+     */
+    List<ApiKey> findByUsername(String username);
+}
@@ -0,0 +1,13 @@
+package com.authentication.backend.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.authentication.backend.models.AuthorizationRule;
+
+/**
+ * Repository of the path based authorization rules stored in MongoDB.
+ */
+@Repository
+public interface AuthorizationRuleRepository extends MongoRepository<AuthorizationRule, String> {
+}
@@ -0,0 +1,105 @@
+package com.authentication.backend.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Saturation metrics of the MongoDB connection pools, complementing the
+ * per-server {@code mongodb.driver.pool.*} gauges of Spring Boot.
+ *
+ * <ul>
+ * <li>{@code authentication.mongo.pool.wait}: time a request waited to check
+ * out a connection, whether it got one or not.</li>
+ * <li>{@code authentication.mongo.pool.timeouts}: requests that gave up
+ * waiting after {@code authentication.mongo.max-wait-time}.</li>
+ * <li>{@code authentication.mongo.pool.utilization}: connections in use,
+ * as a fraction of the maximum size of all pools.</li>
+ * </ul>
+ *
+ * <p>
+ * A growing wait, rather than the number of connections in use, is what
+ * shows in the tail latency of the authentication lookups.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class MongoPoolMetrics implements ConnectionPoolListener {
+
+    private final Timer wait;
+
+    private final Counter timeouts;
+
+    private final AtomicInteger checkedOut = new AtomicInteger();
+
+    private final ConcurrentMap<ServerId, Integer> maxSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Register the metrics in the given registry.
+     *
+     * @param meterRegistry The registry the metrics are registered in.
+     */
+    public MongoPoolMetrics(MeterRegistry meterRegistry) {
+        this.wait = Timer.builder("authentication.mongo.pool.wait")
+                .description("Waiting to check out a MongoDB connection")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("authentication.mongo.pool.timeouts")
+                .description("Connection check-outs that timed out in the wait queue")
+                .register(meterRegistry);
+        Gauge.builder("authentication.mongo.pool.utilization", this, MongoPoolMetrics::utilization)
+                .description("Connections in use as a fraction of the pool size")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        maxSizes.put(event.getServerId(), event.getSettings().getMaxSize());
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        maxSizes.remove(event.getServerId());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkedOut.incrementAndGet();
+        wait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        wait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT)
+            timeouts.increment();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    /**
+     * Get the connections in use as a fraction of the pool size.
+     *
+     * @return The utilization, {@code 0} without any pool.
+     */
+    public double utilization() {
+        int maxSize = maxSizes.values().stream().mapToInt(Integer::intValue).sum();
+        return maxSize == 0 ? 0 : (double) checkedOut.get() / maxSize;
+    }
+}
@@ -0,0 +1,211 @@
+package com.authentication.backend.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.migrations.DatabaseInitializer;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.AuthoritySet;
+
+/**
+ * In-memory, copy-on-write view of the {@code roles} collection.
+ *
+ * <p>
+ * The roles are read once at startup into an immutable snapshot holding one
+ * shared {@link Role} instance per role, indexed by id and by authority, so
+ * resolving a role is a map lookup instead of a query. Saving or deleting a
+ * role through the application, or a change-stream event from another
+ * instance, re-reads the collection and swaps the snapshot atomically; readers
+ * never see a partially updated catalog.
+ * </p>
+ *
+ * <p>
+ * Every authority is also given a small integer index, used to hold the
+ * authorities of a user as an {@link AuthoritySet}. Indexes are assigned on
+ * first use and never reused, so sets computed before a reload stay valid.
+ * </p>
+ *
+ * <p>
+ * The shared instances must not be modified.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RoleCatalog extends AbstractMongoEventListener<Role> implements DatabaseInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleCatalog.class);
+
+    private final RoleRepository roleRepository;
+
+    private volatile Snapshot snapshot;
+
+    private final ConcurrentMap<String, Integer> authorityIndexes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextAuthorityIndex = new AtomicInteger();
+
+    public RoleCatalog(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @Override
+    public void initialize() {
+        reload();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Role> event) {
+        reload();
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Role> event) {
+        reload();
+    }
+
+    /**
+     * Re-read every role and atomically replace the catalog.
+     */
+    public void reload() {
+        Snapshot loaded = Snapshot.of(roleRepository.findAll());
+        loaded.byAuthority().keySet().forEach(this::indexOf);
+        snapshot = loaded;
+        log.atDebug().addKeyValue("roles", loaded.roles().size()).log("Role catalog loaded");
+    }
+
+    /**
+     * Finds the role with the given authority.
+     *
+     * @param authority The authority, e.g. {@code ADMIN}.
+     * @return The shared role instance, or an empty {@link Optional}.
+     */
+    public Optional<Role> findByAuthority(String authority) {
+        return Optional.ofNullable(snapshot().byAuthority().get(authority));
+    }
+
+    /**
+     * Finds the role with the given id.
+     *
+     * @param roleId The role id.
+     * @return The shared role instance, or an empty {@link Optional}.
+     */
+    public Optional<Role> findById(String roleId) {
+        return Optional.ofNullable(snapshot().byId().get(roleId));
+    }
+
+    /**
+     * Get every role.
+     *
+     * @return The shared role instances, in no particular order.
+     */
+    public List<Role> findAll() {
+        return snapshot().roles();
+    }
+
+    /**
+     * Replace the given roles, e.g. as embedded in a user document, by the
+     * shared catalog instances. Roles are matched by id, then by authority;
+     * roles unknown to the catalog are kept as they are.
+     *
+     * @param roles The roles to resolve.
+     * @return A new set of shared role instances.
+     */
+    public Set<Role> intern(Collection<? extends GrantedAuthority> roles) {
+        Snapshot current = snapshot();
+        Set<Role> interned = new HashSet<>(roles.size() * 2);
+        for (GrantedAuthority authority : roles) {
+            Role shared = authority instanceof Role role && role.getRoleId() != null
+                    ? current.byId().get(role.getRoleId())
+                    : null;
+            if (shared == null)
+                shared = current.byAuthority().get(authority.getAuthority());
+            if (shared == null)
+                shared = authority instanceof Role role ? role : new Role(authority.getAuthority());
+            interned.add(shared);
+        }
+        return interned;
+    }
+
+    /**
+     * Get the index of the given authority, assigning the next free index on
+     * first use.
+     *
+     * @param authority The authority, e.g. {@code ADMIN}.
+     * @return The non-negative authority index.
+     */
+    public int indexOf(String authority) {
+        Integer index = authorityIndexes.get(authority);
+        if (index != null)
+            return index;
+        return authorityIndexes.computeIfAbsent(authority, key -> nextAuthorityIndex.getAndIncrement());
+    }
+
+    /**
+     * Convert the given authorities to their bitset representation.
+     *
+     * @param authorities The authorities, e.g. the roles of a user.
+     * @return The set of their authority indexes.
+     */
+    public AuthoritySet authoritySet(Collection<? extends GrantedAuthority> authorities) {
+        int[] indexes = new int[authorities.size()];
+        int count = 0;
+        for (GrantedAuthority authority : authorities) {
+            if (authority.getAuthority() != null)
+                indexes[count++] = indexOf(authority.getAuthority());
+        }
+        return AuthoritySet.of(count == indexes.length ? indexes : Arrays.copyOf(indexes, count));
+    }
+
+    /**
+     * Get the current snapshot, loading it on first use if a role is resolved
+     * before the startup load ran.
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null)
+            return current;
+        synchronized (this) {
+            if (snapshot == null)
+                reload();
+            return snapshot;
+        }
+    }
+
+    /**
+     * Immutable state of the catalog.
+     */
+    private record Snapshot(List<Role> roles, Map<String, Role> byId, Map<String, Role> byAuthority) {
+
+        private static Snapshot of(List<Role> roles) {
+            Map<String, Role> byId = new HashMap<>();
+            Map<String, Role> byAuthority = new HashMap<>();
+            for (Role role : roles) {
+                if (role.getRoleId() != null)
+                    byId.put(role.getRoleId(), role);
+                if (role.getAuthority() != null)
+                    byAuthority.put(role.getAuthority(), role);
+            }
+            return new Snapshot(List.copyOf(roles), Map.copyOf(byId), Map.copyOf(byAuthority));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.authentication.backend.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+
+/**
+ * Keeps the {@link Role} copies embedded in {@link ApplicationUser} documents
+ * in sync with the {@code roles} collection.
+ *
+ * <p>
+ * Saving a role through the {@link RoleRepository} rewrites its authority in
+ * every user holding it, and deleting a role removes it from every user. Both
+ * are single multi-document updates on the {@code users} collection, which
+ * also increment the version of the users changed.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+public class RoleEmbeddingListener extends AbstractMongoEventListener<Role> {
+
+    private static final String EMBEDDED_ROLE_ID = "authorities._id";
+
+    private final MongoTemplate mongoTemplate;
+
+    public RoleEmbeddingListener(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Role> event) {
+        Role role = event.getSource();
+        if (role.getRoleId() == null)
+            return;
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ApplicationUser.class))
+                .updateMany(Filters.eq(EMBEDDED_ROLE_ID, storedId(role.getRoleId())),
+                        Updates.combine(Updates.set("authorities.$.authority", role.getAuthority()),
+                                Updates.inc("version", 1)));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Role> event) {
+        Object roleId = event.getSource().get("_id");
+        if (roleId == null)
+            return;
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ApplicationUser.class))
+                .updateMany(Filters.eq(EMBEDDED_ROLE_ID, roleId),
+                        Updates.combine(Updates.pull("authorities", new Document("_id", roleId)),
+                                Updates.inc("version", 1)));
+    }
+
+    /**
+     * Convert a role id to the representation it is stored with, mirroring the
+     * mapping layer which stores ids that are valid ObjectId strings as
+     * ObjectIds.
+     */
+    private static Object storedId(String roleId) {
+        return ObjectId.isValid(roleId) ? new ObjectId(roleId) : roleId;
+    }
+}
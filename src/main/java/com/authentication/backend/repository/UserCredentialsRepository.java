@@ -0,0 +1,43 @@
+package com.authentication.backend.repository;
+
+import java.util.Optional;
+
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * Repository fragment with the queries used on the authentication path.
+ *
+ * <p>
+ * Implemented by {@link UserCredentialsRepositoryImpl} and exposed through
+ * {@link UserRepository}.
+ * </p>
+ *
+ * @see UserRepository
+ */
+public interface UserCredentialsRepository {
+
+    /**
+     * Retrieves the credentials of the user with the specified username.
+     *
+     * <p>
+     * Only the username, password hash, authorities and version are read,
+     * through the unique {@code user_name} index, with the read preference
+     * configured for authentication.
+     * </p>
+     *
+     * @param userName The username to search for.
+     * @return An {@link Optional} containing a partially populated
+     *         {@link ApplicationUser}, or an empty {@link Optional} if not found.
+     */
+    Optional<ApplicationUser> findCredentialsByUsername(String userName);
+
+    /**
+     * Replace the stored password hash of the user with the specified username,
+     * leaving every other field but the version untouched.
+     *
+     * @param userName The username of the user to update.
+     * @param password The new, already encoded, password hash.
+     * @return {@code true} if a user was updated.
+     */
+    boolean updatePassword(String userName, String password);
+}
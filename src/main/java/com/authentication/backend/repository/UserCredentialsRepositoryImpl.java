@@ -0,0 +1,75 @@
+package com.authentication.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.authentication.backend.configurations.MongoClientProperties;
+import com.authentication.backend.configurations.UsernameProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.mongodb.ReadPreference;
+
+/**
+ * MongoTemplate based implementation of the {@link UserCredentialsRepository}
+ * fragment.
+ *
+ * <p>
+ * Queries use the same collation as the {@code user_name} index created by
+ * {@link UserIndexInitializer}, otherwise MongoDB could not use the index.
+ * </p>
+ *
+ * <p>
+ * Credentials are read with {@code authentication.mongo.auth-read-preference},
+ * so lookups can be spread over the secondaries. A secondary may lag behind
+ * the primary: a password or role change is then seen by these reads once it
+ * was replicated, while writes always go to the primary.
+ * </p>
+ */
+public class UserCredentialsRepositoryImpl implements UserCredentialsRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final UsernameProperties usernameProperties;
+
+    private final ReadPreference readPreference;
+
+    public UserCredentialsRepositoryImpl(MongoTemplate mongoTemplate, UsernameProperties usernameProperties,
+            MongoClientProperties clientProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.usernameProperties = usernameProperties;
+        this.readPreference = ReadPreference.valueOf(clientProperties.authReadPreference());
+    }
+
+    @Override
+    public Optional<ApplicationUser> findCredentialsByUsername(String userName) {
+        return Optional.ofNullable(mongoTemplate.findOne(credentialsQuery(userName), ApplicationUser.class));
+    }
+
+    @Override
+    public boolean updatePassword(String userName, String password) {
+        Query query = Query.query(Criteria.where("userName").is(userName));
+        if (usernameProperties.caseInsensitive())
+            query.collation(UserIndexInitializer.usernameCollation(usernameProperties));
+        Update update = Update.update("password", password).inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, ApplicationUser.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Build the projection query used by
+     * {@link #findCredentialsByUsername(String)}.
+     *
+     * @param userName The username to search for.
+     * @return The query, including projection, collation and read preference.
+     */
+    public Query credentialsQuery(String userName) {
+        Query query = Query.query(Criteria.where("userName").is(userName)).limit(1)
+                .withReadPreference(readPreference);
+        query.fields().include("userName", "password", "authorities", "version");
+        if (usernameProperties.caseInsensitive())
+            query.collation(UserIndexInitializer.usernameCollation(usernameProperties));
+        return query;
+    }
+}
@@ -0,0 +1,55 @@
+package com.authentication.backend.repository;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Collation.ComparisonLevel;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.configurations.UsernameProperties;
+import com.authentication.backend.migrations.DatabaseInitializer;
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * Creates the unique index on {@code user_name} at startup, optionally with a
+ * case-insensitive collation, so username lookups are index point reads rather
+ * than collection scans.
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class UserIndexInitializer implements DatabaseInitializer {
+
+    static final String USERNAME_INDEX = "user_name_unique";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final UsernameProperties usernameProperties;
+
+    public UserIndexInitializer(MongoTemplate mongoTemplate, UsernameProperties usernameProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.usernameProperties = usernameProperties;
+    }
+
+    @Override
+    public void initialize() {
+        Index index = new Index().on("user_name", Sort.Direction.ASC).unique().named(USERNAME_INDEX);
+        if (usernameProperties.caseInsensitive())
+            index.collation(usernameCollation(usernameProperties));
+        mongoTemplate.indexOps(ApplicationUser.class).ensureIndex(index);
+    }
+
+    /**
+     * Get the collation matching usernames regardless of case.
+     *
+     * @param usernameProperties The username settings holding the locale.
+     * @return A collation comparing at secondary strength.
+     */
+    static Collation usernameCollation(UsernameProperties usernameProperties) {
+        return Collation.of(usernameProperties.collationLocale()).strength(ComparisonLevel.secondary());
+    }
+}
@@ -0,0 +1,48 @@
+package com.authentication.backend.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * Repository fragment with the reads used to list and export users without
+ * loading the whole collection.
+ *
+ * <p>
+ * Implemented by {@link UserListingRepositoryImpl} and exposed through
+ * {@link UserRepository}. Users are returned in {@code _id} order and without
+ * their password hash.
+ * </p>
+ *
+ * @see UserRepository
+ */
+public interface UserListingRepository {
+
+    /**
+     * Retrieves the page of users following the given id (keyset pagination),
+     * so the cost of a page does not grow with its position.
+     *
+     * @param afterId The id of the last user of the previous page, or
+     *                {@code null} for the first page.
+     * @param limit   The maximum number of users to return.
+     * @return The users of the page, without password.
+     */
+    List<ApplicationUser> findPageAfter(String afterId, int limit);
+
+    /**
+     * Streams every user from a database cursor. The stream must be closed to
+     * release the cursor.
+     *
+     * @return The users, without password.
+     */
+    Stream<ApplicationUser> streamAll();
+
+    /**
+     * Streams the username of every user from a database cursor, in no
+     * particular order. The stream must be closed to release the cursor.
+     *
+     * @return The usernames.
+     */
+    Stream<String> streamUsernames();
+}
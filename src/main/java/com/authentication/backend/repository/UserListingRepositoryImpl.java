@@ -0,0 +1,57 @@
+package com.authentication.backend.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * MongoTemplate based implementation of the {@link UserListingRepository}
+ * fragment.
+ *
+ * <p>
+ * Both user reads walk the {@code _id} index in order and project away the password
+ * hash. Pages seek past the last id instead of skipping, and the export reads
+ * from a cursor fetched in batches. The usernames are read in natural order,
+ * as only the {@code user_name} field is needed.
+ * </p>
+ */
+public class UserListingRepositoryImpl implements UserListingRepository {
+
+    private static final int CURSOR_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserListingRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<ApplicationUser> findPageAfter(String afterId, int limit) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where("userId").gt(afterId));
+        return mongoTemplate.find(withoutPassword(query).limit(limit), ApplicationUser.class);
+    }
+
+    @Override
+    public Stream<ApplicationUser> streamAll() {
+        return mongoTemplate.stream(withoutPassword(new Query()).cursorBatchSize(CURSOR_BATCH_SIZE),
+                ApplicationUser.class);
+    }
+
+    @Override
+    public Stream<String> streamUsernames() {
+        Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("userName").exclude("userId");
+        return mongoTemplate.stream(query, ApplicationUser.class).map(ApplicationUser::getUsername);
+    }
+
+    private static Query withoutPassword(Query query) {
+        query.fields().exclude("password");
+        return query.with(Sort.by("userId"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.authentication.backend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * Repository fragment with the bulk writes used to provision users.
+ *
+ * <p>
+ * Implemented by {@link UserProvisioningRepositoryImpl} and exposed through
+ * {@link UserRepository}.
+ * </p>
+ *
+ * @see UserRepository
+ */
+public interface UserProvisioningRepository {
+
+    /**
+     * Insert the given users in a single unordered bulk write, so one failing
+     * user does not stop the others.
+     *
+     * @param users The users to insert, with encoded passwords.
+     * @return The error message of every user that was not inserted, by its
+     *         index in {@code users}; empty if all were inserted.
+     */
+    Map<Integer, String> insertUnordered(List<ApplicationUser> users);
+}
@@ -0,0 +1,69 @@
+package com.authentication.backend.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+
+/**
+ * Driver level implementation of the {@link UserProvisioningRepository}
+ * fragment.
+ *
+ * <p>
+ * Users are converted with the template's converter and written with a raw
+ * {@code bulkWrite}, so no per-user mapping events are published: a new user
+ * has no cached state to invalidate.
+ * </p>
+ */
+public class UserProvisioningRepositoryImpl implements UserProvisioningRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserProvisioningRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<ApplicationUser> users) {
+        if (users.isEmpty())
+            return Map.of();
+
+        List<InsertOneModel<Document>> inserts = new ArrayList<>(users.size());
+        for (ApplicationUser user : users) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(user, document);
+            inserts.add(new InsertOneModel<>(document));
+        }
+
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(ApplicationUser.class))
+                    .bulkWrite(inserts, new BulkWriteOptions().ordered(false));
+            return Map.of();
+        } catch (MongoBulkWriteException e) {
+            // Without per-user errors the whole batch is in doubt, e.g. on a
+            // write concern error.
+            if (e.getWriteErrors().isEmpty())
+                throw e;
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getWriteErrors())
+                failures.put(error.getIndex(), message(error));
+            return failures;
+        }
+    }
+
+    private static String message(BulkWriteError error) {
+        if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY)
+            return "Username already exists";
+        return error.getMessage();
+    }
+}
@@ -3,6 +3,7 @@ package com.authentication.backend.repository;
 import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.authentication.backend.models.ApplicationUser;
@@ -37,23 +38,33 @@ import com.authentication.backend.models.ApplicationUser;
  * Note: The {@link MongoRepository} provides standard CRUD operations out of
  * the box,
  * and the custom method {@link #findByUsername(String)} is added for specific
- * query needs.
+ * query needs. The authentication specific queries are declared by the
+ * {@link UserCredentialsRepository} fragment.
  * </p>
  *
  * @see MongoRepository
  * @see ApplicationUser
  */
 @Repository
-public interface UserRepository extends MongoRepository<ApplicationUser, Integer> {
+public interface UserRepository
+        extends MongoRepository<ApplicationUser, Integer>, UserCredentialsRepository, UserProvisioningRepository,
+        UserListingRepository {
 
     /**
      * Retrieves an {@link Optional} containing the user with the specified
      * username.
      *
+     * <p>
+     * The query is spelled out because the username is persisted as
+     * {@code user_name}, which a derived query on the {@code username} getter
+     * would not match.
+     * </p>
+     *
      * @param userName The username to search for.
      * @return An {@link Optional} containing the found {@link ApplicationUser}, or
      *         an empty {@link Optional} if not found.
      * @see Optional
      */
+    @Query("{ 'user_name' : ?0 }")
     Optional<ApplicationUser> findByUsername(String userName);
 }
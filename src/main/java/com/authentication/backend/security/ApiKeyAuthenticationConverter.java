@@ -0,0 +1,45 @@
+package com.authentication.backend.security;
+
+import org.springframework.security.authentication.AuthenticationDetailsSource;
+import org.springframework.security.web.authentication.AuthenticationConverter;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * {@link AuthenticationConverter} reading the API key of a request from a
+ * header, for the
+ * {@link org.springframework.security.web.authentication.AuthenticationFilter}
+ * of machine clients. Requests without the header are left to the other
+ * authentication mechanisms.
+ *
+ * @author Tejaswee Gaur
+ */
+public class ApiKeyAuthenticationConverter implements AuthenticationConverter {
+
+    private final AuthenticationDetailsSource<HttpServletRequest, ?> detailsSource =
+            new WebAuthenticationDetailsSource();
+
+    private final String headerName;
+
+    /**
+     * Create the converter for the given header.
+     *
+     * @param headerName The header carrying the API key.
+     */
+    public ApiKeyAuthenticationConverter(String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    public ApiKeyAuthenticationToken convert(HttpServletRequest request) {
+        String key = request.getHeader(headerName);
+        if (key == null || key.isBlank())
+            return null;
+
+        ApiKeyAuthenticationToken token = ApiKeyAuthenticationToken.unauthenticated(key.trim());
+        // The client address is what the login throttle counts failures by.
+        token.setDetails(detailsSource.buildDetails(request));
+        return token;
+    }
+}
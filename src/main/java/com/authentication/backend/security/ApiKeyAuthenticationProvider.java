@@ -0,0 +1,44 @@
+package com.authentication.backend.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import com.authentication.backend.services.ApiKeyService;
+
+/**
+ * {@link AuthenticationProvider} authenticating {@link ApiKeyAuthenticationToken}s
+ * against the keys of the {@link ApiKeyService}.
+ *
+ * <p>
+ * Unknown, revoked and mismatching keys are all rejected with a
+ * {@link BadCredentialsException}, so callers cannot tell a valid prefix from
+ * an invalid one.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class ApiKeyAuthenticationProvider implements AuthenticationProvider {
+
+    private final ApiKeyService apiKeyService;
+
+    public ApiKeyAuthenticationProvider(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String key = (String) authentication.getCredentials();
+        if (key == null)
+            throw new BadCredentialsException("Invalid API key");
+        return apiKeyService.resolve(key)
+                .map(ApiKeyAuthenticationToken::authenticated)
+                .orElseThrow(() -> new BadCredentialsException("Invalid API key"));
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return ApiKeyAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
@@ -0,0 +1,74 @@
+package com.authentication.backend.security;
+
+import java.util.Collection;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.authentication.backend.services.ApiKeyService;
+
+/**
+ * {@link org.springframework.security.core.Authentication} of a request by an
+ * API key.
+ *
+ * <p>
+ * Before authentication the principal is the public prefix of the key, so
+ * failures are counted per key by the {@link LoginThrottle}; afterwards it is
+ * the user the key belongs to.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class ApiKeyAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final Object principal;
+
+    private String key;
+
+    private ApiKeyAuthenticationToken(Object principal, String key,
+            Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.principal = principal;
+        this.key = key;
+    }
+
+    /**
+     * Create a token to authenticate with the given key.
+     *
+     * @param key The key, as sent by the client.
+     * @return The unauthenticated token.
+     */
+    public static ApiKeyAuthenticationToken unauthenticated(String key) {
+        int separator = key.indexOf(ApiKeyService.SEPARATOR);
+        return new ApiKeyAuthenticationToken(separator < 0 ? "" : key.substring(0, separator), key, null);
+    }
+
+    /**
+     * Create the token of a request authenticated as the given user.
+     *
+     * @param user The user the key belongs to.
+     * @return The authenticated token.
+     */
+    public static ApiKeyAuthenticationToken authenticated(UserDetails user) {
+        ApiKeyAuthenticationToken token = new ApiKeyAuthenticationToken(user, null, user.getAuthorities());
+        token.setAuthenticated(true);
+        return token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return key;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        super.eraseCredentials();
+        key = null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.authentication.backend.security;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Application event signalling that cached authentication state is no longer
+ * trustworthy, either for a single user or for every user.
+ *
+ * <p>
+ * Published whenever a user's password or roles change, and consumed by every
+ * cache on the authentication path.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class AuthenticationInvalidationEvent extends ApplicationEvent {
+
+    private final String username;
+
+    private final long version;
+
+    private AuthenticationInvalidationEvent(Object source, String username, long version) {
+        super(source);
+        this.username = username;
+        this.version = version;
+    }
+
+    /**
+     * Create an event invalidating the cached state of a single user.
+     *
+     * @param source   The component publishing the event.
+     * @param username The username whose cached state must be dropped.
+     * @return The invalidation event.
+     */
+    public static AuthenticationInvalidationEvent forUser(Object source, String username) {
+        return new AuthenticationInvalidationEvent(source, username, 0);
+    }
+
+    /**
+     * Create an event invalidating the cached state of a single user, whose
+     * new version is known. Caches may then reject copies older than that
+     * version that were loaded before the change but stored after the event.
+     *
+     * @param source   The component publishing the event.
+     * @param username The username whose cached state must be dropped.
+     * @param version  The version of the user after the change.
+     * @return The invalidation event.
+     */
+    public static AuthenticationInvalidationEvent forUser(Object source, String username, long version) {
+        return new AuthenticationInvalidationEvent(source, username, version);
+    }
+
+    /**
+     * Create an event invalidating the cached state of every user.
+     *
+     * @param source The component publishing the event.
+     * @return The invalidation event.
+     */
+    public static AuthenticationInvalidationEvent forAll(Object source) {
+        return new AuthenticationInvalidationEvent(source, null, 0);
+    }
+
+    /**
+     * Get the username affected by this event.
+     *
+     * @return The username, or {@code null} if every user is affected.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Get the version of the user after the change.
+     *
+     * @return The version, or {@code 0} if unknown.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Check whether this event affects every user.
+     *
+     * @return True if all cached state must be dropped.
+     */
+    public boolean isGlobal() {
+        return username == null;
+    }
+}
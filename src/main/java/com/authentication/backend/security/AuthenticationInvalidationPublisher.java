@@ -0,0 +1,61 @@
+package com.authentication.backend.security;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+
+/**
+ * Translates MongoDB lifecycle events on {@link ApplicationUser} and
+ * {@link Role} documents into {@link AuthenticationInvalidationEvent}s.
+ *
+ * <p>
+ * Saving a user invalidates that user only. Any role change, or deleting a
+ * user (where only the id is known), invalidates every user.
+ * </p>
+ *
+ * <p>
+ * The version of a user is incremented before every save, and carried by the
+ * invalidation event, so caches can discard copies loaded before the save.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+public class AuthenticationInvalidationPublisher extends AbstractMongoEventListener<Object> {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AuthenticationInvalidationPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Object> event) {
+        if (event.getSource() instanceof ApplicationUser user)
+            user.setVersion(user.getVersion() + 1);
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof ApplicationUser user) {
+            eventPublisher.publishEvent(
+                    AuthenticationInvalidationEvent.forUser(this, user.getUsername(), user.getVersion()));
+        } else if (event.getSource() instanceof Role) {
+            eventPublisher.publishEvent(AuthenticationInvalidationEvent.forAll(this));
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        if (type != null && (ApplicationUser.class.isAssignableFrom(type) || Role.class.isAssignableFrom(type))) {
+            eventPublisher.publishEvent(AuthenticationInvalidationEvent.forAll(this));
+        }
+    }
+}
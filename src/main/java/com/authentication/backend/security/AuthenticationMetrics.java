@@ -0,0 +1,143 @@
+package com.authentication.backend.security;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Timers of the stages of an authentication, tagged by outcome.
+ *
+ * <ul>
+ * <li>{@code authentication.lookup}: loading the user from the repository.</li>
+ * <li>{@code authentication.password.match}: verifying the password hash,
+ * including the dummy verification done for unknown users.</li>
+ * <li>{@code authentication.authorities}: mapping the granted
+ * authorities.</li>
+ * <li>{@code authentication.attempt}: a whole authentication by the
+ * provider manager.</li>
+ * <li>{@code authentication.filter-chain}: the whole security filter
+ * chain of a request.</li>
+ * </ul>
+ *
+ * <p>
+ * All timers are registered up front, so recording is a map lookup and an
+ * atomic update. Their percentile histograms are enabled in the application
+ * properties for the Prometheus endpoint.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+public class AuthenticationMetrics {
+
+    private final Map<AuthenticationOutcome, Timer> lookup;
+
+    private final Map<AuthenticationOutcome, Timer> passwordMatch;
+
+    private final Timer authorities;
+
+    private final Map<AuthenticationOutcome, Timer> attempt;
+
+    private final Map<AuthenticationOutcome, Timer> filterChain;
+
+    /**
+     * Register the timers in the given registry.
+     *
+     * @param meterRegistry The registry the timers are registered in.
+     */
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.lookup = timers(meterRegistry, "authentication.lookup", "Loading the user from the repository",
+                AuthenticationOutcome.SUCCESS, AuthenticationOutcome.UNKNOWN_USER);
+        this.passwordMatch = timers(meterRegistry, "authentication.password.match", "Verifying the password hash",
+                AuthenticationOutcome.SUCCESS, AuthenticationOutcome.BAD_CREDENTIALS);
+        this.authorities = Timer.builder("authentication.authorities")
+                .description("Mapping the granted authorities of an authenticated user")
+                .register(meterRegistry);
+        this.attempt = timers(meterRegistry, "authentication.attempt", "Authentication by the provider manager",
+                AuthenticationOutcome.SUCCESS, AuthenticationOutcome.BAD_CREDENTIALS,
+                AuthenticationOutcome.UNKNOWN_USER, AuthenticationOutcome.THROTTLED, AuthenticationOutcome.LOCKED,
+                AuthenticationOutcome.OTHER);
+        this.filterChain = timers(meterRegistry, "authentication.filter-chain", "The security filter chain",
+                AuthenticationOutcome.values());
+    }
+
+    /**
+     * Create metrics recording into no registry, for components built outside
+     * of the application context.
+     *
+     * @return Metrics whose timers discard every recording.
+     */
+    public static AuthenticationMetrics noop() {
+        return new AuthenticationMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Record a repository lookup.
+     *
+     * @param found Whether the user exists.
+     * @param nanos Duration of the lookup.
+     */
+    public void recordLookup(boolean found, long nanos) {
+        lookup.get(found ? AuthenticationOutcome.SUCCESS : AuthenticationOutcome.UNKNOWN_USER)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a password verification.
+     *
+     * @param matched Whether the password matched the stored hash.
+     * @param nanos   Duration of the verification.
+     */
+    public void recordPasswordMatch(boolean matched, long nanos) {
+        passwordMatch.get(matched ? AuthenticationOutcome.SUCCESS : AuthenticationOutcome.BAD_CREDENTIALS)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the mapping of the granted authorities.
+     *
+     * @param nanos Duration of the mapping.
+     */
+    public void recordAuthorityMapping(long nanos) {
+        authorities.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record an authentication by the provider manager.
+     *
+     * @param outcome Success, bad credentials, unknown user, throttled, locked
+     *                or another failure.
+     * @param nanos   Duration of the authentication.
+     */
+    public void recordAttempt(AuthenticationOutcome outcome, long nanos) {
+        attempt.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a pass through the security filter chain.
+     *
+     * @param outcome Outcome of the authentication of the request.
+     * @param nanos   Duration of the filter chain, including the handler.
+     */
+    public void recordFilterChain(AuthenticationOutcome outcome, long nanos) {
+        filterChain.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Map<AuthenticationOutcome, Timer> timers(MeterRegistry meterRegistry, String name,
+            String description, AuthenticationOutcome... outcomes) {
+        Map<AuthenticationOutcome, Timer> timers = new EnumMap<>(AuthenticationOutcome.class);
+        for (AuthenticationOutcome outcome : outcomes) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome.tag())
+                    .register(meterRegistry));
+        }
+        return timers;
+    }
+}
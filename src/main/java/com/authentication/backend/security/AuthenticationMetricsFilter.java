@@ -0,0 +1,63 @@
+package com.authentication.backend.security;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * First filter of the security filter chain, timing the rest of the chain
+ * (including the handler) by authentication outcome.
+ *
+ * <p>
+ * The outcome recorded by the {@link InstrumentedAuthenticationManager} is
+ * used when the request went through it. Otherwise, e.g. for cached
+ * credentials or bearer tokens, it is derived from the response: no
+ * {@code Authorization} header is anonymous, a 401 is bad credentials and
+ * anything else is a success.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class AuthenticationMetricsFilter extends OncePerRequestFilter {
+
+    private final AuthenticationMetrics metrics;
+
+    /**
+     * Create the filter.
+     *
+     * @param metrics The metrics requests are recorded in.
+     */
+    public AuthenticationMetricsFilter(AuthenticationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            metrics.recordFilterChain(outcome(request, response), System.nanoTime() - start);
+        }
+    }
+
+    private static AuthenticationOutcome outcome(HttpServletRequest request, HttpServletResponse response) {
+        if (request.getAttribute(InstrumentedAuthenticationManager.OUTCOME_ATTRIBUTE) instanceof AuthenticationOutcome outcome)
+            return outcome;
+        if (request.getHeader(HttpHeaders.AUTHORIZATION) == null)
+            return AuthenticationOutcome.ANONYMOUS;
+        if (response.getStatus() == HttpStatus.UNAUTHORIZED.value())
+            return AuthenticationOutcome.BAD_CREDENTIALS;
+        if (response.getStatus() == HttpStatus.TOO_MANY_REQUESTS.value())
+            return AuthenticationOutcome.THROTTLED;
+        return AuthenticationOutcome.SUCCESS;
+    }
+}
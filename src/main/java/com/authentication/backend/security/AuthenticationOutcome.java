@@ -0,0 +1,45 @@
+package com.authentication.backend.security;
+
+/**
+ * Outcome an authentication stage is tagged with in the metrics and logs.
+ *
+ * @author Tejaswee Gaur
+ */
+public enum AuthenticationOutcome {
+
+    /** The stage succeeded. */
+    SUCCESS("success"),
+
+    /** The presented password or token was rejected. */
+    BAD_CREDENTIALS("bad_credentials"),
+
+    /** No user exists with the presented username. */
+    UNKNOWN_USER("unknown_user"),
+
+    /** The request presented no credentials. */
+    ANONYMOUS("anonymous"),
+
+    /** The login was rejected by the login throttle, unverified. */
+    THROTTLED("throttled"),
+
+    /** The user is locked out after too many failed logins. */
+    LOCKED("locked"),
+
+    /** The authentication failed for another reason, e.g. a disabled user. */
+    OTHER("other");
+
+    private final String tag;
+
+    AuthenticationOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Get the value of the {@code outcome} tag.
+     *
+     * @return The tag value, e.g. {@code bad_credentials}.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,146 @@
+package com.authentication.backend.security;
+
+import com.authentication.backend.repository.RoleCatalog;
+
+/**
+ * Immutable bitset of authority indexes, as assigned by the
+ * {@link RoleCatalog}.
+ *
+ * <p>
+ * A user's authorities are converted to an {@code AuthoritySet} once, when the
+ * user is loaded, so authorization checks test bits instead of walking a set of
+ * roles and comparing strings. Checks never allocate. The first 64 indexes are
+ * held in a single {@code long}, which covers most deployments.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public final class AuthoritySet {
+
+    /**
+     * The set holding no authority.
+     */
+    public static final AuthoritySet EMPTY = new AuthoritySet(new long[0]);
+
+    private final long[] words;
+
+    private AuthoritySet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Create a set holding the given authority indexes.
+     *
+     * @param indexes The non-negative authority indexes.
+     * @return The authority set.
+     */
+    public static AuthoritySet of(int... indexes) {
+        int max = -1;
+        for (int index : indexes) {
+            if (index < 0)
+                throw new IllegalArgumentException("Authority index must not be negative: " + index);
+            max = Math.max(max, index);
+        }
+        if (max < 0)
+            return EMPTY;
+        long[] words = new long[(max >>> 6) + 1];
+        for (int index : indexes)
+            words[index >>> 6] |= 1L << index;
+        return new AuthoritySet(words);
+    }
+
+    /**
+     * Check whether the set holds the given authority index.
+     *
+     * @param index The authority index.
+     * @return True if the index is set, false otherwise.
+     */
+    public boolean contains(int index) {
+        int word = index >>> 6;
+        return index >= 0 && word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Check whether the set shares at least one authority with the other set.
+     *
+     * @param other The authorities to look for, e.g. those of a rule.
+     * @return True if any authority is held by both sets, false otherwise.
+     */
+    public boolean containsAny(AuthoritySet other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the set holds every authority of the other set.
+     *
+     * @param other The authorities to look for.
+     * @return True if all authorities of the other set are held, false
+     *         otherwise.
+     */
+    public boolean containsAll(AuthoritySet other) {
+        for (int i = 0; i < other.words.length; i++) {
+            long held = i < words.length ? words[i] : 0L;
+            if ((held & other.words[i]) != other.words[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the set holds no authority.
+     *
+     * @return True if no index is set, false otherwise.
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of authorities in the set.
+     *
+     * @return The number of set indexes.
+     */
+    public int size() {
+        int size = 0;
+        for (long word : words)
+            size += Long.bitCount(word);
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof AuthoritySet other))
+            return false;
+        return containsAll(other) && other.containsAll(this);
+    }
+
+    @Override
+    public int hashCode() {
+        // Trailing empty words are ignored, consistent with equals.
+        int hash = 0;
+        for (int i = 0; i < words.length; i++)
+            hash ^= Long.hashCode(words[i]) * (31 * i + 1);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("AuthoritySet [");
+        for (int i = 0; i < words.length << 6; i++) {
+            if (contains(i))
+                builder.append(builder.charAt(builder.length() - 1) == '[' ? "" : ", ").append(i);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.authentication.backend.security;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.RoleCatalog;
+
+/**
+ * {@link AuthorizationManager} granting access to authentications holding any
+ * of a fixed set of authorities, evaluated with bit operations.
+ *
+ * <p>
+ * The required authorities are converted to an {@link AuthoritySet} once, when
+ * the rule is built. For an {@link ApplicationUser} principal the bitset
+ * precomputed at load time is used, so a check neither walks the user's roles
+ * nor allocates. Other principals, e.g. a bearer token, fall back to converting
+ * their granted authorities on each check.
+ * </p>
+ *
+ * <p>
+ * Roles of this application are stored without a {@code ROLE_} prefix, so
+ * {@link #hasRole(RoleCatalog, String)} matches the role name as stored, e.g.
+ * {@code ADMIN}.
+ * </p>
+ *
+ * @param <T> The type of object being authorized, e.g. a request context.
+ * @author Tejaswee Gaur
+ */
+public final class AuthoritySetAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    private final RoleCatalog roleCatalog;
+
+    private final AuthoritySet required;
+
+    private final String description;
+
+    private AuthoritySetAuthorizationManager(RoleCatalog roleCatalog, String... authorities) {
+        this.roleCatalog = roleCatalog;
+        this.required = AuthoritySet.of(Arrays.stream(authorities).mapToInt(roleCatalog::indexOf).toArray());
+        this.description = Arrays.toString(authorities);
+    }
+
+    /**
+     * Create a manager requiring the given authority.
+     *
+     * @param <T>         The type of object being authorized.
+     * @param roleCatalog The catalog assigning the authority indexes.
+     * @param authority   The required authority.
+     * @return The authorization manager.
+     */
+    public static <T> AuthoritySetAuthorizationManager<T> hasAuthority(RoleCatalog roleCatalog, String authority) {
+        return new AuthoritySetAuthorizationManager<>(roleCatalog, authority);
+    }
+
+    /**
+     * Create a manager requiring any of the given authorities.
+     *
+     * @param <T>         The type of object being authorized.
+     * @param roleCatalog The catalog assigning the authority indexes.
+     * @param authorities The authorities, any of which grants access.
+     * @return The authorization manager.
+     */
+    public static <T> AuthoritySetAuthorizationManager<T> hasAnyAuthority(RoleCatalog roleCatalog,
+            String... authorities) {
+        return new AuthoritySetAuthorizationManager<>(roleCatalog, authorities);
+    }
+
+    /**
+     * Create a manager requiring the given role.
+     *
+     * @param <T>         The type of object being authorized.
+     * @param roleCatalog The catalog assigning the authority indexes.
+     * @param role        The required role name, as stored.
+     * @return The authorization manager.
+     */
+    public static <T> AuthoritySetAuthorizationManager<T> hasRole(RoleCatalog roleCatalog, String role) {
+        return hasAuthority(roleCatalog, role);
+    }
+
+    /**
+     * Create a manager requiring any of the given roles.
+     *
+     * @param <T>         The type of object being authorized.
+     * @param roleCatalog The catalog assigning the authority indexes.
+     * @param roles       The role names, as stored, any of which grants access.
+     * @return The authorization manager.
+     */
+    public static <T> AuthoritySetAuthorizationManager<T> hasAnyRole(RoleCatalog roleCatalog, String... roles) {
+        return hasAnyAuthority(roleCatalog, roles);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated() || trustResolver.isAnonymous(current))
+            return DENIED;
+        return authoritySet(current).containsAny(required) ? GRANTED : DENIED;
+    }
+
+    private AuthoritySet authoritySet(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof ApplicationUser user && user.getAuthoritySet() != null)
+            return user.getAuthoritySet();
+        return roleCatalog.authoritySet(authentication.getAuthorities());
+    }
+
+    @Override
+    public String toString() {
+        return "AuthoritySetAuthorizationManager [authorities=" + description + "]";
+    }
+}
@@ -0,0 +1,164 @@
+package com.authentication.backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings, backed by an
+ * {@link AtomicLongArray}.
+ *
+ * <p>
+ * {@link #mightContain(String)} never returns {@code false} for a string that
+ * was {@link #put(String) put}, and returns {@code true} for other strings
+ * with the false-positive rate the filter was sized for, as long as no more
+ * strings than expected were put. The bit positions are derived from two
+ * 64-bit hashes of the string (Kirsch-Mitzenmacher double hashing), so a
+ * lookup costs one pass over the string and {@code k} memory reads.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long SECOND_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+    private static final long MAX_BIT_SIZE = (long) Integer.MAX_VALUE * Long.SIZE;
+
+    private final AtomicLongArray words;
+
+    private final long bitSize;
+
+    private final int hashCount;
+
+    private final AtomicLong bitCount = new AtomicLong();
+
+    /**
+     * Create an empty filter.
+     *
+     * @param bitSize   Number of bits of the filter.
+     * @param hashCount Number of bits set per string.
+     */
+    public BloomFilter(long bitSize, int hashCount) {
+        if (bitSize <= 0 || bitSize > MAX_BIT_SIZE)
+            throw new IllegalArgumentException("Invalid bit size: " + bitSize);
+        if (hashCount <= 0)
+            throw new IllegalArgumentException("Invalid hash count: " + hashCount);
+        this.words = new AtomicLongArray((int) ((bitSize + Long.SIZE - 1) / Long.SIZE));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Create an empty filter with the optimal size and number of hashes for
+     * the given number of strings and false-positive rate.
+     *
+     * @param expectedInsertions Number of strings expected to be put.
+     * @param falsePositiveRate  Target false-positive rate, between 0 and 1.
+     * @return The filter.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("Invalid false-positive rate: " + falsePositiveRate);
+        long insertions = Math.max(1, expectedInsertions);
+        long bitSize = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashCount = (int) Math.max(1, Math.round((double) bitSize / insertions * Math.log(2)));
+        return new BloomFilter(Math.min(bitSize, MAX_BIT_SIZE), hashCount);
+    }
+
+    /**
+     * Add a string to the filter.
+     *
+     * @param value The string.
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ SECOND_HASH_SEED);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+            long mask = 1L << bit;
+            long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set);
+            if ((previous & mask) == 0)
+                bitCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Test whether a string might have been added to the filter.
+     *
+     * @param value The string.
+     * @return {@code false} if the string was definitely never put.
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ SECOND_HASH_SEED);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of bits of the filter.
+     *
+     * @return The bit size.
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Get the number of bits set per string.
+     *
+     * @return The hash count.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Get the memory taken by the bits of the filter.
+     *
+     * @return The size in bytes.
+     */
+    public long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * Estimate the current false-positive rate from the fraction of bits set.
+     *
+     * @return The probability that a string never put is reported as
+     *         possibly contained.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitCount.get() / bitSize, hashCount);
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The MurmurHash3 64-bit finalizer, spreading every input bit over the
+     * whole hash.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,164 @@
+package com.authentication.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@link AuthenticationManager} that remembers successfully verified
+ * username/password pairs so repeated HTTP Basic requests skip the password
+ * hash verification.
+ *
+ * <p>
+ * Cache keys are an HMAC-SHA256 of the username and the presented password, so
+ * neither the plain password nor a fast unkeyed hash of it is ever held in
+ * memory. Only successful results are cached; failures always reach the
+ * delegate. Entries are bounded in number and expire after a fixed time to
+ * live, and are evicted on {@link AuthenticationInvalidationEvent}s.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class CachingAuthenticationManager
+        implements AuthenticationManager, ApplicationListener<AuthenticationInvalidationEvent> {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationManager delegate;
+
+    private final Cache<String, Authentication> cache;
+
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Create a caching manager in front of the given delegate.
+     *
+     * @param delegate    The manager performing the real verification.
+     * @param maximumSize Upper bound on the number of cached credentials.
+     * @param timeToLive  How long a verified credential stays cached.
+     * @param secret      The HMAC key, or {@code null}/blank for a random key.
+     */
+    public CachingAuthenticationManager(AuthenticationManager delegate, long maximumSize, Duration timeToLive,
+            String secret) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        SecretKeySpec key = new SecretKeySpec(keyBytes(secret), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)
+                || authentication.getName() == null
+                || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = cacheKey(authentication.getName(), authentication.getCredentials().toString());
+        Authentication cached = cache.getIfPresent(key);
+        if (cached != null)
+            return cached;
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated())
+            cache.put(key, result);
+        return result;
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationInvalidationEvent event) {
+        if (event.isGlobal())
+            evictAll();
+        else
+            evictUser(event.getUsername());
+    }
+
+    /**
+     * Drop every cached credential of the given user.
+     *
+     * @param username The username whose credentials must be verified again.
+     */
+    public void evictUser(String username) {
+        cache.asMap().values().removeIf(authentication -> username.equals(authentication.getName()));
+    }
+
+    /**
+     * Drop every cached credential.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the number of authentications answered from the cache.
+     *
+     * @return The cache hit count.
+     */
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Get the number of authentications that had to be verified by the
+     * delegate.
+     *
+     * @return The cache miss count.
+     */
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Get the underlying cache, for metrics binding.
+     *
+     * @return The Caffeine cache holding verified credentials.
+     */
+    public Cache<String, Authentication> getCache() {
+        return cache;
+    }
+
+    private String cacheKey(String username, String password) {
+        Mac hmac = mac.get();
+        hmac.update(username.getBytes(StandardCharsets.UTF_8));
+        // Separator so that ("ab", "c") and ("a", "bc") never collide.
+        hmac.update((byte) 0);
+        byte[] digest = hmac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret != null && !secret.isBlank())
+            return secret.getBytes(StandardCharsets.UTF_8);
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(key);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + HMAC_ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.authentication.backend.security;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * {@link SessionStore} keeping sessions in memory, so sessions are only known
+ * to the node that opened them.
+ *
+ * <p>
+ * Sessions expire after the idle timeout since their last access, and the
+ * least recently used sessions are evicted past the maximum number of
+ * sessions.
+ * </p>
+ *
+ * <p>
+ * The keys of each user's sessions are indexed by username, so removing a
+ * user's sessions takes time proportional to that user's sessions, not to
+ * every session held. The index is updated as sessions are saved, removed,
+ * evicted or expire.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class CaffeineSessionStore implements SessionStore {
+
+    private final Cache<String, Entry> cache;
+
+    private final ConcurrentHashMap<String, Set<String>> keysByUsername = new ConcurrentHashMap<>();
+
+    public CaffeineSessionStore(long maximumSessions, Duration idleTimeout) {
+        this(maximumSessions, idleTimeout, Ticker.systemTicker());
+    }
+
+    /**
+     * Create an empty store on the given clock.
+     *
+     * @param maximumSessions Number of sessions kept before eviction.
+     * @param idleTimeout     Time after its last access a session expires.
+     * @param ticker          Source of the current time.
+     */
+    public CaffeineSessionStore(long maximumSessions, Duration idleTimeout, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSessions)
+                .expireAfterAccess(idleTimeout)
+                .ticker(ticker)
+                .evictionListener((String key, Entry entry, RemovalCause cause) -> unindex(entry.username(), key))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void save(String key, String username, byte[] session) {
+        keysByUsername.compute(username, (u, keys) -> {
+            Set<String> indexed = keys == null ? new HashSet<>() : keys;
+            indexed.add(key);
+            return indexed;
+        });
+        cache.put(key, new Entry(username, session));
+    }
+
+    @Override
+    public byte[] find(String key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.session();
+    }
+
+    @Override
+    public void remove(String key) {
+        Entry entry = cache.asMap().remove(key);
+        if (entry != null)
+            unindex(entry.username(), key);
+    }
+
+    @Override
+    public void removeByUsername(String username) {
+        Set<String> keys = keysByUsername.remove(username);
+        if (keys != null)
+            cache.invalidateAll(keys);
+    }
+
+    @Override
+    public void removeAll() {
+        cache.invalidateAll();
+        keysByUsername.clear();
+    }
+
+    /**
+     * Get the underlying cache, for metrics binding.
+     *
+     * @return The Caffeine cache.
+     */
+    public Cache<String, ?> getCache() {
+        return cache;
+    }
+
+    private void unindex(String username, String key) {
+        keysByUsername.computeIfPresent(username, (u, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record Entry(String username, byte[] session) {
+    }
+}
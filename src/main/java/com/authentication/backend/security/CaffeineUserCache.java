@@ -0,0 +1,142 @@
+package com.authentication.backend.security;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.authentication.backend.configurations.UserCacheProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Bounded, in-process {@link UserCache} for the
+ * {@link org.springframework.security.authentication.dao.DaoAuthenticationProvider}
+ * backed by Caffeine.
+ *
+ * <p>
+ * Entries expire after a fixed time to live, and entries older than the
+ * refresh interval are reloaded from the {@link UserDetailsService} in the
+ * background on their next access, so hot users never block on the database.
+ * Entries are evicted on {@link AuthenticationInvalidationEvent}s.
+ * </p>
+ *
+ * <p>
+ * With a {@link SharedUserCache}, this cache is the near tier of a two-level
+ * cache: users missing here are looked up in the shared tier before the
+ * database, and loaded users are written to both. Invalidations carrying the
+ * new version of a user leave a version floor behind, so a copy loaded before
+ * the change and stored after the event is rejected rather than cached until
+ * it expires.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class CaffeineUserCache implements UserCache, ApplicationListener<AuthenticationInvalidationEvent> {
+
+    private final LoadingCache<String, UserDetails> cache;
+
+    private final Cache<String, Long> versionFloors;
+
+    private final SharedUserCache sharedCache;
+
+    /**
+     * Create the cache reloading entries through the given service.
+     *
+     * @param userDetailsService The service entries are (re)loaded from.
+     * @param properties         Size, expiry and refresh settings.
+     */
+    public CaffeineUserCache(UserDetailsService userDetailsService, UserCacheProperties properties) {
+        this(userDetailsService, properties, null, Ticker.systemTicker());
+    }
+
+    /**
+     * Create the near tier of a two-level cache.
+     *
+     * @param userDetailsService The service entries are (re)loaded from.
+     * @param properties         Size, expiry and refresh settings.
+     * @param sharedCache        The shared tier, or {@code null} for a local
+     *                           cache only.
+     * @param ticker             Time source of the expiry and refresh.
+     */
+    public CaffeineUserCache(UserDetailsService userDetailsService, UserCacheProperties properties,
+            SharedUserCache sharedCache, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .refreshAfterWrite(properties.refreshAfter())
+                .ticker(ticker)
+                .recordStats()
+                .build(userDetailsService::loadUserByUsername);
+        // A floor only has to outlive the copies it rejects.
+        this.versionFloors = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .ticker(ticker)
+                .build();
+        this.sharedCache = sharedCache;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails user = cache.getIfPresent(username);
+        if (user != null || sharedCache == null)
+            return user;
+
+        ApplicationUser shared = sharedCache.get(username);
+        if (shared == null || !isCurrent(shared))
+            return null;
+        cache.put(username, shared);
+        return shared;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (!isCurrent(user))
+            return;
+        cache.put(user.getUsername(), user);
+        if (sharedCache != null && user instanceof ApplicationUser applicationUser)
+            sharedCache.put(applicationUser);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+        if (sharedCache != null)
+            sharedCache.evict(username, 0);
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationInvalidationEvent event) {
+        if (event.isGlobal()) {
+            cache.invalidateAll();
+            if (sharedCache != null)
+                sharedCache.evictAll();
+            return;
+        }
+
+        if (event.getVersion() > 0)
+            versionFloors.asMap().merge(event.getUsername(), event.getVersion(), Math::max);
+        cache.invalidate(event.getUsername());
+        if (sharedCache != null)
+            sharedCache.evict(event.getUsername(), event.getVersion());
+    }
+
+    /**
+     * Get the underlying cache, for metrics binding.
+     *
+     * @return The Caffeine cache holding loaded users.
+     */
+    public LoadingCache<String, UserDetails> getCache() {
+        return cache;
+    }
+
+    private boolean isCurrent(UserDetails user) {
+        Long floor = versionFloors.getIfPresent(user.getUsername());
+        return floor == null || (user instanceof ApplicationUser applicationUser
+                && applicationUser.getVersion() >= floor);
+    }
+}
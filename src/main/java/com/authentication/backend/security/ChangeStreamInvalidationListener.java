@@ -0,0 +1,97 @@
+package com.authentication.backend.security;
+
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.repository.RoleCatalog;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Listens to MongoDB change streams on the {@code users} and {@code roles}
+ * collections and publishes {@link AuthenticationInvalidationEvent}s, so
+ * caches are invalidated even when documents are changed by another instance
+ * or outside the application. Role changes also reload the {@link RoleCatalog},
+ * and changes of the {@code authorization_rules} collection recompile the
+ * {@link PathRuleAuthorizationManager}.
+ *
+ * <p>
+ * Change streams require a replica set, so the listener is only started when
+ * {@code authentication.user-cache.change-streams-enabled} is set.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@ConditionalOnProperty(name = "authentication.user-cache.change-streams-enabled", havingValue = "true")
+public class ChangeStreamInvalidationListener implements SmartLifecycle {
+
+    private final MessageListenerContainer container;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final RoleCatalog roleCatalog;
+
+    private final ObjectProvider<PathRuleAuthorizationManager> pathRules;
+
+    public ChangeStreamInvalidationListener(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+            RoleCatalog roleCatalog, ObjectProvider<PathRuleAuthorizationManager> pathRules) {
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+        this.eventPublisher = eventPublisher;
+        this.roleCatalog = roleCatalog;
+        this.pathRules = pathRules;
+    }
+
+    @Override
+    public void start() {
+        container.register(ChangeStreamRequest.builder(this::onUserChange)
+                .collection("users")
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build(), Document.class);
+        container.register(ChangeStreamRequest.builder(this::onRoleChange)
+                .collection("roles")
+                .build(), Document.class);
+        container.register(ChangeStreamRequest.builder(this::onAuthorizationRuleChange)
+                .collection("authorization_rules")
+                .build(), Document.class);
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container.isRunning();
+    }
+
+    private void onUserChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        Document user = message.getBody();
+        OperationType operation = message.getRaw() == null ? null : message.getRaw().getOperationType();
+        if (user != null && user.getString("user_name") != null && operation != OperationType.DELETE)
+            eventPublisher.publishEvent(AuthenticationInvalidationEvent.forUser(this, user.getString("user_name")));
+        else
+            eventPublisher.publishEvent(AuthenticationInvalidationEvent.forAll(this));
+    }
+
+    private void onRoleChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        roleCatalog.reload();
+        eventPublisher.publishEvent(AuthenticationInvalidationEvent.forAll(this));
+    }
+
+    private void onAuthorizationRuleChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        pathRules.ifAvailable(PathRuleAuthorizationManager::reload);
+    }
+}
@@ -0,0 +1,226 @@
+package com.authentication.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.authentication.backend.configurations.SessionProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.RoleCatalog;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * {@link SecurityContextRepository} keeping the authenticated
+ * {@link ApplicationUser} in a server-side session, identified by a random
+ * session id sent as an HTTP-only cookie.
+ *
+ * <p>
+ * A session is opened when a login to {@value #LOGIN_PATH} succeeds, or any
+ * other login of a request already carrying a session cookie, e.g. one that
+ * expired. Other logins, such as HTTP Basic clients that never send cookies,
+ * open no session, so they cost no store write or cookie. A session restores
+ * the user on later requests carrying the cookie without verifying the password again: a lookup
+ * in the {@link SessionStore} and the decoding of a few dozen bytes with the
+ * {@link CompactSessionCodec}. The store only knows the SHA-256 hash of the
+ * session id, so a leaked store cannot be replayed as cookies.
+ * </p>
+ *
+ * <p>
+ * Sessions are removed on logout, and every session of a user is removed on an
+ * {@link AuthenticationInvalidationEvent}, i.e. when the user's password or
+ * roles change.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class CompactSecurityContextRepository implements SecurityContextRepository, LogoutHandler,
+        ApplicationListener<AuthenticationInvalidationEvent> {
+
+    /**
+     * Path of the endpoint whose successful logins always open a session.
+     */
+    public static final String LOGIN_PATH = "/api/auth/login";
+
+    private static final RequestMatcher LOGIN_REQUEST = new AntPathRequestMatcher(LOGIN_PATH, "POST");
+
+    private static final String SESSION_ATTRIBUTE = CompactSecurityContextRepository.class.getName() + ".SESSION";
+
+    private static final int SESSION_ID_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+            .getContextHolderStrategy();
+
+    private final SessionStore store;
+
+    private final RoleCatalog roleCatalog;
+
+    private final SessionProperties properties;
+
+    /**
+     * Create the repository.
+     *
+     * @param store       The keeper of the sessions.
+     * @param roleCatalog The catalog session roles are resolved through.
+     * @param properties  The cookie settings.
+     */
+    public CompactSecurityContextRepository(SessionStore store, RoleCatalog roleCatalog,
+            SessionProperties properties) {
+        this.store = store;
+        this.roleCatalog = roleCatalog;
+        this.properties = properties;
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new SessionSecurityContext(() -> load(request));
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof ApplicationUser user))
+            return;
+        if (request.getAttribute(SESSION_ATTRIBUTE) instanceof String username && username.equals(user.getUsername()))
+            return;
+        if (!LOGIN_REQUEST.matches(request) && sessionId(request) == null)
+            return;
+
+        byte[] id = new byte[SESSION_ID_BYTES];
+        random.nextBytes(id);
+        String sessionId = Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+        store.save(hash(sessionId), user.getUsername(), CompactSessionCodec.encode(user));
+        request.setAttribute(SESSION_ATTRIBUTE, user.getUsername());
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(sessionId, -1).toString());
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        String sessionId = sessionId(request);
+        return sessionId != null && store.find(hash(sessionId)) != null;
+    }
+
+    /**
+     * Remove the session of the request, and expire its cookie.
+     */
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String sessionId = sessionId(request);
+        if (sessionId == null)
+            return;
+        store.remove(hash(sessionId));
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie("", 0).toString());
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationInvalidationEvent event) {
+        if (event.isGlobal())
+            store.removeAll();
+        else
+            store.removeByUsername(event.getUsername());
+    }
+
+    private SecurityContext load(HttpServletRequest request) {
+        String sessionId = sessionId(request);
+        byte[] session = sessionId == null ? null : store.find(hash(sessionId));
+        ApplicationUser user = session == null ? null : CompactSessionCodec.decode(session, roleCatalog);
+        if (user == null)
+            return null;
+
+        request.setAttribute(SESSION_ATTRIBUTE, user.getUsername());
+        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+        return context;
+    }
+
+    private String sessionId(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null)
+            return null;
+        for (Cookie cookie : cookies) {
+            if (properties.cookieName().equals(cookie.getName()) && !cookie.getValue().isEmpty())
+                return cookie.getValue();
+        }
+        return null;
+    }
+
+    private ResponseCookie cookie(String value, long maxAge) {
+        return ResponseCookie.from(properties.cookieName(), value)
+                .httpOnly(true)
+                .secure(properties.secureCookie())
+                .sameSite("Strict")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private static String hash(String sessionId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sessionId.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Security context loaded from the session on first use, or an empty
+     * context if the request has no valid session.
+     */
+    private final class SessionSecurityContext implements DeferredSecurityContext {
+
+        private final Supplier<SecurityContext> context;
+
+        private boolean generated;
+
+        SessionSecurityContext(Supplier<SecurityContext> loader) {
+            this.context = SingletonSupplier.of(() -> {
+                SecurityContext loaded = loader.get();
+                if (loaded != null)
+                    return loaded;
+                generated = true;
+                return securityContextHolderStrategy.createEmptyContext();
+            });
+        }
+
+        @Override
+        public SecurityContext get() {
+            return context.get();
+        }
+
+        @Override
+        public boolean isGenerated() {
+            context.get();
+            return generated;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.authentication.backend.security;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+
+/**
+ * Compact binary encoding of a session's {@link ApplicationUser}: the user id,
+ * the username and the ids of the user's roles.
+ *
+ * <p>
+ * Unlike Java serialization of the entity, neither the password hash nor the
+ * role documents are stored; a session of a user with a few roles takes well
+ * under a hundred bytes. Roles are resolved through the {@link RoleCatalog} on
+ * decoding, so renamed roles apply to open sessions. Roles without an id are
+ * stored by authority instead, and roles since deleted are dropped.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public final class CompactSessionCodec {
+
+    private static final int VERSION = 1;
+
+    private static final int ROLE_ID = 0;
+
+    private static final int ROLE_AUTHORITY = 1;
+
+    private CompactSessionCodec() {
+    }
+
+    /**
+     * Encode the session of a user.
+     *
+     * @param user The authenticated user.
+     * @return The encoded session.
+     */
+    public static byte[] encode(ApplicationUser user) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(user.getUserId() == null ? "" : user.getUserId());
+            out.writeUTF(user.getUsername());
+            out.writeShort(user.getAuthorities().size());
+            for (GrantedAuthority authority : user.getAuthorities()) {
+                if (authority instanceof Role role && role.getRoleId() != null) {
+                    out.writeByte(ROLE_ID);
+                    out.writeUTF(role.getRoleId());
+                } else {
+                    out.writeByte(ROLE_AUTHORITY);
+                    out.writeUTF(authority.getAuthority());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a session into a user without password, with its authority bitset
+     * precomputed.
+     *
+     * @param session     The encoded session.
+     * @param roleCatalog The catalog the roles are resolved through.
+     * @return The user, or {@code null} if the session has an unknown format.
+     */
+    public static ApplicationUser decode(byte[] session, RoleCatalog roleCatalog) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(session))) {
+            if (in.readByte() != VERSION)
+                return null;
+            String userId = in.readUTF();
+            String username = in.readUTF();
+            int count = in.readShort();
+            Set<Role> roles = new HashSet<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                int kind = in.readByte();
+                String value = in.readUTF();
+                Role role = kind == ROLE_ID ? roleCatalog.findById(value).orElse(null)
+                        : roleCatalog.findByAuthority(value).orElseGet(() -> new Role(value));
+                if (role != null)
+                    roles.add(role);
+            }
+
+            ApplicationUser user = new ApplicationUser(username, null, roles);
+            user.setUserId(userId.isEmpty() ? null : userId);
+            user.setAuthoritySet(roleCatalog.authoritySet(roles));
+            return user;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
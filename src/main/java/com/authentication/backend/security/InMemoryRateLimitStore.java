@@ -0,0 +1,78 @@
+package com.authentication.backend.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@link RateLimitStore} keeping buckets in memory, so quotas only hold per
+ * node.
+ *
+ * <p>
+ * A bucket is one {@link AtomicLong} advanced with compare-and-set, so taking a
+ * token takes no lock and, once the bucket exists, does not allocate. Buckets
+ * are held in a Caffeine cache bounded by the maximum number of keys, and
+ * expire once idle for the refill horizon, the longest quota period: by then
+ * they have refilled completely and carry no state a new bucket would not.
+ * Past the maximum, the cache may evict a bucket that has not refilled yet,
+ * granting its user a fresh burst.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    private final LongSupplier nanoClock;
+
+    public InMemoryRateLimitStore(long maximumKeys, Duration refillHorizon) {
+        this(maximumKeys, refillHorizon, System::nanoTime);
+    }
+
+    /**
+     * Create an empty store on the given clock.
+     *
+     * @param maximumKeys   Number of buckets kept at most.
+     * @param refillHorizon Time after which an idle bucket has refilled
+     *                      completely, i.e. the longest quota period.
+     * @param nanoClock     Source of the current time, in nanoseconds.
+     */
+    public InMemoryRateLimitStore(long maximumKeys, Duration refillHorizon, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(refillHorizon)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, long capacity, long intervalNanos) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+
+        long tolerance = (capacity - 1) * intervalNanos;
+        while (true) {
+            long arrival = bucket.get();
+            long start = Math.max(arrival, now);
+            if (start - now > tolerance)
+                return RateLimitDecision.of(false, capacity, intervalNanos, start - now);
+            if (bucket.compareAndSet(arrival, start + intervalNanos))
+                return RateLimitDecision.of(true, capacity, intervalNanos, start + intervalNanos - now);
+        }
+    }
+
+    /**
+     * Get the number of buckets held, once pending evictions have run.
+     *
+     * @return The number of buckets.
+     */
+    public long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,98 @@
+package com.authentication.backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * {@link AuthenticationManager} recording the duration and outcome of every
+ * authentication, in the {@link AuthenticationMetrics} and as a structured log
+ * event.
+ *
+ * <p>
+ * The delegate must report unknown users with a
+ * {@link UsernameNotFoundException}, so they can be told apart from wrong
+ * passwords. The exception is translated to a
+ * {@link BadCredentialsException} before it leaves this manager, so callers
+ * still cannot tell the two apart. Every other failure, a lockout, a disabled
+ * user or a saturated hashing executor, is recorded too, as {@code locked} or
+ * {@code other}. The outcome is also stored on the current request for the
+ * {@link AuthenticationMetricsFilter}.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class InstrumentedAuthenticationManager implements AuthenticationManager {
+
+    /**
+     * Request attribute holding the {@link AuthenticationOutcome} of the
+     * request.
+     */
+    public static final String OUTCOME_ATTRIBUTE = InstrumentedAuthenticationManager.class.getName() + ".outcome";
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedAuthenticationManager.class);
+
+    private final AuthenticationManager delegate;
+
+    private final AuthenticationMetrics metrics;
+
+    /**
+     * Create the manager.
+     *
+     * @param delegate The manager doing the actual work.
+     * @param metrics  The metrics authentications are recorded in.
+     */
+    public InstrumentedAuthenticationManager(AuthenticationManager delegate, AuthenticationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        long start = System.nanoTime();
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            record(AuthenticationOutcome.SUCCESS, authentication, start);
+            return result;
+        } catch (UsernameNotFoundException e) {
+            record(AuthenticationOutcome.UNKNOWN_USER, authentication, start);
+            throw new BadCredentialsException("Bad credentials", e);
+        } catch (BadCredentialsException e) {
+            record(AuthenticationOutcome.BAD_CREDENTIALS, authentication, start);
+            throw e;
+        } catch (LoginThrottledException e) {
+            record(AuthenticationOutcome.THROTTLED, authentication, start);
+            throw e;
+        } catch (LockedException e) {
+            record(AuthenticationOutcome.LOCKED, authentication, start);
+            throw e;
+        } catch (AuthenticationException e) {
+            record(AuthenticationOutcome.OTHER, authentication, start);
+            throw e;
+        }
+    }
+
+    private void record(AuthenticationOutcome outcome, Authentication authentication, long start) {
+        long nanos = System.nanoTime() - start;
+        metrics.recordAttempt(outcome, nanos);
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null)
+            request.setAttribute(OUTCOME_ATTRIBUTE, outcome, RequestAttributes.SCOPE_REQUEST);
+
+        // Failures are logged at info so that credential stuffing shows up in
+        // the logs; successes only at debug to keep the hot path quiet.
+        (outcome == AuthenticationOutcome.SUCCESS ? log.atDebug() : log.atInfo())
+                .addKeyValue("outcome", outcome.tag())
+                .addKeyValue("username", authentication.getName())
+                .addKeyValue("duration_ms", nanos / 1_000_000.0)
+                .log("Authentication attempt");
+    }
+}
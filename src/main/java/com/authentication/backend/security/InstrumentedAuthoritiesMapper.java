@@ -0,0 +1,49 @@
+package com.authentication.backend.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
+import org.springframework.security.core.authority.mapping.NullAuthoritiesMapper;
+
+/**
+ * {@link GrantedAuthoritiesMapper} recording how long the mapping of the
+ * authorities of an authenticated user takes. The authorities are passed
+ * through unchanged by default.
+ *
+ * @author Tejaswee Gaur
+ */
+public class InstrumentedAuthoritiesMapper implements GrantedAuthoritiesMapper {
+
+    private final GrantedAuthoritiesMapper delegate;
+
+    private final AuthenticationMetrics metrics;
+
+    /**
+     * Create a mapper passing authorities through unchanged.
+     *
+     * @param metrics The metrics mappings are recorded in.
+     */
+    public InstrumentedAuthoritiesMapper(AuthenticationMetrics metrics) {
+        this(new NullAuthoritiesMapper(), metrics);
+    }
+
+    /**
+     * Create a mapper around the given mapper.
+     *
+     * @param delegate The mapper doing the actual work.
+     * @param metrics  The metrics mappings are recorded in.
+     */
+    public InstrumentedAuthoritiesMapper(GrantedAuthoritiesMapper delegate, AuthenticationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> mapAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        long start = System.nanoTime();
+        Collection<? extends GrantedAuthority> mapped = delegate.mapAuthorities(authorities);
+        metrics.recordAuthorityMapping(System.nanoTime() - start);
+        return mapped;
+    }
+}
@@ -0,0 +1,45 @@
+package com.authentication.backend.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} recording the duration and outcome of every password
+ * verification in the {@link AuthenticationMetrics}.
+ *
+ * @author Tejaswee Gaur
+ */
+public class InstrumentedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final AuthenticationMetrics metrics;
+
+    /**
+     * Create the encoder.
+     *
+     * @param delegate The encoder doing the actual work.
+     * @param metrics  The metrics verifications are recorded in.
+     */
+    public InstrumentedPasswordEncoder(PasswordEncoder delegate, AuthenticationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matched = delegate.matches(rawPassword, encodedPassword);
+        metrics.recordPasswordMatch(matched, System.nanoTime() - start);
+        return matched;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,90 @@
+package com.authentication.backend.security;
+
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.InvalidationBus.Invalidation;
+
+/**
+ * Bridges the {@link AuthenticationInvalidationEvent}s of this node and an
+ * {@link InvalidationBus}.
+ *
+ * <p>
+ * Events originating on this node are sent over the bus; invalidations of
+ * other nodes are published as local events, so every cache on the
+ * authentication path is invalidated as if the change had been made here. As
+ * a node cannot tell a role change from other global invalidations, the
+ * {@link RoleCatalog} is reloaded on every remote global invalidation. Events
+ * from the {@link ChangeStreamInvalidationListener} already reach every node
+ * and are not forwarded.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class InvalidationBroadcaster implements ApplicationListener<AuthenticationInvalidationEvent>, SmartLifecycle {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final InvalidationBus bus;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final RoleCatalog roleCatalog;
+
+    private volatile boolean running;
+
+    /**
+     * Create the bridge of this node.
+     *
+     * @param bus            The bus invalidations are exchanged over.
+     * @param eventPublisher The publisher of the local events.
+     * @param roleCatalog    The catalog reloaded on remote global
+     *                       invalidations, or {@code null}.
+     */
+    public InvalidationBroadcaster(InvalidationBus bus, ApplicationEventPublisher eventPublisher,
+            RoleCatalog roleCatalog) {
+        this.bus = bus;
+        this.eventPublisher = eventPublisher;
+        this.roleCatalog = roleCatalog;
+        bus.subscribe(this::receive);
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationInvalidationEvent event) {
+        if (event.getSource() == this || event.getSource() instanceof ChangeStreamInvalidationListener)
+            return;
+        bus.publish(new Invalidation(nodeId, event.getUsername(), event.getVersion()));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void receive(Invalidation invalidation) {
+        if (!running || nodeId.equals(invalidation.origin()))
+            return;
+        if (invalidation.username() != null) {
+            eventPublisher.publishEvent(
+                    AuthenticationInvalidationEvent.forUser(this, invalidation.username(), invalidation.version()));
+            return;
+        }
+        if (roleCatalog != null)
+            roleCatalog.reload();
+        eventPublisher.publishEvent(AuthenticationInvalidationEvent.forAll(this));
+    }
+}
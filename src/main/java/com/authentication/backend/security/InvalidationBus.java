@@ -0,0 +1,45 @@
+package com.authentication.backend.security;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel broadcasting {@link AuthenticationInvalidationEvent}s between the
+ * nodes of a deployment, for databases without change streams or changes that
+ * are not visible in them.
+ *
+ * <p>
+ * Every node publishes the invalidations it originates and receives those of
+ * every node, its own included; the {@link InvalidationBroadcaster} bridges the
+ * bus and the local application events.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public interface InvalidationBus {
+
+    /**
+     * Send an invalidation to every node.
+     *
+     * @param invalidation The invalidation.
+     */
+    void publish(Invalidation invalidation);
+
+    /**
+     * Register a receiver of the invalidations of every node.
+     *
+     * @param receiver Called with each invalidation, on a thread of the bus.
+     */
+    void subscribe(Consumer<Invalidation> receiver);
+
+    /**
+     * An invalidation as sent over the bus.
+     *
+     * @param origin   The id of the node it was published by.
+     * @param username The username whose cached state must be dropped, or
+     *                 {@code null} for every user.
+     * @param version  The version of the user after the change, or {@code 0} if
+     *                 unknown.
+     */
+    record Invalidation(String origin, String username, long version) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.authentication.backend.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.configurations.LoginThrottlingProperties;
+
+/**
+ * Counts failed logins per username and per client address over a sliding
+ * window, and locks out either once it exceeds its threshold.
+ *
+ * <p>
+ * Failures are held in two {@link SlidingWindowCounters}, each bounded to
+ * {@code max-tracked-keys} keys however many usernames or addresses an attack
+ * cycles through. Counts are exact, so failures sprayed across many usernames
+ * never lock out a username that did not fail itself. Past the bound, rarely
+ * failing keys are evicted first. A lockout ends, without any explicit unlock,
+ * once enough failures have left the window.
+ * </p>
+ *
+ * <p>
+ * Usernames are counted case-insensitively, so case variants of a username
+ * share one budget.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@ConditionalOnProperty(name = "authentication.login-throttling.enabled", matchIfMissing = true)
+public class LoginThrottle {
+
+    private final LoginThrottlingProperties properties;
+
+    private final SlidingWindowCounters usernameFailures;
+
+    private final SlidingWindowCounters addressFailures;
+
+    @Autowired
+    public LoginThrottle(LoginThrottlingProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    /**
+     * Create the throttle on the given clock.
+     *
+     * @param properties Window and threshold settings.
+     * @param nanoClock  Source of the current time, in nanoseconds.
+     */
+    public LoginThrottle(LoginThrottlingProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.usernameFailures = new SlidingWindowCounters(properties.windowSlices(), properties.window(),
+                properties.maxTrackedKeys(), nanoClock);
+        this.addressFailures = new SlidingWindowCounters(properties.windowSlices(), properties.window(),
+                properties.maxTrackedKeys(), nanoClock);
+    }
+
+    /**
+     * Count a failed login.
+     *
+     * @param username The presented username, or {@code null} if unknown.
+     * @param address  The client address, or {@code null} if unknown.
+     */
+    public void recordFailure(String username, String address) {
+        if (username != null)
+            usernameFailures.increment(username.toLowerCase(Locale.ROOT));
+        if (address != null)
+            addressFailures.increment(address);
+    }
+
+    /**
+     * Get how long logins of the username are locked out.
+     *
+     * @param username The presented username.
+     * @return The time until the lockout can be lifted, or {@link Duration#ZERO}
+     *         if logins are accepted.
+     */
+    public Duration usernameLockout(String username) {
+        if (username == null
+                || usernameFailures.count(username.toLowerCase(Locale.ROOT)) < properties.maxUsernameFailures())
+            return Duration.ZERO;
+        return usernameFailures.untilNextSlice();
+    }
+
+    /**
+     * Get how long logins from the client address are locked out.
+     *
+     * @param address The client address.
+     * @return The time until the lockout can be lifted, or {@link Duration#ZERO}
+     *         if logins are accepted.
+     */
+    public Duration addressLockout(String address) {
+        if (address == null || addressFailures.count(address) < properties.maxAddressFailures())
+            return Duration.ZERO;
+        return addressFailures.untilNextSlice();
+    }
+
+    /**
+     * Get the earliest time the username's lockout can be lifted, as exposed
+     * through {@code UserDetails.isAccountNonLocked()}.
+     *
+     * @param username The username.
+     * @return The end of the lockout, or {@code null} if the username is not
+     *         locked out.
+     */
+    public Instant lockedUntil(String username) {
+        Duration lockout = usernameLockout(username);
+        return lockout.isZero() ? null : Instant.now().plus(lockout);
+    }
+}
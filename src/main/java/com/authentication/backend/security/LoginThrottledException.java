@@ -0,0 +1,31 @@
+package com.authentication.backend.security;
+
+import java.time.Duration;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Thrown when a login is rejected, before its password is verified, because of
+ * too many recent failed logins of the username or from the client address.
+ * Reported to the client as a 429 with a Retry-After header.
+ *
+ * @author Tejaswee Gaur
+ */
+public class LoginThrottledException extends AuthenticationException {
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Get the time after which the login may be accepted again.
+     *
+     * @return The earliest time the lockout can be lifted.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
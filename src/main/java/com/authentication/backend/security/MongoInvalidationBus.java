@@ -0,0 +1,165 @@
+package com.authentication.backend.security;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * {@link InvalidationBus} over the capped {@code cache_invalidations}
+ * collection.
+ *
+ * <p>
+ * Every node appends its invalidations to the collection and follows it with
+ * a tailable cursor, which unlike change streams also works on a standalone
+ * MongoDB server. A node starts following at the end of the collection. When
+ * it resumes after an error and its last message has already been overwritten,
+ * it cannot know what it missed and delivers a global invalidation instead.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class MongoInvalidationBus implements InvalidationBus, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoInvalidationBus.class);
+
+    static final String COLLECTION = "cache_invalidations";
+
+    private static final long COLLECTION_BYTES = 1024 * 1024;
+
+    private static final long RETRY_MILLIS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final List<Consumer<Invalidation>> receivers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+
+    private Thread follower;
+
+    public MongoInvalidationBus(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        collection().insertOne(new Document("origin", invalidation.origin())
+                .append("user_name", invalidation.username())
+                .append("version", invalidation.version()));
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        follower = new Thread(this::follow, "invalidation-bus");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (follower != null)
+            follower.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void follow() {
+        Object resumeAfter = null;
+        boolean started = false;
+        while (running) {
+            try {
+                if (!started) {
+                    createCollection();
+                    resumeAfter = lastMessageId();
+                }
+                try (MongoCursor<Document> cursor = collection().find().cursorType(CursorType.TailableAwait)
+                        .iterator()) {
+                    boolean skipping = resumeAfter != null;
+                    boolean resumed = started;
+                    started = true;
+                    while (running) {
+                        Document message = cursor.tryNext();
+                        if (message == null) {
+                            if (skipping && resumed)
+                                deliver(new Invalidation(null, null, 0));
+                            skipping = false;
+                            if (cursor.getServerCursor() == null)
+                                break;
+                            continue;
+                        }
+                        if (skipping) {
+                            skipping = !message.get("_id").equals(resumeAfter);
+                            continue;
+                        }
+                        resumeAfter = message.get("_id");
+                        deliver(new Invalidation(message.getString("origin"), message.getString("user_name"),
+                                message.getLong("version")));
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Following {} failed, retrying", COLLECTION, e);
+            }
+            pause();
+        }
+    }
+
+    private void createCollection() {
+        if (mongoTemplate.collectionExists(COLLECTION))
+            return;
+        try {
+            mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty().capped().size(COLLECTION_BYTES));
+        } catch (DataAccessException e) {
+            // Created by another node in the meantime.
+            log.debug("Could not create {}", COLLECTION, e);
+        }
+    }
+
+    private Object lastMessageId() {
+        Document last = collection().find().sort(new Document("$natural", -1)).limit(1).first();
+        return last == null ? null : last.get("_id");
+    }
+
+    private void deliver(Invalidation invalidation) {
+        for (Consumer<Invalidation> receiver : receivers) {
+            try {
+                receiver.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Delivering {} failed", invalidation, e);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
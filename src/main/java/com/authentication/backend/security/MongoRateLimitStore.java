@@ -0,0 +1,96 @@
+package com.authentication.backend.security;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import com.authentication.backend.migrations.DatabaseInitializer;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+
+/**
+ * {@link RateLimitStore} keeping buckets in the {@code rate_limits}
+ * collection, so quotas hold across all nodes.
+ *
+ * <p>
+ * Taking a token is a single {@code findOneAndUpdate} with an update pipeline
+ * evaluated on the server against the server clock ({@code $$NOW}), so nodes
+ * neither race nor need synchronised clocks. Arrival times are kept in
+ * microseconds. A bucket document expires through a TTL index once the bucket
+ * has refilled completely.
+ * </p>
+ *
+ * <p>
+ * Each request costs a round trip to the database, so this store trades the
+ * latency of the in-memory store for quotas shared across nodes.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class MongoRateLimitStore implements RateLimitStore, DatabaseInitializer {
+
+    static final String COLLECTION = "rate_limits";
+
+    private static final FindOneAndUpdateOptions UPSERT = new FindOneAndUpdateOptions().upsert(true)
+            .returnDocument(ReturnDocument.AFTER);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoRateLimitStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Create the TTL index removing buckets once they are full again.
+     */
+    @Override
+    public void initialize() {
+        mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index().on("expires_at", Sort.Direction.ASC).expire(0, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, long capacity, long intervalNanos) {
+        long interval = Math.max(1, TimeUnit.NANOSECONDS.toMicros(intervalNanos));
+        long tolerance = (capacity - 1) * interval;
+        List<Document> pipeline = List.of(
+                new Document("$set", new Document("now",
+                        new Document("$multiply", List.of(new Document("$toLong", "$$NOW"), 1000L)))),
+                new Document("$set", new Document("start",
+                        new Document("$max", List.of(new Document("$ifNull", List.of("$tat", 0L)), "$now")))),
+                new Document("$set", new Document("allowed", new Document("$lte",
+                        List.of(new Document("$subtract", List.of("$start", "$now")), tolerance)))),
+                new Document("$set", new Document("tat",
+                        new Document("$cond", List.of("$allowed", new Document("$add", List.of("$start", interval)),
+                                "$tat")))),
+                new Document("$set", new Document("expires_at", new Document("$toDate",
+                        new Document("$toLong", new Document("$divide", List.of("$tat", 1000L)))))),
+                new Document("$unset", "start"));
+
+        Document bucket;
+        try {
+            bucket = findOneAndUpdate(key, pipeline);
+        } catch (MongoCommandException e) {
+            // Two nodes created the bucket at once, the loser retries on the
+            // winner's document.
+            if (ErrorCategory.fromErrorCode(e.getErrorCode()) != ErrorCategory.DUPLICATE_KEY)
+                throw e;
+            bucket = findOneAndUpdate(key, pipeline);
+        }
+
+        long backlog = TimeUnit.MICROSECONDS.toNanos(bucket.getLong("tat") - bucket.getLong("now"));
+        return RateLimitDecision.of(bucket.getBoolean("allowed"), capacity, TimeUnit.MICROSECONDS.toNanos(interval),
+                backlog);
+    }
+
+    private Document findOneAndUpdate(String key, List<Document> pipeline) {
+        return mongoTemplate.getCollection(COLLECTION).findOneAndUpdate(Filters.eq("_id", key), pipeline, UPSERT);
+    }
+}
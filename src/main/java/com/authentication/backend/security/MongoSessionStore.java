@@ -0,0 +1,112 @@
+package com.authentication.backend.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import com.authentication.backend.migrations.DatabaseInitializer;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+
+/**
+ * {@link SessionStore} keeping sessions in the {@code sessions} collection, so
+ * sessions are shared by all nodes.
+ *
+ * <p>
+ * Sessions expire through a TTL index on {@code expires_at}. As the TTL
+ * monitor only runs periodically, expired sessions are also filtered out on
+ * read. To spare a write per request, the expiry is only pushed back once less
+ * than half of the idle timeout is left.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class MongoSessionStore implements SessionStore, DatabaseInitializer {
+
+    static final String COLLECTION = "sessions";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Duration idleTimeout;
+
+    private final Clock clock;
+
+    public MongoSessionStore(MongoTemplate mongoTemplate, Duration idleTimeout) {
+        this(mongoTemplate, idleTimeout, Clock.systemUTC());
+    }
+
+    /**
+     * Create the store on the given clock.
+     *
+     * @param mongoTemplate The template sessions are stored through.
+     * @param idleTimeout   Time after its last access a session expires.
+     * @param clock         Source of the current time.
+     */
+    public MongoSessionStore(MongoTemplate mongoTemplate, Duration idleTimeout, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Create the TTL index on the session expiry and the index on the username
+     * sessions are removed by.
+     */
+    @Override
+    public void initialize() {
+        mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index().on("expires_at", Sort.Direction.ASC).expire(0, TimeUnit.SECONDS));
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index().on("user_name", Sort.Direction.ASC));
+    }
+
+    @Override
+    public void save(String key, String username, byte[] session) {
+        collection().insertOne(new Document("_id", key)
+                .append("user_name", username)
+                .append("data", new Binary(session))
+                .append("expires_at", Date.from(clock.instant().plus(idleTimeout))));
+    }
+
+    @Override
+    public byte[] find(String key) {
+        Instant now = clock.instant();
+        Document document = collection().find(Filters.and(Filters.eq("_id", key),
+                Filters.gt("expires_at", Date.from(now)))).first();
+        if (document == null)
+            return null;
+
+        Instant expiresAt = document.getDate("expires_at").toInstant();
+        if (Duration.between(now, expiresAt).compareTo(idleTimeout.dividedBy(2)) < 0)
+            collection().updateOne(Filters.eq("_id", key),
+                    Updates.set("expires_at", Date.from(now.plus(idleTimeout))));
+        return document.get("data", Binary.class).getData();
+    }
+
+    @Override
+    public void remove(String key) {
+        collection().deleteOne(Filters.eq("_id", key));
+    }
+
+    @Override
+    public void removeByUsername(String username) {
+        collection().deleteMany(Filters.eq("user_name", username));
+    }
+
+    @Override
+    public void removeAll() {
+        collection().deleteMany(new Document());
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
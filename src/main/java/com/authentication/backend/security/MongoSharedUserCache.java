@@ -0,0 +1,172 @@
+package com.authentication.backend.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.authentication.backend.migrations.DatabaseInitializer;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.RoleCatalog;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+
+/**
+ * {@link SharedUserCache} keeping users in the {@code user_cache} collection,
+ * keyed by username.
+ *
+ * <p>
+ * Users are stored as a compact session with their version, so a node missing
+ * a user in its near cache reads a single small document with its roles
+ * already resolved, instead of going through the collation-aware username
+ * index. Password hashes are never copied into the collection: the hash is
+ * read from the {@code users} document by id, and only if that document is
+ * still at the cached version, so the cache holds nothing secret and never
+ * verifies a password against an outdated hash.
+ * </p>
+ *
+ * <p>
+ * Writes are conditional on the stored version: an upsert whose filter does
+ * not match a more recent entry fails on the duplicate {@code _id}, which is
+ * how an outdated copy is rejected. Entries and tombstones expire through a
+ * TTL index on {@code expires_at}.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class MongoSharedUserCache implements SharedUserCache, DatabaseInitializer {
+
+    static final String COLLECTION = "user_cache";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final RoleCatalog roleCatalog;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    public MongoSharedUserCache(MongoTemplate mongoTemplate, RoleCatalog roleCatalog, Duration timeToLive) {
+        this(mongoTemplate, roleCatalog, timeToLive, Clock.systemUTC());
+    }
+
+    /**
+     * Create the cache on the given clock.
+     *
+     * @param mongoTemplate The template users are stored through.
+     * @param roleCatalog   The catalog the roles of cached users are resolved
+     *                      through.
+     * @param timeToLive    Time after which an entry or tombstone expires.
+     * @param clock         Source of the current time.
+     */
+    public MongoSharedUserCache(MongoTemplate mongoTemplate, RoleCatalog roleCatalog, Duration timeToLive,
+            Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.roleCatalog = roleCatalog;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Create the TTL index on the entry expiry.
+     */
+    @Override
+    public void initialize() {
+        mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index().on("expires_at", Sort.Direction.ASC).expire(0, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public ApplicationUser get(String username) {
+        Document document = collection().find(Filters.and(Filters.eq("_id", username),
+                Filters.exists("data"), Filters.gt("expires_at", Date.from(clock.instant())))).first();
+        if (document == null)
+            return null;
+
+        ApplicationUser user = CompactSessionCodec.decode(document.get("data", Binary.class).getData(), roleCatalog);
+        if (user == null)
+            return null;
+        long version = document.getLong("version");
+        String password = password(user.getUserId(), version);
+        if (password == null)
+            return null;
+        user.setPassword(password);
+        user.setVersion(version);
+        return user;
+    }
+
+    @Override
+    public void put(ApplicationUser user) {
+        upsert(user.getUsername(), user.getVersion(), Updates.combine(
+                Updates.set("version", user.getVersion()),
+                Updates.set("data", new Binary(CompactSessionCodec.encode(user))),
+                // Scrubs the hash from entries written by earlier versions.
+                Updates.unset("password"),
+                Updates.set("expires_at", expiry())));
+    }
+
+    @Override
+    public void evict(String username, long version) {
+        if (version <= 0) {
+            collection().deleteOne(Filters.eq("_id", username));
+            return;
+        }
+        upsert(username, version, Updates.combine(
+                Updates.set("version", version),
+                Updates.unset("data"),
+                Updates.unset("password"),
+                Updates.set("expires_at", expiry())));
+    }
+
+    @Override
+    public void evictAll() {
+        collection().deleteMany(new Document());
+    }
+
+    private void upsert(String username, long version, Bson update) {
+        try {
+            collection().updateOne(Filters.and(Filters.eq("_id", username), Filters.lte("version", version)),
+                    update, new UpdateOptions().upsert(true));
+        } catch (MongoWriteException e) {
+            // A more recent entry or tombstone exists.
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY)
+                throw e;
+        }
+    }
+
+    /**
+     * Read the password hash of a user from the {@code users} collection.
+     *
+     * @param userId  The id of the user.
+     * @param version The version the user must still be at.
+     * @return The password hash, or {@code null} if the user no longer exists
+     *         or changed since it was cached.
+     */
+    private String password(String userId, long version) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("version").is(version));
+        query.fields().include("password");
+        ApplicationUser stored = mongoTemplate.findOne(query, ApplicationUser.class);
+        return stored == null ? null : stored.getPassword();
+    }
+
+    private Date expiry() {
+        return Date.from(clock.instant().plus(timeToLive));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
@@ -0,0 +1,149 @@
+package com.authentication.backend.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.authentication.backend.configurations.PasswordEncodingProperties;
+import com.authentication.backend.configurations.PasswordEncodingProperties.Algorithm;
+
+/**
+ * Builds the {@link DelegatingPasswordEncoder} of the application, with the
+ * cost of the configured algorithm calibrated to a target verification time on
+ * the current hardware.
+ *
+ * <p>
+ * Hashes are prefixed with their algorithm id, e.g. {@code {bcrypt}}. Stored
+ * hashes without a prefix are verified as BCrypt, and every hash of another
+ * algorithm or below the minimum cost is reported as needing an upgrade, so
+ * it is re-encoded on the next successful login.
+ * </p>
+ *
+ * <p>
+ * The calibration only sets the cost of new hashes, and never goes below
+ * 10 BCrypt rounds or 2 Argon2 iterations. The minimum cost stored hashes
+ * are upgraded to is the fixed cost if one is configured, otherwise that
+ * floor, so it is the same on every node whatever their calibration.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public final class PasswordEncoderCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderCalibrator.class);
+
+    private static final int BCRYPT_PROBE_STRENGTH = 8;
+
+    private static final int BCRYPT_MIN_STRENGTH = 10;
+
+    private static final int BCRYPT_MAX_STRENGTH = 31;
+
+    private static final int ARGON2_MIN_ITERATIONS = 2;
+
+    private static final int ARGON2_MAX_ITERATIONS = 64;
+
+    private static final int SAMPLES = 3;
+
+    private static final String PROBE_PASSWORD = "calibration";
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    /**
+     * Create the delegating encoder described by the given settings,
+     * calibrating the cost unless it is fixed.
+     *
+     * @param properties Algorithm, target time and cost settings.
+     * @return The delegating encoder, encoding with the configured algorithm.
+     */
+    public static DelegatingPasswordEncoder create(PasswordEncodingProperties properties) {
+        Duration target = properties.targetVerificationTime();
+        boolean argon2 = properties.algorithm() == Algorithm.ARGON2;
+        int floor = argon2 ? ARGON2_MIN_ITERATIONS : BCRYPT_MIN_STRENGTH;
+        // Hashes are only upgraded to a cost every node agrees on.
+        int minimumCost = properties.cost() > 0 ? properties.cost() : floor;
+        if (minimumCost < floor)
+            log.warn("The fixed {} cost {} is below the recommended minimum of {}", properties.algorithm().id(),
+                    minimumCost, floor);
+
+        PasswordEncoder encoder;
+        int cost;
+        if (argon2) {
+            cost = properties.cost() > 0 ? properties.cost()
+                    : argon2Iterations(target, properties.argon2Memory(), properties.argon2Parallelism());
+            encoder = new TargetCostArgon2PasswordEncoder(properties.argon2Memory(), cost,
+                    properties.argon2Parallelism(), minimumCost);
+        } else {
+            cost = properties.cost() > 0 ? properties.cost() : bcryptStrength(target);
+            encoder = new TargetCostBCryptPasswordEncoder(cost, minimumCost);
+        }
+        log.info("Hashing passwords with {} at cost {} ({}), upgrading hashes below cost {}",
+                properties.algorithm().id(), cost,
+                properties.cost() > 0 ? "fixed" : "calibrated to " + target.toMillis() + "ms", minimumCost);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(Algorithm.BCRYPT.id(), new BCryptPasswordEncoder());
+        encoders.put(Algorithm.ARGON2.id(), new TargetCostArgon2PasswordEncoder(properties.argon2Memory(), 1,
+                properties.argon2Parallelism(), 1));
+        encoders.put(properties.algorithm().id(), encoder);
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(properties.algorithm().id(),
+                encoders);
+        // Hashes stored before the ids were introduced are plain BCrypt.
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(encoders.get(Algorithm.BCRYPT.id()));
+        return delegatingEncoder;
+    }
+
+    /**
+     * Find the BCrypt strength whose verification takes closest to the target
+     * time. One verification is timed at a low strength and extrapolated, every
+     * extra round doubling the time.
+     *
+     * @param target The time a verification should take.
+     * @return The strength, between 10 and 31.
+     */
+    public static int bcryptStrength(Duration target) {
+        long probe = verificationNanos(new BCryptPasswordEncoder(BCRYPT_PROBE_STRENGTH));
+        long doublings = Math.round(Math.log((double) target.toNanos() / probe) / Math.log(2));
+        return (int) Math.max(BCRYPT_MIN_STRENGTH,
+                Math.min(BCRYPT_MAX_STRENGTH, BCRYPT_PROBE_STRENGTH + doublings));
+    }
+
+    /**
+     * Find the number of Argon2 iterations whose verification takes closest to
+     * the target time, for the given memory and parallelism. The time grows
+     * linearly with the iterations.
+     *
+     * @param target      The time a verification should take.
+     * @param memory      Memory of one hash, in KiB.
+     * @param parallelism Number of lanes.
+     * @return The iterations, between 2 and 64.
+     */
+    public static int argon2Iterations(Duration target, int memory, int parallelism) {
+        long probe = verificationNanos(new TargetCostArgon2PasswordEncoder(memory, 1, parallelism, 1));
+        long iterations = Math.round((double) target.toNanos() / probe);
+        return (int) Math.max(ARGON2_MIN_ITERATIONS, Math.min(ARGON2_MAX_ITERATIONS, iterations));
+    }
+
+    /**
+     * Time the fastest of a few verifications, after one warm-up, so a
+     * scheduling hiccup during startup does not skew the result.
+     */
+    private static long verificationNanos(PasswordEncoder encoder) {
+        String hash = encoder.encode(PROBE_PASSWORD);
+        encoder.matches(PROBE_PASSWORD, hash);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(PROBE_PASSWORD, hash);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return Math.max(1, fastest);
+    }
+}
@@ -0,0 +1,21 @@
+package com.authentication.backend.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when a password cannot be verified because the bounded hashing
+ * executor is saturated. Reported to the client as a 503 rather than as bad
+ * credentials.
+ *
+ * @author Tejaswee Gaur
+ */
+public class PasswordHashingSaturatedException extends AuthenticationServiceException {
+
+    public PasswordHashingSaturatedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingSaturatedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
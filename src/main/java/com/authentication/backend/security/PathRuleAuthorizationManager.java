@@ -0,0 +1,158 @@
+package com.authentication.backend.security;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.configurations.AuthorizationRulesProperties;
+import com.authentication.backend.migrations.DatabaseInitializer;
+import com.authentication.backend.models.AuthorizationRule;
+import com.authentication.backend.repository.AuthorizationRuleRepository;
+import com.authentication.backend.repository.RoleCatalog;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * {@link AuthorizationManager} applying the per-path authority rules of the
+ * application properties and of the {@code authorization_rules} collection.
+ *
+ * <p>
+ * The rules are compiled into a {@link PathRuleMatcher}, so a request is
+ * matched in one walk of a trie instead of against a list of request matchers,
+ * and each rule is evaluated against the user's authority bitset by an
+ * {@link AuthoritySetAuthorizationManager}. Requests matching no rule only
+ * require an authenticated user.
+ * </p>
+ *
+ * <p>
+ * Rules are compiled at startup and recompiled, then swapped atomically, when a
+ * rule is saved or deleted through the application, on a change-stream event,
+ * or on {@link #reload()} from the admin API.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class PathRuleAuthorizationManager extends AbstractMongoEventListener<AuthorizationRule>
+        implements AuthorizationManager<RequestAuthorizationContext>, DatabaseInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(PathRuleAuthorizationManager.class);
+
+    private final AuthorizationManager<RequestAuthorizationContext> unmatched = AuthenticatedAuthorizationManager
+            .authenticated();
+
+    private final AuthorizationRulesProperties properties;
+
+    private final AuthorizationRuleRepository ruleRepository;
+
+    private final RoleCatalog roleCatalog;
+
+    private volatile PathRuleMatcher<AuthorizationManager<RequestAuthorizationContext>> matcher;
+
+    public PathRuleAuthorizationManager(AuthorizationRulesProperties properties,
+            AuthorizationRuleRepository ruleRepository, RoleCatalog roleCatalog) {
+        this.properties = properties;
+        this.ruleRepository = ruleRepository;
+        this.roleCatalog = roleCatalog;
+    }
+
+    @Override
+    public void initialize() {
+        reload();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<AuthorizationRule> event) {
+        reload();
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<AuthorizationRule> event) {
+        reload();
+    }
+
+    /**
+     * Re-read the stored rules and atomically replace the compiled rules.
+     *
+     * @return The number of rules now applied.
+     */
+    public int reload() {
+        PathRuleMatcher.Builder<AuthorizationManager<RequestAuthorizationContext>> builder = PathRuleMatcher
+                .builder();
+        for (AuthorizationRulesProperties.Rule rule : properties.rules())
+            add(builder, rule.pattern(), rule.method(), rule.authorities());
+        for (AuthorizationRule rule : ruleRepository.findAll())
+            add(builder, rule.getPattern(), rule.getMethod(), rule.getAuthorities());
+
+        PathRuleMatcher<AuthorizationManager<RequestAuthorizationContext>> compiled = builder.build();
+        matcher = compiled;
+        log.atInfo().addKeyValue("rules", compiled.size()).log("Authorization rules compiled");
+        return compiled.size();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        AuthorizationManager<RequestAuthorizationContext> rule = matcher().match(request.getMethod(),
+                requestPath(request));
+        return (rule == null ? unmatched : rule).check(authentication, context);
+    }
+
+    /**
+     * Get the decoded path of the request within the application, the same way
+     * Spring Security's request matchers do.
+     */
+    static String requestPath(HttpServletRequest request) {
+        String path = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null)
+            return path;
+        return path.isEmpty() ? pathInfo : path + pathInfo;
+    }
+
+    private void add(PathRuleMatcher.Builder<AuthorizationManager<RequestAuthorizationContext>> builder,
+            String pattern, String method, List<String> authorities) {
+        if (pattern == null || authorities == null || authorities.isEmpty()) {
+            log.atWarn().addKeyValue("pattern", pattern).log("Ignoring authorization rule without authorities");
+            return;
+        }
+        try {
+            builder.add(method, pattern,
+                    AuthoritySetAuthorizationManager.hasAnyAuthority(roleCatalog, authorities.toArray(String[]::new)));
+        } catch (IllegalArgumentException e) {
+            log.atWarn().addKeyValue("pattern", pattern).setCause(e).log("Ignoring invalid authorization rule");
+        }
+    }
+
+    /**
+     * Get the compiled rules, compiling them on first use if a request is
+     * authorized before the startup compilation ran.
+     */
+    private PathRuleMatcher<AuthorizationManager<RequestAuthorizationContext>> matcher() {
+        PathRuleMatcher<AuthorizationManager<RequestAuthorizationContext>> current = matcher;
+        if (current != null)
+            return current;
+        synchronized (this) {
+            if (matcher == null)
+                reload();
+            return matcher;
+        }
+    }
+}
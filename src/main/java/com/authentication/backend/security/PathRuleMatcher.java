@@ -0,0 +1,260 @@
+package com.authentication.backend.security;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable trie of path patterns, mapping a request method and path to the
+ * value of the most specific matching rule.
+ *
+ * <p>
+ * Patterns are split into {@code /} separated segments. A segment is either a
+ * literal, {@code *} matching exactly one segment, or a trailing {@code **}
+ * matching any number of segments, including none. A request path is matched
+ * in a single walk down the trie whatever the number of rules: at each segment
+ * a literal child is preferred over {@code *}, which is preferred over
+ * {@code **}, falling back to the next alternative only if the preferred branch
+ * holds no rule for the rest of the path. A rule restricted to the request
+ * method is preferred over a rule for every method at the same node.
+ * </p>
+ *
+ * <p>
+ * Literal segments are looked up in an open-addressing table probed with the
+ * hash of the path region, so matching does not allocate.
+ * </p>
+ *
+ * @param <T> The type of value the rules map to.
+ * @author Tejaswee Gaur
+ */
+public final class PathRuleMatcher<T> {
+
+    private static final String WILDCARD = "*";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final Node<T> root;
+
+    private final int size;
+
+    private PathRuleMatcher(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Create a builder of a matcher.
+     *
+     * @param <T> The type of value the rules map to.
+     * @return A new, empty builder.
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Find the value of the most specific rule matching the request.
+     *
+     * @param method The request method, e.g. {@code GET}.
+     * @param path   The request path within the application.
+     * @return The value of the matching rule, or {@code null} if no rule
+     *         matches.
+     */
+    public T match(String method, String path) {
+        return match(root, method, path, 0);
+    }
+
+    /**
+     * Get the number of rules in the matcher.
+     *
+     * @return The number of distinct pattern and method combinations.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static <T> T match(Node<T> node, String method, String path, int position) {
+        int length = path.length();
+        while (position < length && path.charAt(position) == '/')
+            position++;
+
+        if (position == length) {
+            T value = node.value(method);
+            if (value == null && node.doubleWildcard != null)
+                value = node.doubleWildcard.value(method);
+            return value;
+        }
+
+        int end = path.indexOf('/', position);
+        if (end < 0)
+            end = length;
+
+        Node<T> literal = node.literal(path, position, end);
+        if (literal != null) {
+            T value = match(literal, method, path, end);
+            if (value != null)
+                return value;
+        }
+        if (node.wildcard != null) {
+            T value = match(node.wildcard, method, path, end);
+            if (value != null)
+                return value;
+        }
+        return node.doubleWildcard == null ? null : node.doubleWildcard.value(method);
+    }
+
+    /**
+     * Builder of a {@link PathRuleMatcher}. Not thread-safe, and not reusable
+     * once built.
+     *
+     * @param <T> The type of value the rules map to.
+     */
+    public static final class Builder<T> {
+
+        private final Node<T> root = new Node<>();
+
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a rule, replacing a rule previously added with the same pattern
+         * and method.
+         *
+         * @param method  The HTTP method, or {@code null} for every method.
+         * @param pattern The path pattern.
+         * @param value   The value of the rule.
+         * @return This builder.
+         * @throws IllegalArgumentException If {@code **} is not the last segment
+         *                                  of the pattern.
+         */
+        public Builder<T> add(String method, String pattern, T value) {
+            String[] segments = pattern.split("/");
+            Node<T> node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty())
+                    continue;
+                if (DOUBLE_WILDCARD.equals(segment)) {
+                    if (i != segments.length - 1)
+                        throw new IllegalArgumentException("'**' must be the last segment of " + pattern);
+                    if (node.doubleWildcard == null)
+                        node.doubleWildcard = new Node<>();
+                    node = node.doubleWildcard;
+                } else if (WILDCARD.equals(segment)) {
+                    if (node.wildcard == null)
+                        node.wildcard = new Node<>();
+                    node = node.wildcard;
+                } else {
+                    node = node.literals.computeIfAbsent(segment, key -> new Node<>());
+                }
+            }
+            if (node.put(method, value))
+                size++;
+            return this;
+        }
+
+        /**
+         * Compile the added rules.
+         *
+         * @return The immutable matcher.
+         */
+        public PathRuleMatcher<T> build() {
+            return new PathRuleMatcher<>(root.freeze(), size);
+        }
+    }
+
+    /**
+     * Node of the trie, mutable while built and frozen into lookup tables once
+     * compiled.
+     */
+    private static final class Node<T> {
+
+        private Map<String, Node<T>> literals = new HashMap<>();
+
+        private Node<T> wildcard;
+
+        private Node<T> doubleWildcard;
+
+        private Map<String, T> byMethod = new HashMap<>();
+
+        private T anyMethod;
+
+        private String[] keys;
+
+        private Node<T>[] children;
+
+        private int mask;
+
+        private int shift;
+
+        private boolean put(String method, T value) {
+            if (method == null) {
+                boolean added = anyMethod == null;
+                anyMethod = value;
+                return added;
+            }
+            return byMethod.put(method.toUpperCase(Locale.ROOT), value) == null;
+        }
+
+        private T value(String method) {
+            if (!byMethod.isEmpty()) {
+                T value = byMethod.get(method);
+                if (value != null)
+                    return value;
+            }
+            return anyMethod;
+        }
+
+        private Node<T> literal(String path, int start, int end) {
+            if (keys == null)
+                return null;
+            int length = end - start;
+            int hash = 0;
+            for (int i = start; i < end; i++)
+                hash = 31 * hash + path.charAt(i);
+            for (int slot = slot(hash);; slot = (slot + 1) & mask) {
+                String key = keys[slot];
+                if (key == null)
+                    return null;
+                if (key.length() == length && path.regionMatches(start, key, 0, length))
+                    return children[slot];
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<T> freeze() {
+            if (!literals.isEmpty()) {
+                int capacity = Integer.highestOneBit(literals.size() * 2 - 1) << 1;
+                keys = new String[capacity];
+                children = new Node[capacity];
+                mask = capacity - 1;
+                shift = Integer.numberOfLeadingZeros(mask);
+                for (Map.Entry<String, Node<T>> entry : literals.entrySet()) {
+                    int slot = slot(entry.getKey().hashCode());
+                    while (keys[slot] != null)
+                        slot = (slot + 1) & mask;
+                    keys[slot] = entry.getKey();
+                    children[slot] = entry.getValue().freeze();
+                }
+            }
+            literals = null;
+            byMethod = byMethod.isEmpty() ? Map.of() : Map.copyOf(byMethod);
+            if (wildcard != null)
+                wildcard.freeze();
+            if (doubleWildcard != null)
+                doubleWildcard.freeze();
+            return this;
+        }
+
+        /**
+         * Fibonacci hashing: segments such as {@code service1} and
+         * {@code service2} have nearly sequential hashes, which would cluster
+         * under linear probing on the low bits.
+         */
+        private int slot(int hash) {
+            return shift == 32 ? 0 : (hash * 0x9E3779B9) >>> shift;
+        }
+    }
+}
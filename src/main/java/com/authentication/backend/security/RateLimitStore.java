@@ -0,0 +1,57 @@
+package com.authentication.backend.security;
+
+/**
+ * Keeper of the token buckets of the {@link RateLimiter}, either local to this
+ * node or shared by all nodes.
+ *
+ * <p>
+ * Buckets follow the generic cell rate algorithm: a bucket is a single
+ * theoretical arrival time, advanced by one emission interval per accepted
+ * request, so taking a token is a single atomic update and a full bucket
+ * needs no state at all.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public interface RateLimitStore {
+
+    /**
+     * Take a token from a bucket, creating it full if absent.
+     *
+     * @param key           The bucket key.
+     * @param capacity      Tokens held by a full bucket.
+     * @param intervalNanos Time in which one token is refilled.
+     * @return Whether the token was taken, and the bucket state after.
+     */
+    RateLimitDecision tryAcquire(String key, long capacity, long intervalNanos);
+
+    /**
+     * Outcome of taking a token.
+     *
+     * @param allowed         Whether the token was taken.
+     * @param limit           Tokens held by a full bucket.
+     * @param remaining       Tokens left in the bucket.
+     * @param retryAfterNanos Time until a token is available, {@code 0} if
+     *                        allowed.
+     */
+    record RateLimitDecision(boolean allowed, long limit, long remaining, long retryAfterNanos) {
+
+        /**
+         * Compute the decision of the generic cell rate algorithm.
+         *
+         * @param allowed       Whether the token was taken.
+         * @param capacity      Tokens held by a full bucket.
+         * @param intervalNanos Time in which one token is refilled.
+         * @param backlog       Time the theoretical arrival time is ahead of
+         *                      now, after the request.
+         * @return The decision.
+         */
+        static RateLimitDecision of(boolean allowed, long capacity, long intervalNanos, long backlog) {
+            long tolerance = (capacity - 1) * intervalNanos;
+            if (allowed)
+                return new RateLimitDecision(true, capacity,
+                        Math.max(0, (tolerance + intervalNanos - backlog) / intervalNanos), 0);
+            return new RateLimitDecision(false, capacity, 0, Math.max(1, backlog - tolerance));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.authentication.backend.security;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.Authentication;
+
+import com.authentication.backend.configurations.RateLimitingProperties;
+import com.authentication.backend.configurations.RateLimitingProperties.Quota;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.RateLimitStore.RateLimitDecision;
+
+/**
+ * Applies the configured request quotas of authenticated users, each user
+ * having its own token bucket per quota.
+ *
+ * <p>
+ * Quotas are compiled into a {@link PathRuleMatcher} once. For the quotas of
+ * the matched pattern, a quota of the user's username is preferred, then the
+ * most generous quota of one of the user's roles, then the quota applying to
+ * everyone. Roles are checked against the authority bitset precomputed when the
+ * user was loaded, so resolving the quota does not walk the user's roles.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class RateLimiter {
+
+    private final RateLimitStore store;
+
+    private final RoleCatalog roleCatalog;
+
+    private final PathRuleMatcher<Quotas> matcher;
+
+    /**
+     * Compile the configured quotas.
+     *
+     * @param properties  The quota settings.
+     * @param store       The keeper of the token buckets.
+     * @param roleCatalog The catalog assigning the authority indexes.
+     * @throws IllegalArgumentException If a quota has no positive capacity and
+     *                                  period, or an invalid pattern.
+     */
+    public RateLimiter(RateLimitingProperties properties, RateLimitStore store, RoleCatalog roleCatalog) {
+        this.store = store;
+        this.roleCatalog = roleCatalog;
+
+        Map<String, List<Quota>> grouped = new LinkedHashMap<>();
+        for (Quota quota : properties.quotas()) {
+            if (quota.capacity() < 1 || quota.period() == null || quota.period().isNegative()
+                    || quota.period().isZero())
+                throw new IllegalArgumentException(
+                        "Quota of " + quota.pattern() + " needs a positive capacity and period");
+            grouped.computeIfAbsent(rule(quota.method(), quota.pattern()), key -> new ArrayList<>()).add(quota);
+        }
+        PathRuleMatcher.Builder<Quotas> builder = PathRuleMatcher.builder();
+        grouped.forEach((rule, quotas) -> builder.add(quotas.get(0).method(), quotas.get(0).pattern(),
+                new Quotas(rule, quotas, roleCatalog)));
+        this.matcher = builder.build();
+    }
+
+    /**
+     * Take a token of the quota applying to the request, if any.
+     *
+     * @param method         The request method.
+     * @param path           The request path within the application.
+     * @param authentication The authenticated caller.
+     * @return The decision, or {@code null} if no quota applies.
+     */
+    public RateLimitDecision tryAcquire(String method, String path, Authentication authentication) {
+        Quotas quotas = matcher.match(method, path);
+        if (quotas == null)
+            return null;
+        Limit limit = quotas.resolve(authentication.getName(), authoritySet(authentication));
+        if (limit == null)
+            return null;
+        return store.tryAcquire(limit.keyPrefix() + authentication.getName(), limit.capacity(),
+                limit.intervalNanos());
+    }
+
+    private AuthoritySet authoritySet(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof ApplicationUser user && user.getAuthoritySet() != null)
+            return user.getAuthoritySet();
+        return roleCatalog.authoritySet(authentication.getAuthorities());
+    }
+
+    private static String rule(String method, String pattern) {
+        return (method == null ? "*" : method) + " " + pattern;
+    }
+
+    /**
+     * A compiled quota: the bucket key prefix, shared by all users of the quota,
+     * and the bucket dimensions.
+     */
+    private record Limit(String keyPrefix, long capacity, long intervalNanos) {
+
+        static Limit of(String rule, Quota quota) {
+            String subject = quota.username() != null ? "user=" + quota.username()
+                    : quota.role() != null ? "role=" + quota.role() : "default";
+            return new Limit(rule + " " + subject + " ", quota.capacity(),
+                    Math.max(1, quota.period().toNanos() / quota.capacity()));
+        }
+    }
+
+    /**
+     * The quotas of one pattern and method, by username, by role from the most
+     * to the least generous, and for everyone.
+     */
+    private static final class Quotas {
+
+        private final Map<String, Limit> byUsername = new HashMap<>();
+
+        private final int[] roleIndexes;
+
+        private final Limit[] byRole;
+
+        private final Limit fallback;
+
+        Quotas(String rule, List<Quota> quotas, RoleCatalog roleCatalog) {
+            List<Quota> roleQuotas = new ArrayList<>();
+            Limit everyone = null;
+            for (Quota quota : quotas) {
+                if (quota.username() != null)
+                    byUsername.put(quota.username(), Limit.of(rule, quota));
+                else if (quota.role() != null)
+                    roleQuotas.add(quota);
+                else
+                    everyone = Limit.of(rule, quota);
+            }
+            roleQuotas.sort(Comparator.comparingLong((Quota quota) -> Limit.of(rule, quota).intervalNanos())
+                    .thenComparing(Comparator.comparingLong(Quota::capacity).reversed()));
+            this.roleIndexes = roleQuotas.stream().mapToInt(quota -> roleCatalog.indexOf(quota.role())).toArray();
+            this.byRole = roleQuotas.stream().map(quota -> Limit.of(rule, quota)).toArray(Limit[]::new);
+            this.fallback = everyone;
+        }
+
+        Limit resolve(String username, AuthoritySet authorities) {
+            if (!byUsername.isEmpty()) {
+                Limit limit = byUsername.get(username);
+                if (limit != null)
+                    return limit;
+            }
+            for (int i = 0; i < roleIndexes.length; i++) {
+                if (authorities.contains(roleIndexes[i]))
+                    return byRole[i];
+            }
+            return fallback;
+        }
+    }
+}
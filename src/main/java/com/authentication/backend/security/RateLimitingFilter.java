@@ -0,0 +1,80 @@
+package com.authentication.backend.security;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.authentication.backend.security.RateLimitStore.RateLimitDecision;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filter enforcing the request quotas of authenticated users, placed after
+ * authentication and before authorization in the security filter chain.
+ *
+ * <p>
+ * Requests under quota carry {@code X-RateLimit-Limit} and
+ * {@code X-RateLimit-Remaining} headers. Requests over quota are answered with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header, without
+ * reaching the handler. Anonymous requests are left to the authorization
+ * filter.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class RateLimitingFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Create the filter.
+     *
+     * @param rateLimiter The quotas requests are counted against.
+     */
+    public RateLimitingFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || trustResolver.isAnonymous(authentication)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitDecision decision = rateLimiter.tryAcquire(request.getMethod(),
+                PathRuleAuthorizationManager.requestPath(request), authentication);
+        if (decision == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(LIMIT_HEADER, Long.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        if (!decision.allowed()) {
+            long seconds = TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() - 1) + 1;
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
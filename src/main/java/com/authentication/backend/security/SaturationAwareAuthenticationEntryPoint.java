@@ -0,0 +1,50 @@
+package com.authentication.backend.security;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * {@link AuthenticationEntryPoint} answering a saturated password hashing
+ * executor with {@code 503 Service Unavailable} and a throttled login with
+ * {@code 429 Too Many Requests}, both with a {@code Retry-After} header, and
+ * every other authentication failure through its delegate.
+ *
+ * @author Tejaswee Gaur
+ */
+public class SaturationAwareAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    private final AuthenticationEntryPoint delegate;
+
+    private final String retryAfterSeconds;
+
+    public SaturationAwareAuthenticationEntryPoint(AuthenticationEntryPoint delegate, Duration retryAfter) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+            AuthenticationException authException) throws IOException, ServletException {
+        if (authException instanceof PasswordHashingSaturatedException) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        if (authException instanceof LoginThrottledException throttled) {
+            long seconds = throttled.getRetryAfter().toSeconds() + 1;
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        delegate.commence(request, response, authException);
+    }
+}
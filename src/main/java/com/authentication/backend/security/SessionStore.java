@@ -0,0 +1,52 @@
+package com.authentication.backend.security;
+
+/**
+ * Keeper of the sessions of the {@link CompactSecurityContextRepository},
+ * either local to this node or shared by all nodes.
+ *
+ * <p>
+ * Sessions are opaque byte arrays keyed by the hash of the session id, and
+ * expire once unused for the idle timeout of the store.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public interface SessionStore {
+
+    /**
+     * Store a new session.
+     *
+     * @param key      The hash of the session id.
+     * @param username The username of the session's user, to remove its
+     *                 sessions when the user changes.
+     * @param session  The encoded session.
+     */
+    void save(String key, String username, byte[] session);
+
+    /**
+     * Get a session, extending its idle timeout.
+     *
+     * @param key The hash of the session id.
+     * @return The encoded session, or {@code null} if unknown or expired.
+     */
+    byte[] find(String key);
+
+    /**
+     * Remove a session.
+     *
+     * @param key The hash of the session id.
+     */
+    void remove(String key);
+
+    /**
+     * Remove every session of a user.
+     *
+     * @param username The username.
+     */
+    void removeByUsername(String username);
+
+    /**
+     * Remove every session.
+     */
+    void removeAll();
+}
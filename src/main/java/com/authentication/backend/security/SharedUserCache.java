@@ -0,0 +1,51 @@
+package com.authentication.backend.security;
+
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * Shared tier of the user cache, consulted by every node's
+ * {@link CaffeineUserCache} when a user is not in its own near cache.
+ *
+ * <p>
+ * Entries are versioned: a user is only stored if it is at least as recent as
+ * the stored entry, and evicting a user at a version leaves a tombstone
+ * rejecting older copies still being loaded by other nodes, so a stale copy
+ * cannot be written back after an invalidation.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public interface SharedUserCache {
+
+    /**
+     * Get a cached user.
+     *
+     * @param username The username.
+     * @return The user, with its password hash and version, or {@code null} if
+     *         not cached.
+     */
+    ApplicationUser get(String username);
+
+    /**
+     * Store a loaded user, unless a more recent entry or tombstone exists.
+     *
+     * @param user The user, with its password hash and version. Shared
+     *             stores need not keep the hash, as long as {@link #get}
+     *             returns it.
+     */
+    void put(ApplicationUser user);
+
+    /**
+     * Drop a cached user.
+     *
+     * @param username The username.
+     * @param version  The version of the user after the change, below which
+     *                 copies are rejected from now on, or {@code 0} if unknown.
+     */
+    void evict(String username, long version);
+
+    /**
+     * Drop every cached user.
+     */
+    void evictAll();
+}
@@ -0,0 +1,133 @@
+package com.authentication.backend.security;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Exact per-key event counts over a sliding time window, for a bounded number
+ * of keys.
+ *
+ * <p>
+ * The window is split into slices, and each key holds one count per slice; a
+ * key's count is the sum of its slices still in the window. Counts are exact,
+ * so events of other keys never raise a key's count. Keys are held in a
+ * Caffeine cache bounded by {@code maximumKeys} and expire once idle for a
+ * whole window. When more keys are counted than the bound, the cache keeps the
+ * most frequently counted ones, so a flood of one-off keys evicts other
+ * one-off keys rather than the keys under repeated attack.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public final class SlidingWindowCounters {
+
+    private final int slices;
+
+    private final long sliceNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Cache<String, Window> windows;
+
+    /**
+     * Create empty counters.
+     *
+     * @param slices      Number of slices the window is split into.
+     * @param window      Length of the sliding window.
+     * @param maximumKeys Maximum number of keys counted at once.
+     * @param nanoClock   Source of the current time, in nanoseconds.
+     */
+    public SlidingWindowCounters(int slices, Duration window, long maximumKeys, LongSupplier nanoClock) {
+        if (slices < 1 || maximumKeys < 1 || window.isNegative() || window.isZero())
+            throw new IllegalArgumentException("Slices, window and maximum keys must be positive");
+        this.slices = slices;
+        this.sliceNanos = Math.max(1, window.toNanos() / slices);
+        this.nanoClock = nanoClock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(window)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Count one event for the key.
+     *
+     * @param key The key, e.g. a username.
+     * @return The count of the key in the window, including this event.
+     */
+    public int increment(String key) {
+        return windows.get(key, k -> new Window(slices)).increment(epoch());
+    }
+
+    /**
+     * Get the count of the key in the window.
+     *
+     * @param key The key, e.g. a username.
+     * @return The number of events of the key in the window.
+     */
+    public int count(String key) {
+        Window window = windows.getIfPresent(key);
+        return window == null ? 0 : window.count(epoch());
+    }
+
+    /**
+     * Get the time until the oldest slice leaves the window, i.e. until the
+     * count of any key can next decrease.
+     *
+     * @return The time until the current slice ends.
+     */
+    public Duration untilNextSlice() {
+        return Duration.ofNanos(sliceNanos - Math.floorMod(nanoClock.getAsLong(), sliceNanos));
+    }
+
+    /**
+     * Get the number of keys currently counted.
+     *
+     * @return The approximate number of keys held.
+     */
+    public long size() {
+        return windows.estimatedSize();
+    }
+
+    private long epoch() {
+        return Math.floorDiv(nanoClock.getAsLong(), sliceNanos);
+    }
+
+    /**
+     * The counts of one key, one per slice, each tagged with the time period
+     * it was counted in.
+     */
+    private static final class Window {
+
+        private final int[] counts;
+
+        private final long[] epochs;
+
+        Window(int slices) {
+            this.counts = new int[slices];
+            this.epochs = new long[slices];
+        }
+
+        synchronized int increment(long epoch) {
+            int slice = (int) Math.floorMod(epoch, (long) counts.length);
+            if (epochs[slice] != epoch) {
+                epochs[slice] = epoch;
+                counts[slice] = 0;
+            }
+            counts[slice]++;
+            return count(epoch);
+        }
+
+        synchronized int count(long epoch) {
+            int sum = 0;
+            for (int slice = 0; slice < counts.length; slice++)
+                if (epochs[slice] > epoch - counts.length && epochs[slice] <= epoch)
+                    sum += counts[slice];
+            return sum;
+        }
+    }
+}
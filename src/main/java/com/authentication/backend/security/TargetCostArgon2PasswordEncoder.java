@@ -0,0 +1,69 @@
+package com.authentication.backend.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * {@link Argon2PasswordEncoder} producing hashes at a target number of
+ * iterations, but only asking for an upgrade of hashes using less memory than
+ * configured or fewer iterations than a minimum.
+ *
+ * <p>
+ * The target iterations may be calibrated per node, while the minimum is the
+ * same on every node, so a hash is never rewritten back and forth between
+ * nodes calibrated differently, nor lowered by a node that calibrated low.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class TargetCostArgon2PasswordEncoder extends Argon2PasswordEncoder {
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final int HASH_LENGTH = 32;
+
+    private static final Pattern PARAMETERS = Pattern.compile("\\$m=(\\d+),t=(\\d+),p=\\d+\\$");
+
+    private final int memory;
+
+    private final int iterations;
+
+    private final int minimumIterations;
+
+    /**
+     * Create an encoder hashing with the given parameters.
+     *
+     * @param memory            Memory of one hash, in KiB.
+     * @param iterations        Number of passes over the memory.
+     * @param parallelism       Number of lanes.
+     * @param minimumIterations Number of passes below which stored hashes are
+     *                          upgraded.
+     */
+    public TargetCostArgon2PasswordEncoder(int memory, int iterations, int parallelism, int minimumIterations) {
+        super(SALT_LENGTH, HASH_LENGTH, parallelism, memory, iterations);
+        this.memory = memory;
+        this.iterations = iterations;
+        this.minimumIterations = minimumIterations;
+    }
+
+    /**
+     * Get the number of iterations new hashes are produced with.
+     *
+     * @return The Argon2 iterations.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null)
+            return false;
+        Matcher matcher = PARAMETERS.matcher(encodedPassword);
+        if (!matcher.find())
+            return super.upgradeEncoding(encodedPassword);
+        return Integer.parseInt(matcher.group(1)) < memory || Integer.parseInt(matcher.group(2)) < minimumIterations;
+    }
+}
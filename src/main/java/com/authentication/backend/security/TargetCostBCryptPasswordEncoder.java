@@ -0,0 +1,59 @@
+package com.authentication.backend.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * {@link BCryptPasswordEncoder} producing hashes at a target strength, but
+ * only asking for an upgrade of hashes weaker than a minimum strength.
+ *
+ * <p>
+ * The target strength may be calibrated per node, while the minimum is the
+ * same on every node, so a hash is never rewritten back and forth between
+ * nodes calibrated differently, nor lowered by a node that calibrated low.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class TargetCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern STRENGTH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    private final int minimumStrength;
+
+    /**
+     * Create an encoder hashing with the given strength.
+     *
+     * @param strength        The log2 rounds, between 4 and 31.
+     * @param minimumStrength The log2 rounds below which stored hashes are
+     *                        upgraded.
+     */
+    public TargetCostBCryptPasswordEncoder(int strength, int minimumStrength) {
+        super(strength);
+        this.strength = strength;
+        this.minimumStrength = minimumStrength;
+    }
+
+    /**
+     * Get the strength new hashes are produced with.
+     *
+     * @return The log2 rounds.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null)
+            return false;
+        Matcher matcher = STRENGTH.matcher(encodedPassword);
+        if (!matcher.find())
+            return super.upgradeEncoding(encodedPassword);
+        return Integer.parseInt(matcher.group(1)) < minimumStrength;
+    }
+}
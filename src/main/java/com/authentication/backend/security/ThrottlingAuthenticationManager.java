@@ -0,0 +1,73 @@
+package com.authentication.backend.security;
+
+import java.time.Duration;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@link AuthenticationManager} rejecting logins of locked out usernames and
+ * client addresses before they reach the delegate, so a credential-stuffing
+ * flood cannot force a password hash verification per attempt.
+ *
+ * <p>
+ * Failed logins, wrong passwords and unknown usernames alike, are counted in
+ * the {@link LoginThrottle}. The client address is taken from the
+ * authentication details set by the authentication filters, or else from the
+ * current request.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+public class ThrottlingAuthenticationManager implements AuthenticationManager {
+
+    private final AuthenticationManager delegate;
+
+    private final LoginThrottle throttle;
+
+    /**
+     * Create the manager.
+     *
+     * @param delegate The manager verifying the credentials.
+     * @param throttle The failed-login counters.
+     */
+    public ThrottlingAuthenticationManager(AuthenticationManager delegate, LoginThrottle throttle) {
+        this.delegate = delegate;
+        this.throttle = throttle;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        String address = remoteAddress(authentication);
+
+        Duration lockout = throttle.usernameLockout(username);
+        if (lockout.isZero())
+            lockout = throttle.addressLockout(address);
+        if (!lockout.isZero())
+            throw new LoginThrottledException("Too many failed logins", lockout);
+
+        try {
+            return delegate.authenticate(authentication);
+        } catch (UsernameNotFoundException | BadCredentialsException e) {
+            throttle.recordFailure(username, address);
+            throw e;
+        }
+    }
+
+    private static String remoteAddress(Authentication authentication) {
+        if (authentication.getDetails() instanceof WebAuthenticationDetails details)
+            return details.getRemoteAddress();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes request)
+            return request.getRequest().getRemoteAddr();
+        return null;
+    }
+}
@@ -0,0 +1,256 @@
+package com.authentication.backend.security;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import com.authentication.backend.configurations.UserCacheProperties;
+import com.authentication.backend.configurations.UsernameFilterProperties;
+import com.authentication.backend.configurations.UsernameProperties;
+import com.authentication.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rejects logins with unknown usernames before they cost a database lookup,
+ * through a {@link BloomFilter} over every {@code user_name}.
+ *
+ * <p>
+ * The filter is built in the background at startup and rebuilt at the
+ * configured interval; until the first build completes every username is let
+ * through. Users saved in the meantime are added on their
+ * {@link AuthenticationInvalidationEvent}, which reaches this node for users
+ * saved on other nodes through the change streams or the invalidation bus.
+ * Without either, a user registered on another node would be rejected here
+ * until the next rebuild, so the filter stays disabled. A global invalidation
+ * schedules a rebuild. Bulk-imported users
+ * are added by the importer; on other nodes, they are known after the next
+ * rebuild.
+ * </p>
+ *
+ * <p>
+ * A rejected login waits for about as long as a database lookup, an
+ * exponentially weighted average of the recent ones, so the response time
+ * does not reveal whether a username exists. The filter saves the database
+ * round-trip, not the time. With case-insensitive usernames, usernames are
+ * folded to NFKC lower case, an approximation of the username collation.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code authentication.username-filter.rejections}: logins rejected by
+ * the filter.</li>
+ * <li>{@code authentication.username-filter.memory}: bytes taken by the
+ * filter.</li>
+ * <li>{@code authentication.username-filter.false-positive-rate}: current
+ * false-positive rate, estimated from the bits set.</li>
+ * </ul>
+ *
+ * @author Tejaswee Gaur
+ */
+@Component
+@ConditionalOnProperty(name = "authentication.username-filter.enabled", havingValue = "true")
+public class UsernameFilter implements ApplicationRunner, ApplicationListener<AuthenticationInvalidationEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameFilter.class);
+
+    /**
+     * Weight of the latest lookup in the average, as a power of two.
+     */
+    private static final int LOOKUP_AVERAGE_SHIFT = 4;
+
+    private final UserRepository userRepository;
+
+    private final UsernameFilterProperties properties;
+
+    /**
+     * Why the filter never rejects a username, or {@code null} if it is in
+     * use.
+     */
+    private final String disabledReason;
+
+    private final Counter rejections;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile BloomFilter filter;
+
+    /**
+     * The filter being rebuilt, receiving the usernames added meanwhile.
+     */
+    private volatile BloomFilter rebuilding;
+
+    private volatile long typicalLookupNanos;
+
+    /**
+     * Create the filter, empty until first built.
+     *
+     * @param userRepository     The repository the usernames are read from.
+     * @param properties         Size, false-positive rate and rebuild interval.
+     * @param usernameProperties Whether usernames are matched ignoring case.
+     * @param cacheProperties    Whether user changes reach every node, through
+     *                           change streams or the invalidation bus.
+     * @param meterRegistry      The registry the metrics are registered in.
+     */
+    public UsernameFilter(UserRepository userRepository, UsernameFilterProperties properties,
+            UsernameProperties usernameProperties, UserCacheProperties cacheProperties,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        if (usernameProperties.caseInsensitive())
+            this.disabledReason = "usernames are matched case-insensitively by a collation the filter cannot reproduce";
+        else if (!cacheProperties.changeStreamsEnabled()
+                && !(cacheProperties.enabled() && "mongo".equals(cacheProperties.bus())))
+            this.disabledReason = "users saved on other nodes would be rejected until the next rebuild, "
+                    + "enable authentication.user-cache.change-streams-enabled or authentication.user-cache.bus";
+        else
+            this.disabledReason = null;
+        this.rejections = Counter.builder("authentication.username-filter.rejections")
+                .description("Logins rejected as unknown without a database lookup")
+                .register(meterRegistry);
+        Gauge.builder("authentication.username-filter.memory", this, UsernameFilter::memoryBytes)
+                .description("Memory taken by the username filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("authentication.username-filter.false-positive-rate", this,
+                UsernameFilter::falsePositiveRate)
+                .description("Estimated fraction of unknown usernames let through by the filter")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "username-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (disabledReason != null) {
+            log.warn("Username filter disabled: {}", disabledReason);
+            return;
+        }
+        long interval = properties.rebuildInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationInvalidationEvent event) {
+        if (!event.isGlobal())
+            add(event.getUsername());
+        else if (rebuildPending.compareAndSet(false, true))
+            scheduler.execute(() -> {
+                rebuildPending.set(false);
+                rebuildQuietly();
+            });
+    }
+
+    /**
+     * Test whether a login must be rejected because its username definitely
+     * does not exist, waiting for about a lookup's time if so.
+     *
+     * @param username The username of the login.
+     * @return {@code true} if no user has that username.
+     */
+    public boolean rejects(String username) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(username))
+            return false;
+
+        rejections.increment();
+        if (properties.padRejections())
+            LockSupport.parkNanos(typicalLookupNanos);
+        return true;
+    }
+
+    /**
+     * Record the duration of a database lookup, the time rejected logins are
+     * padded to.
+     *
+     * @param nanos Duration of the lookup.
+     */
+    public void recordLookup(long nanos) {
+        long typical = typicalLookupNanos;
+        typicalLookupNanos = typical + ((nanos - typical) >> LOOKUP_AVERAGE_SHIFT);
+    }
+
+    /**
+     * Add a username, e.g. of a user just created.
+     *
+     * @param username The username.
+     */
+    public void add(String username) {
+        // Read in the reverse order of the writes of rebuild(), so one of
+        // them is always the filter in use after the rebuild.
+        BloomFilter next = rebuilding;
+        if (next != null)
+            next.put(username);
+        BloomFilter current = filter;
+        if (current != null)
+            current.put(username);
+    }
+
+    /**
+     * Rebuild the filter from every username of the {@code users} collection,
+     * sized for the larger of the expected and the current number of users,
+     * and replace the current filter. Does nothing if the filter is disabled.
+     */
+    public synchronized void rebuild() {
+        if (disabledReason != null)
+            return;
+        long start = System.nanoTime();
+        long expected = Math.max(properties.expectedUsernames(), userRepository.count());
+        BloomFilter next = BloomFilter.create(expected, properties.falsePositiveRate());
+        // Set before the scan, so users saved during the scan are not missed.
+        rebuilding = next;
+        try (Stream<String> usernames = userRepository.streamUsernames()) {
+            usernames.forEach(next::put);
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        log.atInfo().addKeyValue("bits", next.bitSize()).addKeyValue("hashes", next.hashCount())
+                .addKeyValue("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .log("Username filter built");
+    }
+
+    /**
+     * Get the current filter.
+     *
+     * @return The filter, or {@code null} before the first build.
+     */
+    public BloomFilter getFilter() {
+        return filter;
+    }
+
+    private double memoryBytes() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.memoryBytes();
+    }
+
+    private double falsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 1 : current.expectedFalsePositiveRate();
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Building the username filter failed, keeping the previous one", e);
+        }
+    }
+}
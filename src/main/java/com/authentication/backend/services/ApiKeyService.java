@@ -0,0 +1,252 @@
+package com.authentication.backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.authentication.backend.configurations.ApiKeyProperties;
+import com.authentication.backend.dto.ApiKeySummary;
+import com.authentication.backend.dto.IssuedApiKey;
+import com.authentication.backend.models.ApiKey;
+import com.authentication.backend.repository.ApiKeyRepository;
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Issues, lists and revokes the API keys of machine clients, and resolves the
+ * keys presented by requests.
+ *
+ * <p>
+ * A key is a random public prefix and a random secret, joined by a dot. The
+ * prefix is stored as is and indexed; the secret is stored as its HMAC-SHA256
+ * under a server-side key. As the secret carries 256 bits of entropy, a fast
+ * keyed hash is enough: unlike a password it cannot be guessed, so a slow hash
+ * would only cost CPU on every request.
+ * </p>
+ *
+ * <p>
+ * Resolved keys, including unknown prefixes, are cached by prefix for the
+ * configured time to live, so a request costs one HMAC and no database read.
+ * A revocation evicts the key from the cache of this node at once; other nodes
+ * stop accepting it at the latest when their entry expires. Keys are also
+ * evicted on {@link AuthenticationInvalidationEvent}s of their user, so role
+ * changes are picked up like for password logins.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Service
+@ConditionalOnProperty(name = "authentication.api-keys.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ApiKeyService implements ApplicationListener<AuthenticationInvalidationEvent> {
+
+    /**
+     * Separator of the prefix and the secret of a key, absent from the
+     * base64url alphabet.
+     */
+    public static final char SEPARATOR = '.';
+
+    private static final int PREFIX_BYTES = 9;
+
+    private static final int SECRET_BYTES = 32;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final ApiKeyRepository apiKeyRepository;
+
+    private final UserDetailsService userDetailsService;
+
+    private final ThreadLocal<Mac> mac;
+
+    private final LoadingCache<String, Optional<ResolvedApiKey>> cache;
+
+    private final Clock clock;
+
+    @Autowired
+    public ApiKeyService(ApiKeyRepository apiKeyRepository, UserDetailsService userDetailsService,
+            ApiKeyProperties properties) {
+        this(apiKeyRepository, userDetailsService, properties, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    /**
+     * Create the service on the given time sources.
+     *
+     * @param apiKeyRepository   The repository keys are stored in.
+     * @param userDetailsService The service the users of keys are loaded from.
+     * @param properties         Hashing key and cache settings.
+     * @param ticker             Time source of the cache expiry.
+     * @param clock              Time source of the creation dates.
+     */
+    public ApiKeyService(ApiKeyRepository apiKeyRepository, UserDetailsService userDetailsService,
+            ApiKeyProperties properties, Ticker ticker, Clock clock) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.userDetailsService = userDetailsService;
+        this.clock = clock;
+
+        SecretKeySpec hashingKey = new SecretKeySpec(hashingKeyBytes(properties), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(hashingKey);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+            }
+        });
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaximumSize())
+                .expireAfterWrite(properties.cacheTimeToLive())
+                .ticker(ticker)
+                .recordStats()
+                .build(this::load);
+    }
+
+    /**
+     * Issue a new key to a user.
+     *
+     * @param username The username of the user the key authenticates as.
+     * @param name     A label for the key, e.g. the client using it.
+     * @return The key, the only time its secret is shown.
+     */
+    public IssuedApiKey issue(String username, String name) {
+        String prefix = randomString(PREFIX_BYTES);
+        String secret = randomString(SECRET_BYTES);
+        ApiKey apiKey = apiKeyRepository.save(new ApiKey(prefix, hash(secret), username, name, clock.instant()));
+        // A stale negative entry must not hide the new key.
+        cache.invalidate(prefix);
+        return new IssuedApiKey(apiKey.getKeyId(), name, prefix + SEPARATOR + secret, apiKey.getCreatedAt());
+    }
+
+    /**
+     * List the keys of a user, without their secrets.
+     *
+     * @param username The username.
+     * @return The user's keys.
+     */
+    public List<ApiKeySummary> list(String username) {
+        return apiKeyRepository.findByUsername(username).stream().map(ApiKeySummary::of).toList();
+    }
+
+    /**
+     * Revoke a key of a user.
+     *
+     * @param username The username of the key's user.
+     * @param keyId    The id of the key.
+     * @return {@code true} if the user had such a key.
+     */
+    public boolean revoke(String username, String keyId) {
+        Optional<ApiKey> apiKey = apiKeyRepository.findById(keyId)
+                .filter(candidate -> candidate.getUsername().equals(username));
+        apiKey.ifPresent(revoked -> {
+            apiKeyRepository.delete(revoked);
+            cache.invalidate(revoked.getPrefix());
+        });
+        return apiKey.isPresent();
+    }
+
+    /**
+     * Resolve a presented key to the user it authenticates as.
+     *
+     * @param key The key, as sent by the client.
+     * @return The user, or an empty {@link Optional} if the key is malformed,
+     *         unknown, revoked or its secret does not match.
+     */
+    public Optional<UserDetails> resolve(String key) {
+        int separator = key.indexOf(SEPARATOR);
+        if (separator <= 0)
+            return Optional.empty();
+
+        Optional<ResolvedApiKey> resolved = cache.get(key.substring(0, separator));
+        if (resolved.isEmpty())
+            return Optional.empty();
+        byte[] expected = resolved.get().secretHash().getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = hash(key.substring(separator + 1)).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) ? Optional.of(resolved.get().user()) : Optional.empty();
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationInvalidationEvent event) {
+        if (event.isGlobal())
+            cache.invalidateAll();
+        else
+            cache.asMap().values().removeIf(resolved -> resolved.isPresent()
+                    && resolved.get().user().getUsername().equals(event.getUsername()));
+    }
+
+    /**
+     * Get the underlying cache, for metrics binding.
+     *
+     * @return The Caffeine cache holding resolved keys by prefix.
+     */
+    public LoadingCache<String, Optional<ResolvedApiKey>> getCache() {
+        return cache;
+    }
+
+    private Optional<ResolvedApiKey> load(String prefix) {
+        Optional<ApiKey> apiKey = apiKeyRepository.findByPrefix(prefix);
+        if (apiKey.isEmpty())
+            return Optional.empty();
+        try {
+            UserDetails user = userDetailsService.loadUserByUsername(apiKey.get().getUsername());
+            return Optional.of(new ResolvedApiKey(apiKey.get().getSecretHash(), user));
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String hash(String secret) {
+        return ENCODER.encodeToString(mac.get().doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String randomString(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return ENCODER.encodeToString(value);
+    }
+
+    /**
+     * Get the HMAC key of the secrets. A key generated per process would make
+     * every issued key unusable after a restart and on any other node, so it
+     * must be configured.
+     */
+    private static byte[] hashingKeyBytes(ApiKeyProperties properties) {
+        if (properties.secret() == null || properties.secret().isBlank())
+            throw new IllegalStateException(
+                    "authentication.api-keys.secret must be set, and be the same on all nodes, to enable API keys");
+        return properties.secret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A stored key as cached: the hash its secret is checked against and the
+     * user it authenticates as.
+     *
+     * @param secretHash The keyed hash of the secret.
+     * @param user       The user of the key.
+     */
+    public record ResolvedApiKey(String secretHash, UserDetails user) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.authentication.backend.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.stereotype.Service;
+
+import com.authentication.backend.configurations.TokenConfiguration;
+import com.authentication.backend.configurations.TokenProperties;
+import com.authentication.backend.dto.TokenResponse;
+import com.authentication.backend.models.ApplicationUser;
+
+/**
+ * Issues and refreshes the signed access and refresh tokens of the token
+ * authentication mode.
+ *
+ * <p>
+ * Access tokens carry the user's role authorities in the {@code roles} claim,
+ * so requests bearing them are authorized without loading the user. Refreshing
+ * reloads the user, so role changes are picked up at the latest when the
+ * access token expires.
+ * </p>
+ *
+ * <p>
+ * Refresh tokens carry the version of the user they were issued for, which
+ * every write of the user increments. A refresh token is rejected once the
+ * user's password or roles changed, so a stolen one stops working when the
+ * password is changed.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "authentication.token.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class TokenService {
+
+    /**
+     * Claim distinguishing access tokens from refresh tokens.
+     */
+    public static final String TOKEN_USE_CLAIM = "token_use";
+
+    /**
+     * Claim holding the role authorities of the user.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * Claim of refresh tokens holding the version of the user at issue time.
+     */
+    public static final String USER_VERSION_CLAIM = "user_version";
+
+    public static final String ACCESS_TOKEN = "access";
+
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private final JwtEncoder jwtEncoder;
+
+    private final JwtDecoder refreshTokenDecoder;
+
+    private final UserDetailsService userDetailsService;
+
+    private final TokenProperties properties;
+
+    public TokenService(JwtEncoder jwtEncoder, SecretKey tokenSigningKey, UserDetailsService userDetailsService,
+            TokenProperties properties) {
+        this.jwtEncoder = jwtEncoder;
+        this.refreshTokenDecoder = TokenConfiguration.decoder(tokenSigningKey, properties, REFRESH_TOKEN);
+        this.userDetailsService = userDetailsService;
+        this.properties = properties;
+    }
+
+    /**
+     * Issue a token pair for an authenticated user.
+     *
+     * @param authentication The result of a successful authentication.
+     * @return The access and refresh token pair.
+     */
+    public TokenResponse issue(Authentication authentication) {
+        UserDetails user = authentication.getPrincipal() instanceof UserDetails principal ? principal
+                : userDetailsService.loadUserByUsername(authentication.getName());
+        return issue(authentication.getName(), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList(), version(user));
+    }
+
+    /**
+     * Exchange a refresh token for a new token pair.
+     *
+     * @param refreshToken The refresh token previously issued.
+     * @return The new access and refresh token pair.
+     * @throws BadCredentialsException If the refresh token is invalid or expired,
+     *                                 the user no longer exists, or was changed
+     *                                 since the token was issued.
+     */
+    public TokenResponse refresh(String refreshToken) {
+        Jwt jwt;
+        try {
+            jwt = refreshTokenDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            throw new BadCredentialsException("Invalid refresh token", e);
+        }
+
+        UserDetails user = userDetailsService.loadUserByUsername(jwt.getSubject());
+        if (!user.isEnabled() || !user.isAccountNonLocked())
+            throw new BadCredentialsException("Invalid refresh token");
+        Long version = version(user);
+        if (version != null && !version.equals(jwt.getClaim(USER_VERSION_CLAIM)))
+            throw new BadCredentialsException("Refresh token issued before the last change of the user");
+        return issue(user.getUsername(), user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList(), version);
+    }
+
+    private TokenResponse issue(String username, List<String> roles, Long version) {
+        Instant now = Instant.now();
+        JwtClaimsSet access = JwtClaimsSet.builder()
+                .issuer(properties.issuer())
+                .subject(username)
+                .issuedAt(now)
+                .expiresAt(now.plus(properties.accessTokenTtl()))
+                .claim(TOKEN_USE_CLAIM, ACCESS_TOKEN)
+                .claim(ROLES_CLAIM, roles)
+                .build();
+        JwtClaimsSet refresh = JwtClaimsSet.builder()
+                .issuer(properties.issuer())
+                .subject(username)
+                .issuedAt(now)
+                .expiresAt(now.plus(properties.refreshTokenTtl()))
+                .id(UUID.randomUUID().toString())
+                .claim(TOKEN_USE_CLAIM, REFRESH_TOKEN)
+                .claims(claims -> {
+                    if (version != null)
+                        claims.put(USER_VERSION_CLAIM, version);
+                })
+                .build();
+
+        return new TokenResponse(encode(access), encode(refresh), "Bearer",
+                properties.accessTokenTtl().toSeconds());
+    }
+
+    /**
+     * Get the version of a user, or {@code null} for users not stored by the
+     * application.
+     */
+    private static Long version(UserDetails user) {
+        return user instanceof ApplicationUser applicationUser ? applicationUser.getVersion() : null;
+    }
+
+    private String encode(JwtClaimsSet claims) {
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,310 @@
+package com.authentication.backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.authentication.backend.configurations.UserImportProperties;
+import com.authentication.backend.dto.UserImportEvent;
+import com.authentication.backend.dto.UserImportRow;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.repository.UserRepository;
+import com.authentication.backend.security.UsernameFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Service creating users in bulk from an NDJSON or CSV stream.
+ *
+ * <p>
+ * The input is read line by line and processed in batches: the passwords of a
+ * batch are encoded in parallel on a dedicated pool, and the batch is written
+ * with one unordered bulk write. At most one batch is held in memory, whatever
+ * the size of the input. Role names are resolved against the in-memory
+ * {@link RoleCatalog}. Rejected rows and the progress after each batch are
+ * reported to the caller as they happen.
+ * </p>
+ *
+ * <p>
+ * NDJSON lines are objects with {@code username}, {@code password} and an
+ * optional {@code roles} array. CSV input starts with a header naming the
+ * {@code username}, {@code password} and optional {@code roles} columns, roles
+ * being separated by {@code ;}. Users without roles are granted {@code USER}.
+ * </p>
+ *
+ * @author Tejaswee Gaur
+ */
+@Service
+public class UserImportService implements AutoCloseable {
+
+    /**
+     * Formats users can be imported from.
+     */
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String DEFAULT_ROLE = "USER";
+
+    private final UserRepository userRepository;
+
+    private final RoleCatalog roleCatalog;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    private final ExecutorService hashingExecutor;
+
+    /**
+     * Filter of the known usernames, which the bulk inserts bypass without
+     * mapping events, or {@code null} when it is disabled.
+     */
+    private UsernameFilter usernameFilter;
+
+    /**
+     * Create the service.
+     *
+     * @param userRepository  Repository the users are written to.
+     * @param roleCatalog     Catalog the role names are resolved against.
+     * @param passwordEncoder Encoder of the imported passwords.
+     * @param objectMapper    Mapper reading NDJSON lines.
+     * @param properties      Batch size and hashing threads.
+     */
+    public UserImportService(UserRepository userRepository, RoleCatalog roleCatalog,
+            PasswordEncoder passwordEncoder, ObjectMapper objectMapper, UserImportProperties properties) {
+        this.userRepository = userRepository;
+        this.roleCatalog = roleCatalog;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.batchSize = properties.batchSize();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(properties.effectiveThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "user-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Add the imported usernames to the given filter.
+     *
+     * @param usernameFilter The filter of the known usernames.
+     */
+    @Autowired(required = false)
+    public void setUsernameFilter(UsernameFilter usernameFilter) {
+        this.usernameFilter = usernameFilter;
+    }
+
+    /**
+     * Import the users of the given stream.
+     *
+     * @param input  The NDJSON or CSV input, UTF-8 encoded.
+     * @param format The format of the input.
+     * @param events Receives every rejected row, the progress after each batch
+     *               and the final summary.
+     * @throws IOException If the input cannot be read.
+     */
+    public void importUsers(InputStream input, Format format, Consumer<UserImportEvent> events) throws IOException {
+        Progress progress = new Progress();
+        List<PendingUser> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String[] header = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank())
+                continue;
+            if (format == Format.CSV && header == null) {
+                header = csvFields(line);
+                continue;
+            }
+
+            progress.processed++;
+            UserImportRow row;
+            try {
+                row = format == Format.CSV ? csvRow(header, line) : objectMapper.readValue(line, UserImportRow.class);
+                batch.add(new PendingUser(lineNumber, row.username(), row.password(), resolveRoles(row)));
+            } catch (JsonProcessingException e) {
+                progress.reject(events, lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                progress.reject(events, lineNumber, usernameOf(format, header, line), e.getMessage());
+            }
+
+            if (batch.size() >= batchSize) {
+                write(batch, progress, events);
+                batch.clear();
+            }
+        }
+        write(batch, progress, events);
+
+        log.atInfo()
+                .addKeyValue("processed", progress.processed)
+                .addKeyValue("imported", progress.imported)
+                .addKeyValue("failed", progress.failed)
+                .log("User import finished");
+        events.accept(UserImportEvent.summary(progress.processed, progress.imported, progress.failed));
+    }
+
+    @Override
+    public void close() {
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * Encode the passwords of the batch in parallel and insert it.
+     */
+    private void write(List<PendingUser> batch, Progress progress, Consumer<UserImportEvent> events) {
+        if (batch.isEmpty())
+            return;
+
+        List<Future<String>> hashes = new ArrayList<>(batch.size());
+        for (PendingUser pending : batch)
+            hashes.add(hashingExecutor.submit(() -> passwordEncoder.encode(pending.password())));
+
+        List<ApplicationUser> users = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingUser pending = batch.get(i);
+            users.add(new ApplicationUser(pending.username(), await(hashes.get(i)), pending.roles()));
+        }
+
+        // Added before the insert, so the users can log in as soon as they
+        // exist; a rejected row only costs a false positive.
+        if (usernameFilter != null)
+            users.forEach(user -> usernameFilter.add(user.getUsername()));
+        Map<Integer, String> failures = userRepository.insertUnordered(users);
+        failures.forEach((index, message) -> progress.reject(events, batch.get(index).lineNumber(),
+                batch.get(index).username(), message));
+        progress.imported += batch.size() - failures.size();
+        events.accept(UserImportEvent.progress(progress.processed, progress.imported, progress.failed));
+    }
+
+    private Set<Role> resolveRoles(UserImportRow row) {
+        if (row.username() == null || row.username().isBlank())
+            throw new IllegalArgumentException("Missing username");
+        if (row.password() == null || row.password().isEmpty())
+            throw new IllegalArgumentException("Missing password");
+
+        List<String> names = row.roles() == null || row.roles().isEmpty() ? List.of(DEFAULT_ROLE) : row.roles();
+        Set<Role> resolved = new HashSet<>();
+        for (String name : names) {
+            resolved.add(roleCatalog.findByAuthority(name.trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown role " + name.trim())));
+        }
+        return resolved;
+    }
+
+    private static UserImportRow csvRow(String[] header, String line) {
+        String[] fields = csvFields(line);
+        String username = null;
+        String password = null;
+        List<String> roles = List.of();
+        for (int i = 0; i < header.length && i < fields.length; i++) {
+            switch (header[i].trim()) {
+                case "username" -> username = fields[i];
+                case "password" -> password = fields[i];
+                case "roles" -> roles = fields[i].isBlank() ? List.of() : Arrays.asList(fields[i].split(";"));
+                default -> {
+                }
+            }
+        }
+        return new UserImportRow(username, password, roles);
+    }
+
+    private static String usernameOf(Format format, String[] header, String line) {
+        return format == Format.CSV ? csvRow(header, line).username() : null;
+    }
+
+    /**
+     * Split a CSV line on commas, honouring double-quoted fields with
+     * {@code ""} as an escaped quote.
+     */
+    private static String[] csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(String[]::new);
+    }
+
+    private static String await(Future<String> hash) {
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password encoding failed", e.getCause());
+        }
+    }
+
+    /**
+     * A validated row waiting for its password to be encoded.
+     */
+    private record PendingUser(long lineNumber, String username, String password, Set<Role> roles) {
+    }
+
+    /**
+     * Running counts of an import.
+     */
+    private static final class Progress {
+
+        private long processed;
+
+        private long imported;
+
+        private long failed;
+
+        private void reject(Consumer<UserImportEvent> events, long lineNumber, String username, String message) {
+            failed++;
+            events.accept(UserImportEvent.error(lineNumber, username, message));
+        }
+    }
+}
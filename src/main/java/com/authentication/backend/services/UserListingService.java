@@ -0,0 +1,66 @@
+package com.authentication.backend.services;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.authentication.backend.dto.UserPage;
+import com.authentication.backend.dto.UserSummary;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.UserRepository;
+
+/**
+ * Service listing and exporting users for the admin API, in constant memory
+ * whatever the size of the collection.
+ *
+ * @author Tejaswee Gaur
+ */
+@Service
+public class UserListingService {
+
+    /**
+     * Largest page a client can ask for.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+
+    /**
+     * Create the service on top of the given user repository.
+     *
+     * @param userRepository The repository users are read from.
+     */
+    public UserListingService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Get the page of users following the given cursor.
+     *
+     * @param after The {@code next} cursor of the previous page, or
+     *              {@code null} for the first page.
+     * @param limit The page size, capped at {@link #MAX_PAGE_SIZE}.
+     * @return The page, with the cursor of the next page if there is one.
+     */
+    public UserPage page(String after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra user tells whether a next page exists.
+        List<ApplicationUser> users = userRepository.findPageAfter(after, size + 1);
+        boolean more = users.size() > size;
+        List<UserSummary> summaries = users.stream().limit(size).map(UserSummary::of).toList();
+        return new UserPage(summaries, more ? summaries.get(size - 1).id() : null);
+    }
+
+    /**
+     * Pass every user to the given consumer, read from a single cursor.
+     *
+     * @param consumer Receives the users in id order.
+     */
+    public void export(Consumer<UserSummary> consumer) {
+        try (Stream<ApplicationUser> users = userRepository.streamAll()) {
+            users.map(UserSummary::of).forEach(consumer);
+        }
+    }
+}
@@ -1,37 +1,144 @@
 package com.authentication.backend.services;
 
-import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.authentication.backend.models.ApplicationUser;
 import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.repository.UserRepository;
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.LoginThrottle;
+import com.authentication.backend.security.UsernameFilter;
 
 /**
  * The UserService class implements the UserDetailsService interface
  * and serves as a custom user details service for authentication and
  * authorization.
+ * It also implements UserDetailsPasswordService, so password hashes produced
+ * with an outdated algorithm or cost are replaced on successful login.
  * It is annotated with @Service to indicate that it is a Spring service
  * component.
  */
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService, ApplicationEventPublisherAware {
+
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
+    /**
+     * Repository the users and their stored password hashes are read from.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Timers the repository lookups are recorded in.
+     */
+    private final AuthenticationMetrics metrics;
+
+    /**
+     * Catalog the roles embedded in loaded users are resolved against, or
+     * {@code null} to keep them as read.
+     */
+    private final RoleCatalog roleCatalog;
+
+    /**
+     * Failed-login counters the lock state of loaded users is read from, or
+     * {@code null} when login throttling is disabled.
+     */
+    private LoginThrottle loginThrottle;
 
     /**
-     * Autowired field for PasswordEncoder, which is used to encode passwords.
+     * Filter rejecting unknown usernames before the lookup, or {@code null}
+     * when it is disabled.
+     */
+    private UsernameFilter usernameFilter;
+
+    /**
+     * Publisher of the invalidation events sent when a password hash changes.
+     */
+    private ApplicationEventPublisher eventPublisher = event -> {
+    };
+
+    /**
+     * Create the service on top of the given user repository.
+     *
+     * @param userRepository The repository users are looked up in.
+     */
+    public UserService(UserRepository userRepository) {
+        this(userRepository, AuthenticationMetrics.noop(), null);
+    }
+
+    /**
+     * Create the service on top of the given user repository, recording the
+     * lookups in the given metrics and resolving roles through the catalog.
+     *
+     * @param userRepository The repository users are looked up in.
+     * @param metrics        The timers the lookups are recorded in.
+     * @param roleCatalog    The catalog of shared role instances, or
+     *                       {@code null} to keep roles as read.
      */
     @Autowired
-    PasswordEncoder passwordEncoder;
+    public UserService(UserRepository userRepository, AuthenticationMetrics metrics, RoleCatalog roleCatalog) {
+        this.userRepository = userRepository;
+        this.metrics = metrics;
+        this.roleCatalog = roleCatalog;
+    }
+
+    /**
+     * Expose the lockouts of the given throttle through
+     * {@code isAccountNonLocked()} of the loaded users.
+     *
+     * @param loginThrottle The failed-login counters.
+     */
+    @Autowired(required = false)
+    public void setLoginThrottle(LoginThrottle loginThrottle) {
+        this.loginThrottle = loginThrottle;
+    }
+
+    /**
+     * Reject the usernames the given filter knows not to exist without a
+     * lookup.
+     *
+     * @param usernameFilter The filter of the known usernames.
+     */
+    @Autowired(required = false)
+    public void setUsernameFilter(UsernameFilter usernameFilter) {
+        this.usernameFilter = usernameFilter;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.eventPublisher = applicationEventPublisher;
+    }
 
     /**
      * Retrieves a user's details by username for authentication.
      *
+     * <p>
+     * The stored password hash is returned as-is, so the only hashing work of a
+     * login is the single verification done by the authentication provider.
+     * Only the fields needed for authentication are read. The lookup is timed,
+     * tagged by whether the user exists. The embedded roles are replaced by the
+     * shared instances of the role catalog, and precomputed as an authority
+     * bitset for authorization checks. A running lockout after too many failed
+     * logins is reported through {@code isAccountNonLocked()}. Usernames the
+     * username filter knows not to exist are rejected without a lookup.
+     * </p>
+     *
      * @param username The username for which user details are to be loaded.
      * @return UserDetails object representing the user's details.
      * @throws UsernameNotFoundException Thrown if the specified username is not
@@ -39,20 +146,60 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        System.out.println("In the User Service with the username- " + username);
+        log.atDebug().addKeyValue("username", username).log("Loading user");
 
-        // Simulating user retrieval based on a specific username.
-        // In a real-world scenario, this would typically involve querying a database.
-        if (!username.equals("Ethan"))
+        if (usernameFilter != null && usernameFilter.rejects(username))
             throw new UsernameNotFoundException(username);
 
-        // Creating a set of roles for the user (in this case, just a "USER" role).
-        Set<Role> roles = new HashSet<>();
-        roles.add(new Role("1", "USER"));
+        long start = System.nanoTime();
+        Optional<ApplicationUser> user = userRepository.findCredentialsByUsername(username);
+        long elapsed = System.nanoTime() - start;
+        metrics.recordLookup(user.isPresent(), elapsed);
+        if (usernameFilter != null)
+            usernameFilter.recordLookup(elapsed);
+        ApplicationUser found = user.orElseThrow(() -> new UsernameNotFoundException(username));
+        if (roleCatalog != null) {
+            found.setAuthorities(roleCatalog.intern(found.getAuthorities()));
+            found.setAuthoritySet(roleCatalog.authoritySet(found.getAuthorities()));
+        }
+        if (loginThrottle != null)
+            found.setLockedUntil(loginThrottle.lockedUntil(username));
+        return found;
+    }
+
+    /**
+     * Store the re-encoded password hash of a user who just logged in.
+     *
+     * <p>
+     * Only the password field is written. Cached copies of the user are
+     * invalidated, so the outdated hash is not upgraded a second time.
+     * </p>
+     *
+     * @param user        The authenticated user, holding the outdated hash.
+     * @param newPassword The password encoded with the current algorithm and
+     *                    cost.
+     * @return A copy of the user holding the new hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        if (!(user instanceof ApplicationUser applicationUser)) {
+            eventPublisher.publishEvent(AuthenticationInvalidationEvent.forUser(this, user.getUsername()));
+            return User.withUserDetails(user).password(newPassword).build();
+        }
+
+        ApplicationUser upgraded = new ApplicationUser(applicationUser.getUsername(), newPassword,
+                roles(applicationUser));
+        upgraded.setUserId(applicationUser.getUserId());
+        upgraded.setAuthoritySet(applicationUser.getAuthoritySet());
+        upgraded.setVersion(applicationUser.getVersion() + 1);
+        eventPublisher.publishEvent(
+                AuthenticationInvalidationEvent.forUser(this, upgraded.getUsername(), upgraded.getVersion()));
+        return upgraded;
+    }
 
-        // Creating and returning an ApplicationUser object with user details.
-        // The password is encoded using the injected PasswordEncoder.
-        return new ApplicationUser("Ethan", passwordEncoder.encode("password"), roles);
+    private static Set<Role> roles(ApplicationUser user) {
+        return user.getAuthorities().stream().map(Role.class::cast).collect(Collectors.toSet());
     }
 
 }
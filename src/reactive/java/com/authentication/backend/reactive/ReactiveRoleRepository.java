@@ -0,0 +1,28 @@
+package com.authentication.backend.reactive;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.authentication.backend.models.Role;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of
+ * {@link com.authentication.backend.repository.RoleRepository}, used by the
+ * WebFlux variant of the authentication stack.
+ *
+ * @see com.authentication.backend.repository.RoleRepository
+ */
+@Repository
+public interface ReactiveRoleRepository extends ReactiveMongoRepository<Role, String> {
+
+    /**
+     * Finds a Role entity by its authority attribute.
+     *
+     * @param authority The authority attribute of the Role entity to be found.
+     * @return A {@link Mono} emitting the matching Role entity, or completing
+     *         empty if no match is found.
+     */
+    Mono<Role> findByAuthority(String authority);
+}
@@ -0,0 +1,97 @@
+package com.authentication.backend.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration class for setting up Spring Security on the WebFlux variant of
+ * the authentication backend, mirroring
+ * {@link com.authentication.backend.configurations.SpringSecurityConfiguration}.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSecurityConfiguration {
+
+    /**
+     * Bean definition for creating a BCryptPasswordEncoder, which is used for
+     * password encoding.
+     *
+     * @return An instance of BCryptPasswordEncoder.
+     */
+    @Bean
+    PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    /**
+     * Bean definition for the scheduler password hashes are verified on.
+     *
+     * <p>
+     * BCrypt is CPU bound, so it gets one thread per core and a bounded queue,
+     * keeping it off the event loop without letting it grow unbounded.
+     * </p>
+     *
+     * @return A bounded elastic scheduler sized to the available cores.
+     */
+    @Bean(destroyMethod = "dispose")
+    Scheduler passwordHashingScheduler() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(cores, cores * 64, "password-hashing");
+    }
+
+    /**
+     * Bean definition for creating a ReactiveAuthenticationManager.
+     *
+     * @param userDetailsService        The reactive user details service used
+     *                                  for authentication.
+     * @param passwordEncoder           The encoder the stored password hashes
+     *                                  are verified with.
+     * @param passwordHashingScheduler  The scheduler hashes are verified on.
+     * @return An instance of ReactiveAuthenticationManager.
+     */
+    @Bean
+    ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder, Scheduler passwordHashingScheduler) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
+                userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(passwordHashingScheduler);
+        return authenticationManager;
+    }
+
+    /**
+     * Bean definition for setting up Spring Security web filters.
+     *
+     * @param httpSecurity          The ServerHttpSecurity object to configure
+     *                              security settings.
+     * @param authenticationManager The manager verifying HTTP Basic credentials.
+     * @return A SecurityWebFilterChain configured with disabled CSRF, requiring
+     *         all exchanges to be authenticated, and using HTTP Basic
+     *         authentication.
+     */
+    @Bean
+    SecurityWebFilterChain setSpringSecurity(ServerHttpSecurity httpSecurity,
+            ReactiveAuthenticationManager authenticationManager) {
+        return httpSecurity
+                .csrf(crossOrigin -> crossOrigin.disable())
+                .authenticationManager(authenticationManager)
+                .authorizeExchange(auth -> auth.anyExchange().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                .build();
+    }
+}
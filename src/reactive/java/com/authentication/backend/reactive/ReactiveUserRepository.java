@@ -0,0 +1,31 @@
+package com.authentication.backend.reactive;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.authentication.backend.models.ApplicationUser;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of
+ * {@link com.authentication.backend.repository.UserRepository}, used by the
+ * WebFlux variant of the authentication stack.
+ *
+ * @see com.authentication.backend.repository.UserRepository
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<ApplicationUser, String> {
+
+    /**
+     * Retrieves the credentials of the user with the specified username,
+     * reading only the username, password hash and authorities.
+     *
+     * @param userName The username to search for.
+     * @return A {@link Mono} emitting the found {@link ApplicationUser}, or
+     *         completing empty if not found.
+     */
+    @Query(value = "{ 'user_name' : ?0 }", fields = "{ 'user_name' : 1, 'password' : 1, 'authorities' : 1 }")
+    Mono<ApplicationUser> findCredentialsByUsername(String userName);
+}
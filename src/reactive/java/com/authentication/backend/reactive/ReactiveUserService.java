@@ -0,0 +1,36 @@
+package com.authentication.backend.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.authentication.backend.services.UserService}.
+ * Looks users up without blocking a thread while MongoDB answers.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserService implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveUserService(ReactiveUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Retrieves a user's details by username for authentication.
+     *
+     * @param username The username for which user details are to be loaded.
+     * @return A {@link Mono} emitting the user's details, or completing empty if
+     *         the username is not found.
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findCredentialsByUsername(username).cast(UserDetails.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Load test comparing authentication throughput of the former
+ * {@code loadUserByUsername}, which BCrypt-encoded the password on every lookup,
+ * with the repository backed lookup returning the stored hash.
+ *
+ * <p>
+ * Run with {@code mvn test -Pload-tests}.
+ * </p>
+ */
+@Tag("load")
+public class AuthenticationThroughputTests {
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(5);
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    /**
+     * Tests that a single hash verification per login nearly doubles the
+     * throughput of the encode-then-verify path.
+     */
+    @Test
+    public void testStoredHashLookupThroughput() throws Exception {
+        // Arrange
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role("1", "USER"));
+
+        UserDetailsService encodingLookup = username -> new ApplicationUser(username,
+                passwordEncoder.encode("password"), roles);
+
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", passwordEncoder.encode("password"), roles));
+        UserDetailsService storedHashLookup = new UserService(userRepository);
+
+        // Act
+        double before = throughput(authenticationManager(encodingLookup));
+        double after = throughput(authenticationManager(storedHashLookup));
+        System.out.printf("Authentication throughput with %d threads: before %.1f/s, after %.1f/s%n",
+                THREADS, before, after);
+
+        // Assert
+        assertTrue(after > before * 1.5, "Expected close to twice the throughput, was " + after / before + "x");
+    }
+
+    private AuthenticationManager authenticationManager(UserDetailsService userDetailsService) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new ProviderManager(provider);
+    }
+
+    private static double throughput(AuthenticationManager authenticationManager) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long deadline = System.nanoTime() + MEASUREMENT.toNanos();
+        List<Future<Long>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                long completed = 0;
+                while (System.nanoTime() < deadline) {
+                    authenticationManager
+                            .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("Ethan", "password"));
+                    completed++;
+                }
+                return completed;
+            }));
+        }
+
+        long total = 0;
+        for (Future<Long> worker : workers)
+            total += worker.get();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return total / (double) MEASUREMENT.toSeconds();
+    }
+}
@@ -0,0 +1,59 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.authentication.backend.support.HttpLoadGenerator;
+import com.authentication.backend.support.HttpLoadGenerator.Result;
+
+/**
+ * End-to-end load test of HTTP Basic authentication against the running
+ * application, with the authentication caches disabled so every request is
+ * verified.
+ *
+ * <p>
+ * Runs unchanged on both stacks, so the numbers are comparable:
+ * {@code mvn clean test -Pload-tests} for the servlet stack and
+ * {@code mvn clean test -Pload-tests,reactive} for WebFlux. Requires the local
+ * MongoDB instance configured in {@code application.properties}.
+ * </p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "authentication.credential-cache.enabled=false",
+        "authentication.user-cache.enabled=false" })
+public class HttpAuthenticationLoadTests {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 2_000);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.main.web-application-type:servlet}")
+    private String stack;
+
+    /**
+     * Tests that every request of the run is authenticated, and reports
+     * throughput and latency of the current stack.
+     */
+    @Test
+    public void testBasicAuthenticationUnderLoad() {
+        // Act
+        Result result = new HttpLoadGenerator().run(URI.create("http://localhost:" + port + "/api/admin/"),
+                "admin", "password", REQUESTS, CONCURRENCY);
+        System.out.println("[" + stack + "] " + result);
+
+        // Assert
+        assertEquals(REQUESTS, result.statusCounts().getOrDefault(200, 0L));
+    }
+}
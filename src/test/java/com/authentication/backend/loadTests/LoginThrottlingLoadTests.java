@@ -0,0 +1,184 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import com.authentication.backend.configurations.LoginThrottlingProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.LoginThrottle;
+import com.authentication.backend.security.ThrottlingAuthenticationManager;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Load test replaying a credential-stuffing attack, wrong passwords for a
+ * fixed list of usernames from many client addresses, and measuring the time
+ * spent verifying password hashes per second with and without the
+ * {@link LoginThrottle}.
+ *
+ * <p>
+ * Run with {@code mvn test -Pload-tests}.
+ * </p>
+ */
+@Tag("load")
+public class LoginThrottlingLoadTests {
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(8);
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final int USERNAMES = 100;
+
+    private static final int MAX_USERNAME_FAILURES = 10;
+
+    /**
+     * Tests that once every attacked username is locked out, the attack no
+     * longer costs any hashing, where it keeps every core hashing without the
+     * throttle.
+     */
+    @Test
+    public void testHashingStaysFlatDuringAttack() throws Exception {
+        // Arrange
+        CountingPasswordEncoder passwordEncoder = new CountingPasswordEncoder();
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        for (int i = 0; i < USERNAMES; i += 2)
+            userRepository.save(new ApplicationUser("user" + i, passwordEncoder.encode("password"),
+                    Set.of(new Role("1", "USER"))));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new UserService(userRepository));
+        provider.setPasswordEncoder(passwordEncoder);
+        AuthenticationManager unthrottled = new ProviderManager(provider);
+        AuthenticationManager throttled = new ThrottlingAuthenticationManager(unthrottled, new LoginThrottle(
+                new LoginThrottlingProperties(true, Duration.ofMinutes(15), 5, MAX_USERNAME_FAILURES, 100, 100_000)));
+
+        // Act
+        long[] before = attack(unthrottled, passwordEncoder);
+        long[] after = attack(throttled, passwordEncoder);
+        System.out.printf("Hashing ms per second with %d threads: unthrottled %s, throttled %s%n", THREADS,
+                Arrays.toString(millis(before)), Arrays.toString(millis(after)));
+
+        // Assert
+        long steadyBefore = Arrays.stream(before, before.length / 2, before.length).sum();
+        long steadyAfter = Arrays.stream(after, after.length / 2, after.length).sum();
+        assertTrue(steadyBefore > 0);
+        assertTrue(steadyAfter == 0, "Expected no hashing once locked out, was "
+                + TimeUnit.NANOSECONDS.toMillis(steadyAfter) + "ms");
+        assertTrue(passwordEncoder.verifications() <= USERNAMES * (MAX_USERNAME_FAILURES + THREADS),
+                "Expected at most the lockout threshold of hash verifications per username");
+    }
+
+    private static long[] attack(AuthenticationManager authenticationManager, CountingPasswordEncoder passwordEncoder)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        passwordEncoder.start((int) MEASUREMENT.toSeconds());
+        long deadline = System.nanoTime() + MEASUREMENT.toNanos();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken
+                            .unauthenticated("user" + random.nextInt(USERNAMES), "guess" + random.nextInt());
+                    token.setDetails(new WebAuthenticationDetails("10.0." + random.nextInt(256) + "."
+                            + random.nextInt(256), null));
+                    try {
+                        authenticationManager.authenticate(token);
+                    } catch (AuthenticationException e) {
+                        // Expected, every guess is wrong
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> worker : workers)
+            worker.get();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return passwordEncoder.stop();
+    }
+
+    private static long[] millis(long[] nanos) {
+        return Arrays.stream(nanos).map(TimeUnit.NANOSECONDS::toMillis).toArray();
+    }
+
+    /**
+     * BCrypt encoder recording the time spent in {@code matches} per second of
+     * the attack, and the number of calls.
+     */
+    private static final class CountingPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+
+        private volatile long started;
+
+        private volatile AtomicLongArray nanosPerSecond = new AtomicLongArray(0);
+
+        private volatile AtomicLongArray callsPerSecond = new AtomicLongArray(0);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            long start = System.nanoTime();
+            try {
+                return delegate.matches(rawPassword, encodedPassword);
+            } finally {
+                long end = System.nanoTime();
+                int second = (int) TimeUnit.NANOSECONDS.toSeconds(start - started);
+                AtomicLongArray nanos = nanosPerSecond;
+                if (second < nanos.length()) {
+                    nanos.addAndGet(second, end - start);
+                    callsPerSecond.incrementAndGet(second);
+                }
+            }
+        }
+
+        void start(int seconds) {
+            callsPerSecond = new AtomicLongArray(seconds);
+            nanosPerSecond = new AtomicLongArray(seconds);
+            started = System.nanoTime();
+        }
+
+        long[] stop() {
+            long[] nanos = new long[nanosPerSecond.length()];
+            for (int i = 0; i < nanos.length; i++)
+                nanos[i] = nanosPerSecond.get(i);
+            return nanos;
+        }
+
+        long verifications() {
+            long calls = 0;
+            for (int i = 0; i < callsPerSecond.length(); i++)
+                calls += callsPerSecond.get(i);
+            return calls;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.authentication.backend.configurations.MongoClientCustomizer;
+import com.authentication.backend.configurations.MongoClientProperties;
+import com.authentication.backend.configurations.UsernameProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.MongoPoolMetrics;
+import com.authentication.backend.repository.UserCredentialsRepositoryImpl;
+import com.authentication.backend.repository.UserRepository;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Load test of the credentials lookup through connection pools of several
+ * sizes, reporting the lookup tail latency and the time spent waiting for a
+ * connection.
+ *
+ * <p>
+ * Requires the local MongoDB instance configured in
+ * {@code application.properties}. Run with {@code mvn test -Pload-tests}.
+ * </p>
+ */
+@Tag("load")
+@SpringBootTest
+public class MongoPoolLoadTests {
+
+    private static final int LOOKUPS = Integer.getInteger("load.lookups", 500);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+
+    private static final String USERNAME = "pool-test-user";
+
+    @Autowired
+    private MongoProperties mongoProperties;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void tearDown() {
+        mongoTemplate.remove(Query.query(Criteria.where("userName").is(USERNAME)), ApplicationUser.class);
+    }
+
+    /**
+     * Tests that every lookup succeeds whatever the pool size, and that an
+     * undersized pool shows as check-out waits, while reporting p50, p99 and
+     * p99.9 of the lookups for each size.
+     */
+    @Test
+    public void testPoolSizeTailLatency() throws Exception {
+        // Arrange
+        userRepository.save(new ApplicationUser(USERNAME, "hash", new HashSet<>()));
+
+        // Act
+        Run undersized = run(1);
+        Run small = run(CONCURRENCY / 8);
+        Run sized = run(CONCURRENCY);
+
+        // Assert
+        for (Run run : List.of(undersized, small, sized)) {
+            System.out.println(run);
+            assertEquals(0, run.timeouts());
+        }
+        assertTrue(undersized.waitNanos() > sized.waitNanos(), "An undersized pool should wait for connections");
+    }
+
+    private Run run(int poolSize) throws Exception {
+        MongoClientProperties properties = new MongoClientProperties(poolSize, null, null, Duration.ofSeconds(30),
+                null, null, null, null, null, "primary");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongoProperties.determineUri()));
+        new MongoClientCustomizer(properties, new MongoPoolMetrics(meterRegistry)).customize(builder);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try (MongoClient client = MongoClients.create(builder.build())) {
+            UserCredentialsRepositoryImpl repository = new UserCredentialsRepositoryImpl(
+                    new MongoTemplate(client, mongoProperties.getMongoClientDatabase()),
+                    new UsernameProperties(false, "en"), properties);
+            for (int i = 0; i < LOOKUPS / 10; i++)
+                repository.findCredentialsByUsername(USERNAME).orElseThrow();
+
+            List<Future<long[]>> workers = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++)
+                workers.add(executor.submit(() -> {
+                    long[] samples = new long[LOOKUPS];
+                    for (int j = 0; j < LOOKUPS; j++) {
+                        long start = System.nanoTime();
+                        repository.findCredentialsByUsername(USERNAME).orElseThrow();
+                        samples[j] = (System.nanoTime() - start) / 1_000;
+                    }
+                    return samples;
+                }));
+
+            long[] samples = new long[LOOKUPS * CONCURRENCY];
+            for (int i = 0; i < CONCURRENCY; i++)
+                System.arraycopy(workers.get(i).get(), 0, samples, i * LOOKUPS, LOOKUPS);
+            Arrays.sort(samples);
+
+            Timer wait = meterRegistry.get("authentication.mongo.pool.wait").timer();
+            return new Run(poolSize, samples[samples.length / 2], samples[samples.length * 99 / 100],
+                    samples[samples.length * 999 / 1000], (long) wait.totalTime(TimeUnit.NANOSECONDS),
+                    (long) meterRegistry.get("authentication.mongo.pool.timeouts").counter().count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Latencies of the lookups through a pool of one size.
+     */
+    private record Run(int poolSize, long p50, long p99, long p999, long waitNanos, long timeouts) {
+
+        @Override
+        public String toString() {
+            return String.format("pool %3d: p50 %6d us, p99 %6d us, p99.9 %6d us | waited %6d ms in total",
+                    poolSize, p50, p99, p999, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.UserRepository;
+
+/**
+ * Benchmark comparing user lookup latency with embedded roles against the
+ * former {@code @DBRef} layout, for users holding 1, 10 and 100 roles.
+ *
+ * <p>
+ * Requires the local MongoDB instance configured in
+ * {@code application.properties}. Run with {@code mvn test -Pload-tests}.
+ * </p>
+ */
+@Tag("load")
+@SpringBootTest
+public class RoleStorageLatencyTests {
+
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void tearDown() {
+        mongoTemplate.remove(Query.query(Criteria.where("userName").regex("^benchmark-")), ApplicationUser.class);
+        mongoTemplate.dropCollection(ReferencingUser.class);
+        mongoTemplate.remove(Query.query(Criteria.where("authority").regex("^BENCHMARK_")), Role.class);
+    }
+
+    /**
+     * Tests that embedded roles are never slower to load than referenced roles,
+     * and reports the median and p99 latency of both layouts.
+     */
+    @Test
+    public void testEmbeddedRolesLatency() {
+        for (int roleCount : new int[] { 1, 10, 100 }) {
+            // Arrange
+            Set<Role> roles = new HashSet<>();
+            for (int i = 0; i < roleCount; i++)
+                roles.add(mongoTemplate.save(new Role("BENCHMARK_" + roleCount + "_" + i)));
+
+            String username = "benchmark-" + roleCount;
+            userRepository.save(new ApplicationUser(username, "hash", roles));
+            mongoTemplate.save(new ReferencingUser(username, roles));
+
+            // Act
+            long[] embedded = measure(() -> userRepository.findByUsername(username).orElseThrow());
+            long[] referenced = measure(() -> mongoTemplate.findOne(
+                    Query.query(Criteria.where("userName").is(username)), ReferencingUser.class));
+            System.out.printf("%3d roles: embedded p50 %6d us, p99 %6d us | @DBRef p50 %6d us, p99 %6d us%n",
+                    roleCount, embedded[0], embedded[1], referenced[0], referenced[1]);
+
+            // Assert
+            assertTrue(embedded[0] <= referenced[0], "Embedded roles should not be slower than @DBRef roles");
+        }
+    }
+
+    private static long[] measure(Runnable lookup) {
+        for (int i = 0; i < ITERATIONS / 10; i++)
+            lookup.run();
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            lookup.run();
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return new long[] { samples[ITERATIONS / 2], samples[ITERATIONS * 99 / 100] };
+    }
+
+    /**
+     * The former user layout, referencing its roles through {@code @DBRef}.
+     */
+    @Document(collection = "benchmark_users_dbref")
+    static class ReferencingUser {
+
+        @Id
+        private String userId;
+
+        @Field(name = "user_name")
+        private String userName;
+
+        @DBRef
+        private Set<Role> authorities;
+
+        ReferencingUser() {
+        }
+
+        ReferencingUser(String userName, Set<Role> authorities) {
+            this.userName = userName;
+            this.authorities = authorities;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.authentication.backend.BackendApplication;
+
+/**
+ * Measures the time from launch to the first authenticated request, the
+ * startup cost a new instance adds before it can take traffic.
+ *
+ * <p>
+ * Starts the application in-process, so the numbers include neither JVM
+ * startup nor the {@code fast-start} class-data-sharing archive; they show the
+ * effect of the asynchronous seeding and the lazy documentation beans, and of
+ * AOT processing when run with {@code -Dspring.aot.enabled=true} after
+ * {@code mvn package -Pfast-start}. Requires the local MongoDB instance
+ * configured in {@code application.properties}. Run with
+ * {@code mvn test -Pload-tests -Dtest=StartupTimeTests}.
+ * </p>
+ */
+@Tag("load")
+public class StartupTimeTests {
+
+    private static final Duration FIRST_REQUEST_BUDGET = Duration.ofSeconds(
+            Long.getLong("startup.budget-seconds", 30));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    /**
+     * Tests that the default administrator can authenticate within the budget
+     * from launch, and reports the time to readiness and to the first
+     * authenticated request.
+     */
+    @Test
+    public void testTimeToFirstAuthenticatedRequest() throws Exception {
+        // Arrange
+        long start = System.nanoTime();
+
+        // Act
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties("server.port=0")
+                .run()) {
+            long ready = System.nanoTime();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            int status = firstAuthenticatedStatus(URI.create("http://localhost:" + port + "/api/admin/"),
+                    start + FIRST_REQUEST_BUDGET.toNanos());
+            long firstRequest = System.nanoTime();
+            System.out.printf("Ready after %d ms, first authenticated request after %d ms%n",
+                    TimeUnit.NANOSECONDS.toMillis(ready - start),
+                    TimeUnit.NANOSECONDS.toMillis(firstRequest - start));
+
+            // Assert
+            assertEquals(200, status);
+            assertTrue(firstRequest - start < FIRST_REQUEST_BUDGET.toNanos());
+        }
+    }
+
+    /**
+     * Send the administrator's request until it succeeds or the deadline
+     * passes; it is rejected until the background seeding of an empty database
+     * completes.
+     */
+    private int firstAuthenticatedStatus(URI uri, long deadline) throws Exception {
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", authorization).GET().build();
+        while (true) {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 200 || System.nanoTime() > deadline)
+                return status;
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import com.authentication.backend.configurations.TokenConfiguration;
+import com.authentication.backend.configurations.TokenProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.services.TokenService;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+/**
+ * Benchmark comparing the per-request authentication cost of HTTP Basic
+ * (user lookup plus BCrypt verification) with validating a signed access token.
+ *
+ * <p>
+ * Run with {@code mvn test -Pload-tests}.
+ * </p>
+ */
+@Tag("load")
+public class TokenAuthenticationCostTests {
+
+    private static final int BASIC_ITERATIONS = 50;
+
+    private static final int TOKEN_ITERATIONS = 50_000;
+
+    /**
+     * Tests that validating an access token is at least a thousand times cheaper
+     * than a Basic authentication, and reports both costs.
+     */
+    @Test
+    public void testTokenValidationCost() {
+        // Arrange
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role("1", "USER"));
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", passwordEncoder.encode("password"), roles));
+        UserService userService = new UserService(userRepository);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userService);
+        provider.setPasswordEncoder(passwordEncoder);
+        AuthenticationManager basic = new ProviderManager(provider);
+
+        TokenProperties properties = new TokenProperties(true, null, "benchmark", Duration.ofMinutes(15),
+                Duration.ofDays(7));
+        SecretKey key = new SecretKeySpec("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8),
+                "HmacSHA256");
+        TokenService tokenService = new TokenService(new NimbusJwtEncoder(new ImmutableSecret<>(key)), key,
+                userService, properties);
+        JwtDecoder decoder = TokenConfiguration.decoder(key, properties, TokenService.ACCESS_TOKEN);
+        String accessToken = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated("Ethan", null,
+                List.copyOf(roles))).accessToken();
+
+        // Act
+        double basicNanos = averageNanos(BASIC_ITERATIONS,
+                () -> basic.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("Ethan", "password")));
+        double tokenNanos = averageNanos(TOKEN_ITERATIONS, () -> decoder.decode(accessToken));
+        System.out.printf("Per-request authentication cost: basic %.3f ms, token %.3f us%n",
+                basicNanos / 1_000_000, tokenNanos / 1_000);
+
+        // Assert
+        assertTrue(tokenNanos * 1_000 < basicNanos, "Token validation should cost microseconds");
+    }
+
+    private static double averageNanos(int iterations, Runnable authentication) {
+        for (int i = 0; i < iterations / 5; i++)
+            authentication.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            authentication.run();
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
@@ -0,0 +1,54 @@
+package com.authentication.backend.loadTests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.authentication.backend.support.HttpLoadGenerator;
+import com.authentication.backend.support.HttpLoadGenerator.Result;
+
+/**
+ * Load test of the virtual-thread execution mode with 10k concurrent
+ * connections, all of them needing a password verification.
+ *
+ * <p>
+ * Requires Java 21 and the local MongoDB instance configured in
+ * {@code application.properties}. Run with {@code mvn test -Pload-tests}.
+ * </p>
+ */
+@Tag("load")
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "authentication.credential-cache.enabled=false" })
+public class VirtualThreadLoadTests {
+
+    private static final int CONNECTIONS = Integer.getInteger("load.connections", 10_000);
+
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Tests that under 10k concurrent connections every request is either
+     * served or shed with a 503, never dropped or timed out.
+     */
+    @Test
+    public void testTenThousandConcurrentConnections() {
+        // Act
+        Result result = new HttpLoadGenerator().run(URI.create("http://localhost:" + port + "/api/user/"),
+                "admin", "password", CONNECTIONS, CONNECTIONS);
+        System.out.println("[virtual-threads] " + result);
+
+        // Assert
+        assertTrue(Set.of(200, 503).containsAll(result.statusCounts().keySet()),
+                "Only 200 and 503 responses expected: " + result.statusCounts());
+        assertTrue(result.statusCounts().getOrDefault(200, 0L) > 0, "Some requests should be served");
+    }
+}
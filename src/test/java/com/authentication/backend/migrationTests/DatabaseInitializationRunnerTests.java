@@ -0,0 +1,128 @@
+package com.authentication.backend.migrationTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.authentication.backend.configurations.StartupProperties;
+import com.authentication.backend.migrations.DatabaseInitializationRunner;
+import com.authentication.backend.migrations.DatabaseInitializer;
+
+/**
+ * Test suite for the {@link DatabaseInitializationRunner}.
+ */
+public class DatabaseInitializationRunnerTests {
+
+    /**
+     * Tests that a step failing while the database is unreachable is retried
+     * in the background, and that traffic is refused from readiness until
+     * every step completed.
+     */
+    @Test
+    public void testFailingStepIsRetriedWhileRefusingTraffic() throws Exception {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> completed = new CopyOnWriteArrayList<>();
+        DatabaseInitializer unreachable = () -> {
+            if (attempts.incrementAndGet() < 3)
+                throw new DataAccessResourceFailureException("Timed out");
+            completed.add("unreachable");
+        };
+        DatabaseInitializer next = () -> completed.add("next");
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+                Map.of("unreachable", unreachable, "next", next));
+
+        List<Object> events = new CopyOnWriteArrayList<>();
+        DatabaseInitializationRunner runner = new DatabaseInitializationRunner(
+                beanFactory.getBeanProvider(DatabaseInitializer.class),
+                new StartupProperties(true, Duration.ofMillis(100), true), events::add);
+        ApplicationReadyEvent ready = new ApplicationReadyEvent(new SpringApplication(), null, null, Duration.ZERO);
+
+        // Act
+        runner.run(null);
+        runner.onApplicationEvent(ready);
+        runner.getCompletion().get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(3, attempts.get());
+        assertTrue(completed.containsAll(List.of("unreachable", "next")));
+        List<ReadinessState> states = new ArrayList<>();
+        for (Object event : events)
+            if (event instanceof AvailabilityChangeEvent<?> change)
+                states.add((ReadinessState) change.getState());
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), states);
+    }
+
+    /**
+     * Tests that traffic is accepted once the steps required for readiness
+     * completed, while a later step such as the seeding still runs.
+     */
+    @Test
+    public void testReadinessDoesNotWaitForLaterSteps() throws Exception {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        DatabaseInitializer catalog = () -> {
+            if (attempts.incrementAndGet() < 2)
+                throw new DataAccessResourceFailureException("Timed out");
+        };
+        CountDownLatch seeding = new CountDownLatch(1);
+        DatabaseInitializer seeder = new DatabaseInitializer() {
+            @Override
+            public void initialize() {
+                try {
+                    seeding.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public boolean requiredForReadiness() {
+                return false;
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("catalog", catalog);
+        beanFactory.addBean("seeder", seeder);
+
+        List<ReadinessState> states = new CopyOnWriteArrayList<>();
+        DatabaseInitializationRunner runner = new DatabaseInitializationRunner(
+                beanFactory.getBeanProvider(DatabaseInitializer.class),
+                new StartupProperties(true, Duration.ofMillis(100), true), event -> {
+                    if (event instanceof AvailabilityChangeEvent<?> change)
+                        states.add((ReadinessState) change.getState());
+                });
+        ApplicationReadyEvent ready = new ApplicationReadyEvent(new SpringApplication(), null, null, Duration.ZERO);
+
+        // Act
+        runner.run(null);
+        runner.onApplicationEvent(ready);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (states.size() < 2 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+
+        // Assert
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), states);
+        assertFalse(runner.getCompletion().isDone());
+        seeding.countDown();
+        runner.getCompletion().get(10, TimeUnit.SECONDS);
+        assertEquals(2, states.size());
+    }
+}
@@ -0,0 +1,53 @@
+package com.authentication.backend.modelTests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.authentication.backend.configurations.ApplicationRuntimeHints;
+import com.authentication.backend.dto.UserImportRow;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+
+/**
+ * Test suite for the native image hints of {@link ApplicationRuntimeHints}.
+ */
+public class ApplicationRuntimeHintsTests {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    public void setUp() {
+        hints = new RuntimeHints();
+        new ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    /**
+     * Tests that the user and its embedded roles can be instantiated and
+     * mapped field by field, and Java-serialized.
+     */
+    @Test
+    public void testDocumentsAreMappableAndSerializable() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onField(ApplicationUser.class, "userName").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(ApplicationUser.class, "authorities").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Role.class, "authority").test(hints));
+        assertTrue(RuntimeHintsPredicates.serialization().onType(ApplicationUser.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.serialization().onType(Role.class).test(hints));
+    }
+
+    /**
+     * Tests that the import rows bound by the streaming import can be
+     * deserialized, and that the controller Javadoc is included.
+     */
+    @Test
+    public void testImportRowsAndJavadocAreIncluded() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserImportRow.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("com/authentication/backend/controllers/AdminController__Javadoc.json").test(hints));
+    }
+}
@@ -1,5 +1,7 @@
 package com.authentication.backend.modelTests;
 
+import java.util.Objects;
+
 import org.junit.jupiter.api.Test;
 
 import com.authentication.backend.models.Role;
@@ -75,6 +77,21 @@ public class RoleTests {
         assertEquals(role1.hashCode(), role2.hashCode());
     }
 
+    /**
+     * Tests that the hash code is unchanged from {@code Objects.hash}, including
+     * for roles without an id.
+     */
+    @Test
+    public void testRoleModelHashCodeMatchesObjectsHash() {
+        // Arrange
+        Role role = new Role("1", "ROLE_USER");
+        Role unsaved = new Role("ROLE_USER");
+
+        // Assert
+        assertEquals(Objects.hash("1", "ROLE_USER"), role.hashCode());
+        assertEquals(Objects.hash(null, "ROLE_USER"), unsaved.hashCode());
+    }
+
     /**
      * Tests the {@code toString} method of the {@link Role} model for logging and
      * debugging purposes.
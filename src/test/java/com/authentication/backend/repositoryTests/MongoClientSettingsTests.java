@@ -0,0 +1,118 @@
+package com.authentication.backend.repositoryTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.authentication.backend.configurations.MongoClientCustomizer;
+import com.authentication.backend.configurations.MongoClientProperties;
+import com.authentication.backend.configurations.UsernameProperties;
+import com.authentication.backend.repository.MongoPoolMetrics;
+import com.authentication.backend.repository.UserCredentialsRepositoryImpl;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test suite for the {@link MongoClientCustomizer}, the
+ * {@link MongoPoolMetrics} and the read preference of the credentials query.
+ */
+public class MongoClientSettingsTests {
+
+    /**
+     * Tests that the properties set override the connection string, while the
+     * unset ones keep its values.
+     */
+    @Test
+    public void testPropertiesOverrideConnectionString() {
+        // Arrange
+        MongoClientProperties properties = new MongoClientProperties(8, null, 4, Duration.ofSeconds(2), null,
+                null, Duration.ofSeconds(5), null, List.of("zlib"), "primary");
+        MongoPoolMetrics poolMetrics = new MongoPoolMetrics(new SimpleMeterRegistry());
+        MongoClientSettings.Builder builder = MongoClientSettings.builder().applyConnectionString(
+                new ConnectionString("mongodb://localhost/?maxPoolSize=50&serverSelectionTimeoutMS=300"));
+
+        // Act
+        new MongoClientCustomizer(properties, poolMetrics).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        // Assert
+        ConnectionPoolSettings pool = settings.getConnectionPoolSettings();
+        assertEquals(8, pool.getMaxSize());
+        assertEquals(4, pool.getMaxConnecting());
+        assertEquals(2000, pool.getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertTrue(pool.getConnectionPoolListeners().contains(poolMetrics));
+        assertEquals(5000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(300, settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of(MongoCompressor.createZlibCompressor().getName()),
+                settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+    }
+
+    /**
+     * Tests that the pool metrics record check-out waits, timeouts and the
+     * fraction of connections in use.
+     */
+    @Test
+    public void testPoolMetricsRecordSaturation() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MongoPoolMetrics poolMetrics = new MongoPoolMetrics(meterRegistry);
+        ServerId serverId = new ServerId(new ClusterId(), new ServerAddress("localhost"));
+        ConnectionId connectionId = new ConnectionId(serverId);
+
+        // Act
+        poolMetrics.connectionPoolCreated(new ConnectionPoolCreatedEvent(serverId,
+                ConnectionPoolSettings.builder().maxSize(2).build()));
+        poolMetrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, 1_000));
+        poolMetrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 2, 1_000));
+        poolMetrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 3,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.SECONDS.toNanos(2)));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("authentication.mongo.pool.utilization").gauge().value());
+        assertEquals(1.0, meterRegistry.get("authentication.mongo.pool.timeouts").counter().count());
+        assertEquals(3, meterRegistry.get("authentication.mongo.pool.wait").timer().count());
+        assertEquals(2.0, meterRegistry.get("authentication.mongo.pool.wait").timer().max(TimeUnit.SECONDS));
+
+        // Act
+        poolMetrics.connectionCheckedIn(new ConnectionCheckedInEvent(connectionId, 1));
+
+        // Assert
+        assertEquals(0.5, meterRegistry.get("authentication.mongo.pool.utilization").gauge().value());
+    }
+
+    /**
+     * Tests that the credentials query carries the configured read preference.
+     */
+    @Test
+    public void testCredentialsQueryUsesAuthReadPreference() {
+        // Arrange
+        MongoClientProperties properties = new MongoClientProperties(null, null, null, null, null, null, null,
+                null, null, "secondaryPreferred");
+        UserCredentialsRepositoryImpl repository = new UserCredentialsRepositoryImpl(null,
+                new UsernameProperties(false, "en"), properties);
+
+        // Act
+        ReadPreference readPreference = repository.credentialsQuery("Ethan").getReadPreference();
+
+        // Assert
+        assertEquals(ReadPreference.secondaryPreferred(), readPreference);
+    }
+}
@@ -0,0 +1,101 @@
+package com.authentication.backend.repositoryTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthoritySet;
+import com.authentication.backend.support.InMemoryRoleRepository;
+
+/**
+ * Test suite for the {@link RoleCatalog}.
+ */
+public class RoleCatalogTests {
+
+    private InMemoryRoleRepository roleRepository;
+
+    private RoleCatalog roleCatalog;
+
+    private Role admin;
+
+    @BeforeEach
+    public void setUp() {
+        roleRepository = new InMemoryRoleRepository();
+        admin = roleRepository.save(new Role("1", "ADMIN"));
+        roleRepository.save(new Role("2", "USER"));
+        roleCatalog = new RoleCatalog(roleRepository);
+    }
+
+    /**
+     * Tests that roles resolve to the same shared instance by id and by
+     * authority, and that embedded copies are interned.
+     */
+    @Test
+    public void testRolesAreShared() {
+        // Act
+        Set<Role> interned = roleCatalog.intern(List.of(new Role("1", "ADMIN"), new SimpleGrantedAuthority("USER")));
+
+        // Assert
+        assertSame(admin, roleCatalog.findByAuthority("ADMIN").orElseThrow());
+        assertSame(admin, roleCatalog.findById("1").orElseThrow());
+        assertEquals(2, interned.size());
+        assertTrue(interned.stream().anyMatch(role -> role == admin));
+        assertTrue(interned.contains(roleCatalog.findByAuthority("USER").orElseThrow()));
+    }
+
+    /**
+     * Tests that the catalog only changes when it is reloaded, and then as a
+     * whole.
+     */
+    @Test
+    public void testReloadSwapsSnapshot() {
+        // Arrange
+        List<Role> before = roleCatalog.findAll();
+        roleRepository.save(new Role("3", "AUDITOR"));
+
+        // Assert
+        assertTrue(roleCatalog.findByAuthority("AUDITOR").isEmpty());
+
+        // Act
+        roleCatalog.reload();
+
+        // Assert
+        assertEquals(2, before.size());
+        assertEquals(3, roleCatalog.findAll().size());
+        assertTrue(roleCatalog.findByAuthority("AUDITOR").isPresent());
+    }
+
+    /**
+     * Tests that authority indexes survive a reload that removes a role, so
+     * authority sets computed earlier keep their meaning.
+     */
+    @Test
+    public void testAuthorityIndexesAreStable() {
+        // Arrange
+        int adminIndex = roleCatalog.indexOf("ADMIN");
+        AuthoritySet authorities = roleCatalog.authoritySet(List.of(admin));
+
+        // Act
+        roleRepository.delete(admin);
+        roleCatalog.reload();
+        roleRepository.save(new Role("3", "AUDITOR"));
+        roleCatalog.reload();
+
+        // Assert
+        assertEquals(adminIndex, roleCatalog.indexOf("ADMIN"));
+        assertNotEquals(adminIndex, roleCatalog.indexOf("AUDITOR"));
+        assertTrue(authorities.contains(roleCatalog.indexOf("ADMIN")));
+        assertFalse(authorities.contains(roleCatalog.indexOf("AUDITOR")));
+    }
+}
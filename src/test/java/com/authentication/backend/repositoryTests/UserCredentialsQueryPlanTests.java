@@ -0,0 +1,93 @@
+package com.authentication.backend.repositoryTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.UserCredentialsRepositoryImpl;
+import com.authentication.backend.repository.UserRepository;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+
+/**
+ * Verifies that the authentication query is an index point read on the
+ * unique {@code user_name} index.
+ *
+ * <p>
+ * Requires the local MongoDB instance configured in
+ * {@code application.properties}.
+ * </p>
+ */
+@SpringBootTest
+public class UserCredentialsQueryPlanTests {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCredentialsRepositoryImpl credentialsRepository;
+
+    @AfterEach
+    public void tearDown() {
+        mongoTemplate.remove(Query.query(Criteria.where("userName").regex("^plan-test-")), ApplicationUser.class);
+    }
+
+    /**
+     * Tests that the credentials query uses an IXSCAN and examines exactly one
+     * document.
+     */
+    @Test
+    public void testCredentialsQueryUsesUsernameIndex() {
+        // Arrange
+        for (int i = 0; i < 50; i++)
+            userRepository.save(new ApplicationUser("plan-test-" + i, "hash", new HashSet<>()));
+
+        Query query = credentialsRepository.credentialsQuery("plan-test-7");
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(ApplicationUser.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        // Act
+        FindIterable<Document> find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(ApplicationUser.class))
+                .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .projection(queryMapper.getMappedFields(query.getFieldsObject(), entity))
+                .limit(1);
+        query.getCollation().ifPresent(collation -> find.collation(collation.toMongoCollation()));
+        Document explain = find.explain(ExplainVerbosity.EXECUTION_STATS);
+
+        // Assert
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        assertTrue(containsStage(queryPlanner.get("winningPlan"), "IXSCAN"), "Expected an IXSCAN: " + queryPlanner);
+        Document executionStats = explain.get("executionStats", Document.class);
+        assertEquals(1, executionStats.get("totalDocsExamined", Number.class).intValue());
+        assertEquals(1, executionStats.get("nReturned", Number.class).intValue());
+    }
+
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.getString("stage")))
+                return true;
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof List<?> list)
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        return false;
+    }
+}
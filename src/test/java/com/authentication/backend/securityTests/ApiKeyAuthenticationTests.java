@@ -0,0 +1,201 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.AuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.authentication.AuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+
+import com.authentication.backend.configurations.ApiKeyProperties;
+import com.authentication.backend.dto.IssuedApiKey;
+import com.authentication.backend.models.ApiKey;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.ApiKeyAuthenticationConverter;
+import com.authentication.backend.security.ApiKeyAuthenticationProvider;
+import com.authentication.backend.security.ApiKeyAuthenticationToken;
+import com.authentication.backend.services.ApiKeyService;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryApiKeyRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Test suite for the {@link ApiKeyService} and the
+ * {@link ApiKeyAuthenticationProvider} authenticating requests by API key.
+ */
+public class ApiKeyAuthenticationTests {
+
+    private final ApiKeyProperties properties = new ApiKeyProperties(true, "a-secret-shared-by-all-nodes",
+            "X-API-Key", 100, Duration.ofMinutes(1));
+
+    private AtomicLong ticker;
+
+    private InMemoryApiKeyRepository apiKeyRepository;
+
+    private UserService userService;
+
+    private ApiKeyService apiKeyService;
+
+    private ProviderManager providerManager;
+
+    @BeforeEach
+    public void setUp() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", "$2a$10$storedHashOfThePassword",
+                Set.of(new Role("1", "USER"))));
+        userService = new UserService(userRepository);
+
+        ticker = new AtomicLong();
+        apiKeyRepository = new InMemoryApiKeyRepository();
+        apiKeyService = node();
+        providerManager = new ProviderManager(new ApiKeyAuthenticationProvider(apiKeyService));
+    }
+
+    /**
+     * Tests that an issued key authenticates as its user, that only a keyed hash
+     * of its secret is stored, and that altered or unknown keys are rejected.
+     */
+    @Test
+    public void testIssuedKeyAuthenticates() {
+        // Arrange
+        IssuedApiKey issued = apiKeyService.issue("Ethan", "ci");
+        ApiKey stored = apiKeyRepository.findById(issued.keyId()).orElseThrow();
+        String secret = issued.apiKey().substring(issued.apiKey().indexOf(ApiKeyService.SEPARATOR) + 1);
+
+        // Act
+        Authentication authentication = providerManager.authenticate(
+                ApiKeyAuthenticationToken.unauthenticated(issued.apiKey()));
+
+        // Assert
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("Ethan", authentication.getName());
+        assertEquals(Set.of("USER"), Set.copyOf(authentication.getAuthorities().stream()
+                .map(authority -> authority.getAuthority()).toList()));
+        assertNull(authentication.getCredentials());
+        assertTrue(issued.apiKey().startsWith(stored.getPrefix() + ApiKeyService.SEPARATOR));
+        assertFalse(stored.getSecretHash().contains(secret));
+        assertEquals(1, apiKeyService.list("Ethan").size());
+        assertThrows(BadCredentialsException.class, () -> providerManager.authenticate(
+                ApiKeyAuthenticationToken.unauthenticated(issued.apiKey() + "x")));
+        assertThrows(BadCredentialsException.class, () -> providerManager.authenticate(
+                ApiKeyAuthenticationToken.unauthenticated("unknown." + secret)));
+        assertThrows(BadCredentialsException.class, () -> providerManager.authenticate(
+                ApiKeyAuthenticationToken.unauthenticated(secret)));
+    }
+
+    /**
+     * Tests that a revoked key is rejected at once by the node revoking it, and
+     * by another node caching it once its cache entry expired.
+     */
+    @Test
+    public void testRevocationPropagatesWithinTimeToLive() {
+        // Arrange
+        ApiKeyService otherNode = node();
+        IssuedApiKey issued = apiKeyService.issue("Ethan", "ci");
+        assertTrue(otherNode.resolve(issued.apiKey()).isPresent());
+        assertFalse(apiKeyService.revoke("someone", issued.keyId()));
+
+        // Act
+        boolean revoked = apiKeyService.revoke("Ethan", issued.keyId());
+
+        // Assert
+        assertTrue(revoked);
+        assertTrue(apiKeyService.resolve(issued.apiKey()).isEmpty());
+        assertTrue(otherNode.resolve(issued.apiKey()).isPresent());
+
+        // Act
+        ticker.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        // Assert
+        assertTrue(otherNode.resolve(issued.apiKey()).isEmpty());
+    }
+
+    /**
+     * Tests that API keys cannot be enabled without a hashing secret, as keys
+     * hashed with a key generated per process would not survive a restart.
+     */
+    @Test
+    public void testMissingSecretIsRejected() {
+        // Arrange
+        ApiKeyProperties withoutSecret = new ApiKeyProperties(true, " ", "X-API-Key", 100, Duration.ofMinutes(1));
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> new ApiKeyService(apiKeyRepository, userService,
+                withoutSecret, ticker::get, Clock.systemUTC()));
+    }
+
+    /**
+     * Tests that the filter authenticates requests carrying a valid key, answers
+     * invalid keys through the entry point, and leaves other requests alone.
+     */
+    @Test
+    public void testFilterAuthenticatesRequests() throws Exception {
+        // Arrange
+        IssuedApiKey issued = apiKeyService.issue("Ethan", "ci");
+        AuthenticationFilter filter = new AuthenticationFilter(providerManager,
+                new ApiKeyAuthenticationConverter(properties.headerName()));
+        filter.setSuccessHandler((request, response, authentication) -> {
+        });
+        filter.setFailureHandler(
+                new AuthenticationEntryPointFailureHandler(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+
+        try {
+            // Act
+            MockFilterChain validChain = new MockFilterChain();
+            MockHttpServletRequest valid = new MockHttpServletRequest();
+            valid.addHeader("X-API-Key", issued.apiKey());
+            filter.doFilter(valid, new MockHttpServletResponse(), validChain);
+
+            // Assert
+            assertSame(valid, validChain.getRequest());
+            assertEquals("Ethan", SecurityContextHolder.getContext().getAuthentication().getName());
+            SecurityContextHolder.clearContext();
+
+            // Act
+            MockFilterChain invalidChain = new MockFilterChain();
+            MockHttpServletRequest invalid = new MockHttpServletRequest();
+            invalid.addHeader("X-API-Key", issued.apiKey() + "x");
+            MockHttpServletResponse invalidResponse = new MockHttpServletResponse();
+            filter.doFilter(invalid, invalidResponse, invalidChain);
+
+            // Assert
+            assertNull(invalidChain.getRequest());
+            assertEquals(401, invalidResponse.getStatus());
+
+            // Act
+            MockFilterChain anonymousChain = new MockFilterChain();
+            MockHttpServletRequest anonymous = new MockHttpServletRequest();
+            filter.doFilter(anonymous, new MockHttpServletResponse(), anonymousChain);
+
+            // Assert
+            assertSame(anonymous, anonymousChain.getRequest());
+            assertNull(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private ApiKeyService node() {
+        return new ApiKeyService(apiKeyRepository, userService, properties, ticker::get, Clock.systemUTC());
+    }
+}
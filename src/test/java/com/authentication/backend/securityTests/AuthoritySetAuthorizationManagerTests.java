@@ -0,0 +1,115 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.AuthoritySet;
+import com.authentication.backend.security.AuthoritySetAuthorizationManager;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryRoleRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Test suite for the {@link AuthoritySetAuthorizationManager} and the
+ * {@link AuthoritySet} it evaluates.
+ */
+public class AuthoritySetAuthorizationManagerTests {
+
+    private RoleCatalog roleCatalog;
+
+    private UserService userService;
+
+    @BeforeEach
+    public void setUp() {
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        roleRepository.save(new Role("1", "ADMIN"));
+        roleRepository.save(new Role("2", "USER"));
+        roleCatalog = new RoleCatalog(roleRepository);
+
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("admin", "hash", Set.of(new Role("1", "ADMIN"))));
+        userRepository.save(new ApplicationUser("john.doe", "hash", Set.of(new Role("2", "USER"))));
+        userService = new UserService(userRepository, AuthenticationMetrics.noop(), roleCatalog);
+    }
+
+    /**
+     * Tests that loaded users carry their authorities as a bitset and are
+     * authorized by it.
+     */
+    @Test
+    public void testLoadedUsersAreAuthorizedByBitset() {
+        // Arrange
+        AuthoritySetAuthorizationManager<Object> adminOnly = AuthoritySetAuthorizationManager
+                .hasRole(roleCatalog, "ADMIN");
+        AuthoritySetAuthorizationManager<Object> anyUser = AuthoritySetAuthorizationManager
+                .hasAnyRole(roleCatalog, "USER", "ADMIN");
+        ApplicationUser admin = (ApplicationUser) userService.loadUserByUsername("admin");
+        ApplicationUser user = (ApplicationUser) userService.loadUserByUsername("john.doe");
+
+        // Assert
+        assertNotNull(admin.getAuthoritySet());
+        assertTrue(admin.getAuthoritySet().contains(roleCatalog.indexOf("ADMIN")));
+        assertTrue(adminOnly.check(() -> authenticated(admin), null).isGranted());
+        assertFalse(adminOnly.check(() -> authenticated(user), null).isGranted());
+        assertTrue(anyUser.check(() -> authenticated(user), null).isGranted());
+    }
+
+    /**
+     * Tests that principals without a precomputed bitset are authorized by their
+     * granted authorities, and anonymous users are denied.
+     */
+    @Test
+    public void testOtherPrincipalsFallBackToGrantedAuthorities() {
+        // Arrange
+        AuthoritySetAuthorizationManager<Object> adminOnly = AuthoritySetAuthorizationManager
+                .hasAuthority(roleCatalog, "ADMIN");
+        Authentication bearer = UsernamePasswordAuthenticationToken.authenticated("service", null,
+                List.of(new SimpleGrantedAuthority("ADMIN")));
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+                List.of(new SimpleGrantedAuthority("ADMIN")));
+
+        // Assert
+        assertTrue(adminOnly.check(() -> bearer, null).isGranted());
+        assertFalse(adminOnly.check(() -> anonymous, null).isGranted());
+        assertFalse(adminOnly.check(() -> null, null).isGranted());
+    }
+
+    /**
+     * Tests the set operations across several words of the bitset.
+     */
+    @Test
+    public void testAuthoritySetOperations() {
+        // Arrange
+        AuthoritySet held = AuthoritySet.of(1, 70, 200);
+
+        // Assert
+        assertTrue(held.contains(70));
+        assertFalse(held.contains(71));
+        assertFalse(held.contains(1000));
+        assertTrue(held.containsAny(AuthoritySet.of(3, 200)));
+        assertFalse(held.containsAny(AuthoritySet.of(3, 64)));
+        assertTrue(held.containsAll(AuthoritySet.of(1, 200)));
+        assertFalse(AuthoritySet.of(1).containsAll(held));
+        assertTrue(AuthoritySet.of(1).equals(AuthoritySet.of(1)));
+        assertTrue(AuthoritySet.EMPTY.isEmpty());
+    }
+
+    private static Authentication authenticated(ApplicationUser user) {
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,78 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.authentication.backend.security.BoundedPasswordEncoder;
+import com.authentication.backend.security.PasswordHashingSaturatedException;
+
+/**
+ * Test suite for the {@link BoundedPasswordEncoder}.
+ */
+public class BoundedPasswordEncoderTests {
+
+    /**
+     * Tests that verification results of the delegate are returned.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testMatchesDelegates() {
+        // Arrange
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(NoOpPasswordEncoder.getInstance(), 1, 1,
+                Duration.ofSeconds(5))) {
+            // Assert
+            assertTrue(encoder.matches("password", "password"));
+            assertFalse(encoder.matches("password", "other"));
+        }
+    }
+
+    /**
+     * Tests that verifications are rejected once the thread and the queue are
+     * busy.
+     */
+    @Test
+    public void testSaturationIsRejected() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(5))) {
+            // Act: one verification running, one queued
+            callers.submit(() -> encoder.matches("a", "a"));
+            callers.submit(() -> encoder.matches("b", "b"));
+            while (encoder.getExecutor().getQueue().isEmpty())
+                Thread.onSpinWait();
+
+            // Assert
+            assertThrows(PasswordHashingSaturatedException.class, () -> encoder.matches("c", "c"));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.authentication.backend.security.CachingAuthenticationManager;
+
+/**
+ * Test suite for the {@link CachingAuthenticationManager}.
+ */
+public class CachingAuthenticationManagerTests {
+
+    private AtomicInteger delegateCalls;
+
+    private CachingAuthenticationManager manager;
+
+    @BeforeEach
+    public void setUp() {
+        delegateCalls = new AtomicInteger();
+        AuthenticationManager delegate = authentication -> {
+            delegateCalls.incrementAndGet();
+            if (!"password".equals(authentication.getCredentials()))
+                throw new BadCredentialsException("Bad credentials");
+            return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null,
+                    List.of(new SimpleGrantedAuthority("USER")));
+        };
+        manager = new CachingAuthenticationManager(delegate, 100, Duration.ofMinutes(1), "test-secret");
+    }
+
+    /**
+     * Tests that a repeated successful authentication is answered from the cache.
+     */
+    @Test
+    public void testRepeatedAuthenticationIsCached() {
+        // Act
+        manager.authenticate(token("john.doe", "password"));
+        manager.authenticate(token("john.doe", "password"));
+
+        // Assert
+        assertEquals(1, delegateCalls.get());
+        assertEquals(1, manager.hitCount());
+        assertEquals(1, manager.missCount());
+    }
+
+    /**
+     * Tests that failed authentications are never cached and a different
+     * password never hits the cached entry.
+     */
+    @Test
+    public void testWrongPasswordIsNotCached() {
+        // Arrange
+        manager.authenticate(token("john.doe", "password"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("john.doe", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("john.doe", "wrong")));
+        assertEquals(3, delegateCalls.get());
+    }
+
+    /**
+     * Tests that invalidation events evict the cached credentials.
+     */
+    @Test
+    public void testInvalidationEvictsEntries() {
+        // Arrange
+        manager.authenticate(token("john.doe", "password"));
+        manager.authenticate(token("jane.smith", "password"));
+
+        // Act
+        manager.onApplicationEvent(AuthenticationInvalidationEvent.forUser(this, "john.doe"));
+        manager.authenticate(token("john.doe", "password"));
+        manager.authenticate(token("jane.smith", "password"));
+
+        // Assert
+        assertEquals(3, delegateCalls.get());
+
+        // Act
+        manager.onApplicationEvent(AuthenticationInvalidationEvent.forAll(this));
+        manager.authenticate(token("jane.smith", "password"));
+
+        // Assert
+        assertEquals(4, delegateCalls.get());
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,56 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.authentication.backend.configurations.UserCacheProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.authentication.backend.security.CaffeineUserCache;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Test suite for the {@link CaffeineUserCache}.
+ */
+public class CaffeineUserCacheTests {
+
+    private CaffeineUserCache userCache;
+
+    @BeforeEach
+    public void setUp() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        UserCacheProperties properties = new UserCacheProperties(true, 100, Duration.ofMinutes(10),
+                Duration.ofMinutes(1), false, "none", Duration.ofMinutes(10), "none");
+        userCache = new CaffeineUserCache(new UserService(userRepository), properties);
+    }
+
+    /**
+     * Tests that cached users are returned until they are invalidated.
+     */
+    @Test
+    public void testInvalidationEvictsUser() {
+        // Arrange
+        userCache.putUserInCache(new ApplicationUser("john.doe", "hash", new HashSet<>()));
+        userCache.putUserInCache(new ApplicationUser("jane.smith", "hash", new HashSet<>()));
+
+        // Act
+        userCache.onApplicationEvent(AuthenticationInvalidationEvent.forUser(this, "john.doe"));
+
+        // Assert
+        assertNull(userCache.getUserFromCache("john.doe"));
+        assertNotNull(userCache.getUserFromCache("jane.smith"));
+
+        // Act
+        userCache.onApplicationEvent(AuthenticationInvalidationEvent.forAll(this));
+
+        // Assert
+        assertNull(userCache.getUserFromCache("jane.smith"));
+    }
+}
@@ -0,0 +1,223 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockCookie;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import com.authentication.backend.configurations.SessionProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.authentication.backend.security.CaffeineSessionStore;
+import com.authentication.backend.security.CompactSecurityContextRepository;
+import com.authentication.backend.security.CompactSessionCodec;
+import com.authentication.backend.support.InMemoryRoleRepository;
+
+/**
+ * Test suite for the {@link CompactSecurityContextRepository} and the
+ * {@link CompactSessionCodec} it stores sessions with.
+ */
+public class CompactSessionTests {
+
+    private AtomicLong ticker;
+
+    private RoleCatalog roleCatalog;
+
+    private ApplicationUser user;
+
+    private CompactSecurityContextRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        Role userRole = roleRepository.save(new Role("1", "USER"));
+        Role adminRole = roleRepository.save(new Role("2", "ADMIN"));
+        roleCatalog = new RoleCatalog(roleRepository);
+        roleCatalog.reload();
+
+        user = new ApplicationUser("Ethan", "$2a$10$storedHashOfThePassword", Set.of(userRole, adminRole));
+        user.setUserId("42");
+
+        ticker = new AtomicLong();
+        SessionProperties properties = new SessionProperties(true, "memory", Duration.ofMinutes(30), 100,
+                "AUTH_SESSION", true);
+        repository = new CompactSecurityContextRepository(
+                new CaffeineSessionStore(100, properties.idleTimeout(), ticker::get), roleCatalog, properties);
+    }
+
+    /**
+     * Tests that a session holds the user id, username and roles, without the
+     * password hash, in a few dozen bytes.
+     */
+    @Test
+    public void testCodecRoundTrip() {
+        // Act
+        byte[] session = CompactSessionCodec.encode(user);
+        ApplicationUser decoded = CompactSessionCodec.decode(session, roleCatalog);
+
+        // Assert
+        assertTrue(session.length < 64, "Session took " + session.length + " bytes");
+        assertFalse(new String(session, StandardCharsets.ISO_8859_1).contains("storedHash"));
+        assertEquals("42", decoded.getUserId());
+        assertEquals("Ethan", decoded.getUsername());
+        assertNull(decoded.getPassword());
+        assertEquals(user.getAuthorities(), decoded.getAuthorities());
+        assertTrue(decoded.getAuthoritySet().contains(roleCatalog.indexOf("ADMIN")));
+    }
+
+    /**
+     * Tests that a saved context sets the session cookie once, and that a
+     * request with the cookie is restored to the same user.
+     */
+    @Test
+    public void testSessionRestoresAuthentication() {
+        // Arrange
+        String sessionId = login();
+
+        // Act
+        DeferredSecurityContext restored = repository.loadDeferredContext(request(sessionId));
+        DeferredSecurityContext anonymous = repository.loadDeferredContext(new MockHttpServletRequest());
+        DeferredSecurityContext unknown = repository.loadDeferredContext(request("unknown"));
+
+        // Assert
+        assertFalse(restored.isGenerated());
+        assertEquals("Ethan", restored.get().getAuthentication().getName());
+        assertEquals(user.getAuthorities(), Set.copyOf(restored.get().getAuthentication().getAuthorities()));
+        assertTrue(anonymous.isGenerated());
+        assertNull(anonymous.get().getAuthentication());
+        assertTrue(unknown.isGenerated());
+    }
+
+    /**
+     * Tests that a session ends on logout, on the invalidation of its user, and
+     * once idle for the timeout.
+     */
+    @Test
+    public void testSessionsEnd() {
+        // Arrange
+        String loggedOut = login();
+        String invalidated = login();
+        String idle = login();
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.logout(request(loggedOut), response, null);
+        repository.onApplicationEvent(AuthenticationInvalidationEvent.forUser(this, "Someone"));
+
+        // Assert
+        assertFalse(repository.containsContext(request(loggedOut)));
+        assertEquals(0, response.getCookie("AUTH_SESSION").getMaxAge());
+        assertTrue(repository.containsContext(request(invalidated)));
+
+        // Act
+        repository.onApplicationEvent(AuthenticationInvalidationEvent.forUser(this, "Ethan"));
+
+        // Assert
+        assertFalse(repository.containsContext(request(invalidated)));
+        assertFalse(repository.containsContext(request(idle)));
+
+        // Arrange
+        String active = login();
+        ticker.addAndGet(Duration.ofMinutes(20).toNanos());
+        assertTrue(repository.containsContext(request(active)));
+
+        // Act
+        ticker.addAndGet(Duration.ofMinutes(31).toNanos());
+
+        // Assert
+        assertFalse(repository.containsContext(request(active)));
+    }
+
+    /**
+     * Tests that logins elsewhere than the login endpoint only open a session
+     * when the request already carries a session cookie.
+     */
+    @Test
+    public void testOnlyLoginsAskingForSessionOpenOne() {
+        // Arrange
+        MockHttpServletRequest basic = new MockHttpServletRequest("GET", "/api/user/");
+        basic.setServletPath("/api/user/");
+        MockHttpServletRequest expired = request("expired");
+        expired.setServletPath("/api/user/");
+
+        // Act
+        MockHttpServletResponse basicResponse = new MockHttpServletResponse();
+        repository.saveContext(context(), basic, basicResponse);
+        MockHttpServletResponse expiredResponse = new MockHttpServletResponse();
+        repository.saveContext(context(), expired, expiredResponse);
+
+        // Assert
+        assertNull(basicResponse.getCookie("AUTH_SESSION"));
+        String sessionId = expiredResponse.getCookie("AUTH_SESSION").getValue();
+        assertTrue(repository.containsContext(request(sessionId)));
+    }
+
+    /**
+     * Tests that the store removes every session of one user, including
+     * sessions saved after others expired, and only that user's.
+     */
+    @Test
+    public void testStoreRemovesSessionsByUsername() {
+        // Arrange
+        CaffeineSessionStore store = new CaffeineSessionStore(100, Duration.ofMinutes(30), ticker::get);
+        byte[] session = CompactSessionCodec.encode(user);
+        store.save("expired", "Ethan", session);
+        ticker.addAndGet(Duration.ofMinutes(31).toNanos());
+        store.getCache().cleanUp();
+        store.save("first", "Ethan", session);
+        store.save("second", "Ethan", session);
+        store.save("other", "Someone", session);
+        store.remove("second");
+
+        // Act
+        store.removeByUsername("Ethan");
+
+        // Assert
+        assertNull(store.find("expired"));
+        assertNull(store.find("first"));
+        assertNotNull(store.find("other"));
+    }
+
+    private String login() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST",
+                CompactSecurityContextRepository.LOGIN_PATH);
+        request.setServletPath(CompactSecurityContextRepository.LOGIN_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        SecurityContextImpl context = context();
+        repository.saveContext(context, request, response);
+        repository.saveContext(context, request, response);
+
+        assertEquals(1, response.getHeaders("Set-Cookie").size());
+        assertNotNull(response.getCookie("AUTH_SESSION"));
+        assertTrue(response.getCookie("AUTH_SESSION").isHttpOnly());
+        return response.getCookie("AUTH_SESSION").getValue();
+    }
+
+    private SecurityContextImpl context() {
+        return new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+
+    private static MockHttpServletRequest request(String sessionId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new MockCookie("AUTH_SESSION", sessionId));
+        return request;
+    }
+}
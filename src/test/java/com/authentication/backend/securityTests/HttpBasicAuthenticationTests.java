@@ -0,0 +1,158 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.authentication.backend.configurations.ApiKeyProperties;
+import com.authentication.backend.configurations.AuthorizationRulesProperties;
+import com.authentication.backend.configurations.CredentialCacheProperties;
+import com.authentication.backend.configurations.LoginThrottlingProperties;
+import com.authentication.backend.configurations.PasswordEncodingProperties;
+import com.authentication.backend.configurations.PasswordHashingProperties;
+import com.authentication.backend.configurations.SpringSecurityConfiguration;
+import com.authentication.backend.configurations.UserCacheProperties;
+import com.authentication.backend.controllers.UserController;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.CachingAuthenticationManager;
+import com.authentication.backend.security.LoginThrottle;
+import com.authentication.backend.security.PathRuleAuthorizationManager;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryAuthorizationRuleRepository;
+import com.authentication.backend.support.InMemoryRoleRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test suite for HTTP Basic logins through the security filter chain of
+ * {@link SpringSecurityConfiguration}, against in-memory repositories.
+ *
+ * <p>
+ * The user cache is disabled, so a request that does not reach the user
+ * lookup was answered by the verified-credential cache. The context, and with
+ * it the meters and failure counters, is shared by all tests, so each uses its
+ * own user and measures differences.
+ * </p>
+ */
+@WebMvcTest(controllers = UserController.class, properties = {
+        "authentication.user-cache.enabled=false",
+        "authentication.password-encoding.cost=4" })
+@Import({ SpringSecurityConfiguration.class, UserService.class, RoleCatalog.class, AuthenticationMetrics.class,
+        LoginThrottle.class, PathRuleAuthorizationManager.class })
+@EnableConfigurationProperties({ PasswordEncodingProperties.class, PasswordHashingProperties.class,
+        UserCacheProperties.class, CredentialCacheProperties.class, LoginThrottlingProperties.class,
+        AuthorizationRulesProperties.class, ApiKeyProperties.class })
+public class HttpBasicAuthenticationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemoryUserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class InMemoryRepositories {
+
+        @Bean
+        InMemoryUserRepository userRepository() {
+            return new InMemoryUserRepository();
+        }
+
+        @Bean
+        InMemoryRoleRepository roleRepository() {
+            return new InMemoryRoleRepository();
+        }
+
+        @Bean
+        InMemoryAuthorizationRuleRepository authorizationRuleRepository() {
+            return new InMemoryAuthorizationRuleRepository();
+        }
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.save(new ApplicationUser("john.doe", passwordEncoder.encode("password"),
+                Set.of(new Role("1", "USER"))));
+    }
+
+    /**
+     * Tests that a repeated Basic login is answered from the credential cache
+     * of the authentication manager bean, without loading the user again.
+     */
+    @Test
+    public void testRepeatedBasicLoginIsCached() throws Exception {
+        // Arrange
+        CachingAuthenticationManager cachingManager = (CachingAuthenticationManager) authenticationManager;
+        long lookupsBefore = lookups();
+        long hitsBefore = cachingManager.hitCount();
+
+        // Act
+        mockMvc.perform(get("/api/user/").with(httpBasic("john.doe", "password"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/").with(httpBasic("john.doe", "password"))).andExpect(status().isOk());
+
+        // Assert
+        assertEquals(1, lookups() - lookupsBefore);
+        assertEquals(1, cachingManager.hitCount() - hitsBefore);
+    }
+
+    /**
+     * Tests that Basic logins of a username are throttled once it failed as
+     * often as allowed, even with the right password.
+     */
+    @Test
+    public void testEleventhBadBasicLoginIsThrottled() throws Exception {
+        // Arrange
+        userRepository.save(new ApplicationUser("jane.doe", passwordEncoder.encode("password"),
+                Set.of(new Role("1", "USER"))));
+        for (int i = 0; i < 10; i++)
+            mockMvc.perform(get("/api/user/").with(httpBasic("jane.doe", "wrong")))
+                    .andExpect(status().isUnauthorized());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/user/").with(httpBasic("jane.doe", "wrong")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(get("/api/user/").with(httpBasic("jane.doe", "password")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private long lookups() {
+        return meterRegistry.get("authentication.lookup").timers().stream().mapToLong(Timer::count).sum();
+    }
+}
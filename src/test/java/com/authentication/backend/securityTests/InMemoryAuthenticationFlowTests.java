@@ -0,0 +1,118 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.authentication.backend.configurations.PasswordEncodingProperties;
+import com.authentication.backend.configurations.PasswordEncodingProperties.Algorithm;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.PasswordEncoderCalibrator;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * End-to-end test of a password login through the authentication manager,
+ * the {@link UserService} and the Argon2 and BCrypt encoders, against the
+ * in-memory repository.
+ *
+ * <p>
+ * Needs neither MongoDB nor a Spring context, so it also runs in the native
+ * image built by {@code mvn -PnativeTest test}.
+ * </p>
+ */
+public class InMemoryAuthenticationFlowTests {
+
+    private InMemoryUserRepository userRepository;
+
+    private PasswordEncoder passwordEncoder;
+
+    private AuthenticationManager authenticationManager;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = new InMemoryUserRepository();
+        UserService userService = new UserService(userRepository);
+        // The lowest Argon2 cost, the algorithm matters here rather than the time.
+        passwordEncoder = PasswordEncoderCalibrator
+                .create(new PasswordEncodingProperties(Algorithm.ARGON2, Duration.ofMillis(100), 1, 1024, 1));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userService);
+        provider.setUserDetailsPasswordService(userService);
+        provider.setPasswordEncoder(passwordEncoder);
+        authenticationManager = new ProviderManager(provider);
+    }
+
+    /**
+     * Tests that a user with an Argon2 hash logs in and is granted its roles.
+     */
+    @Test
+    public void testArgon2UserIsAuthenticatedWithRoles() {
+        // Arrange
+        userRepository.save(new ApplicationUser("john.doe", passwordEncoder.encode("password"),
+                Set.of(new Role("1", "USER"), new Role("2", "ADMIN"))));
+
+        // Act
+        Authentication authentication = authenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john.doe", "password"));
+
+        // Assert
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("john.doe", authentication.getName());
+        assertEquals(Set.of("USER", "ADMIN"), Set.copyOf(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).toList()));
+    }
+
+    /**
+     * Tests that a user with a BCrypt hash logs in, and that the hash is
+     * upgraded to Argon2 on the way.
+     */
+    @Test
+    public void testBCryptUserIsAuthenticatedAndUpgraded() {
+        // Arrange
+        userRepository.save(new ApplicationUser("jane.smith", "{bcrypt}" + new BCryptPasswordEncoder(4)
+                .encode("password"), Set.of(new Role("1", "USER"))));
+
+        // Act
+        authenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("jane.smith", "password"));
+
+        // Assert
+        String stored = userRepository.findByUsername("jane.smith").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{argon2}"), stored);
+        assertTrue(passwordEncoder.matches("password", stored));
+    }
+
+    /**
+     * Tests that a wrong password and an unknown username are rejected alike.
+     */
+    @Test
+    public void testWrongPasswordAndUnknownUserAreRejected() {
+        // Arrange
+        userRepository.save(new ApplicationUser("john.doe", passwordEncoder.encode("password"),
+                Set.of(new Role("1", "USER"))));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> authenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john.doe", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> authenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("nobody", "password")));
+    }
+}
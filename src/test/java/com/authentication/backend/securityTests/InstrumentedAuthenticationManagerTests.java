@@ -0,0 +1,124 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.InstrumentedAuthenticationManager;
+import com.authentication.backend.security.InstrumentedAuthoritiesMapper;
+import com.authentication.backend.security.InstrumentedPasswordEncoder;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test suite for the {@link InstrumentedAuthenticationManager} and the stage
+ * timers of the {@link AuthenticationMetrics}.
+ */
+public class InstrumentedAuthenticationManagerTests {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthenticationMetrics metrics;
+
+    private InMemoryUserRepository userRepository;
+
+    private InstrumentedAuthenticationManager manager;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new AuthenticationMetrics(meterRegistry);
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role("1", "USER"));
+        userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("john.doe", passwordEncoder.encode("password"), roles));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new UserService(userRepository, metrics, null));
+        provider.setPasswordEncoder(new InstrumentedPasswordEncoder(passwordEncoder, metrics));
+        provider.setAuthoritiesMapper(new InstrumentedAuthoritiesMapper(metrics));
+        provider.setHideUserNotFoundExceptions(false);
+        manager = new InstrumentedAuthenticationManager(new ProviderManager(provider), metrics);
+    }
+
+    /**
+     * Tests that each stage of a successful login is timed.
+     */
+    @Test
+    public void testSuccessIsRecordedPerStage() {
+        // Act
+        manager.authenticate(token("john.doe", "password"));
+
+        // Assert
+        assertEquals(1, count("authentication.lookup", "success"));
+        assertEquals(1, count("authentication.password.match", "success"));
+        assertEquals(1, meterRegistry.get("authentication.authorities").timer().count());
+        assertEquals(1, count("authentication.attempt", "success"));
+    }
+
+    /**
+     * Tests that unknown users and wrong passwords are tagged apart but both
+     * reach the caller as bad credentials.
+     */
+    @Test
+    public void testFailuresAreTaggedByOutcome() {
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("nobody", "password")));
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("john.doe", "wrong")));
+
+        assertEquals(1, count("authentication.lookup", "unknown_user"));
+        assertEquals(1, count("authentication.attempt", "unknown_user"));
+        // Unknown users are verified against a dummy hash against timing attacks.
+        assertEquals(2, count("authentication.password.match", "bad_credentials"));
+        assertEquals(1, count("authentication.attempt", "bad_credentials"));
+    }
+
+    /**
+     * Tests that lockouts and failures of any other kind are recorded too,
+     * rather than only the expected credential failures.
+     */
+    @Test
+    public void testLockoutsAndOtherFailuresAreRecorded() {
+        // Arrange
+        userRepository.findByUsername("john.doe").orElseThrow().setLockedUntil(Instant.now().plusSeconds(60));
+        InstrumentedAuthenticationManager failingManager = new InstrumentedAuthenticationManager(authentication -> {
+            throw new AuthenticationServiceException("Password hashing saturated");
+        }, metrics);
+
+        // Act & Assert
+        assertThrows(LockedException.class, () -> manager.authenticate(token("john.doe", "password")));
+        assertThrows(AuthenticationServiceException.class,
+                () -> failingManager.authenticate(token("john.doe", "password")));
+
+        assertEquals(1, count("authentication.attempt", "locked"));
+        assertEquals(1, count("authentication.attempt", "other"));
+    }
+
+    private long count(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).timer().count();
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
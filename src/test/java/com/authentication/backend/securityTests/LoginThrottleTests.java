@@ -0,0 +1,166 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import com.authentication.backend.configurations.LoginThrottlingProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.LoginThrottle;
+import com.authentication.backend.security.LoginThrottledException;
+import com.authentication.backend.security.SlidingWindowCounters;
+import com.authentication.backend.security.ThrottlingAuthenticationManager;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Test suite for the {@link LoginThrottle}, the
+ * {@link ThrottlingAuthenticationManager} and the
+ * {@link SlidingWindowCounters} they count failures in.
+ */
+public class LoginThrottleTests {
+
+    private AtomicLong clock;
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong();
+        throttle = new LoginThrottle(
+                new LoginThrottlingProperties(true, Duration.ofMinutes(10), 5, 3, 5, 1024), clock::get);
+    }
+
+    /**
+     * Tests that a username is locked out once it reaches the threshold, whatever
+     * its case, and unlocked once its failures left the window.
+     */
+    @Test
+    public void testLockoutSlidesWithWindow() {
+        // Arrange
+        throttle.recordFailure("Ethan", "10.0.0.1");
+        clock.addAndGet(Duration.ofMinutes(3).toNanos());
+        throttle.recordFailure("ethan", "10.0.0.2");
+        throttle.recordFailure("ETHAN", "10.0.0.3");
+
+        // Assert
+        assertFalse(throttle.usernameLockout("ethan").isZero());
+        assertTrue(throttle.usernameLockout("john.doe").isZero());
+        assertTrue(throttle.addressLockout("10.0.0.1").isZero());
+
+        // Act
+        clock.addAndGet(Duration.ofMinutes(8).toNanos());
+
+        // Assert
+        assertTrue(throttle.usernameLockout("ethan").isZero());
+    }
+
+    /**
+     * Tests that locked out logins are rejected without reaching the delegate,
+     * and that the lockout is reported by the loaded user.
+     */
+    @Test
+    public void testLockedOutLoginsAreNotVerified() {
+        // Arrange
+        AtomicInteger verifications = new AtomicInteger();
+        AuthenticationManager delegate = authentication -> {
+            verifications.incrementAndGet();
+            throw new BadCredentialsException("Bad credentials");
+        };
+        ThrottlingAuthenticationManager manager = new ThrottlingAuthenticationManager(delegate, throttle);
+
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", "hash", Set.of(new Role("1", "USER"))));
+        UserService userService = new UserService(userRepository);
+        userService.setLoginThrottle(throttle);
+
+        // Act
+        for (int i = 0; i < 3; i++)
+            assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("Ethan", "10.0.0.1")));
+        LoginThrottledException rejected = assertThrows(LoginThrottledException.class,
+                () -> manager.authenticate(token("Ethan", "10.0.0.1")));
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("john.doe", "10.0.0.1")));
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("jane.doe", "10.0.0.1")));
+
+        // Assert
+        assertEquals(5, verifications.get());
+        assertFalse(rejected.getRetryAfter().isZero());
+        assertFalse(userService.loadUserByUsername("Ethan").isAccountNonLocked());
+        assertThrows(LoginThrottledException.class, () -> manager.authenticate(token("someone", "10.0.0.1")));
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(token("someone", "10.0.0.2")));
+        assertEquals(6, verifications.get());
+    }
+
+    /**
+     * Tests that failures sprayed across many more usernames than are tracked
+     * lock out none of them, nor an unrelated user, while a username failing
+     * repeatedly is still locked out.
+     */
+    @Test
+    public void testSprayedFailuresLockOutNoOtherUser() {
+        // Arrange
+        for (int i = 0; i < 10_000; i++) {
+            throttle.recordFailure("user" + i, null);
+            throttle.recordFailure("user" + i, null);
+        }
+        for (int i = 0; i < 3; i++)
+            throttle.recordFailure("target", null);
+
+        // Act
+        int lockedOut = 0;
+        for (int i = 0; i < 10_000; i++)
+            if (!throttle.usernameLockout("user" + i).isZero())
+                lockedOut++;
+
+        // Assert
+        assertEquals(0, lockedOut);
+        assertTrue(throttle.usernameLockout("john.doe").isZero());
+        assertFalse(throttle.usernameLockout("target").isZero());
+    }
+
+    /**
+     * Tests that the counters count each key exactly over the sliding window.
+     */
+    @Test
+    public void testCountersAreExact() {
+        // Arrange
+        SlidingWindowCounters counters = new SlidingWindowCounters(5, Duration.ofMinutes(10), 1024, clock::get);
+        counters.increment("a");
+        clock.addAndGet(Duration.ofMinutes(4).toNanos());
+        counters.increment("a");
+        counters.increment("b");
+
+        // Assert
+        assertEquals(2, counters.count("a"));
+        assertEquals(1, counters.count("b"));
+        assertEquals(0, counters.count("c"));
+
+        // Act
+        clock.addAndGet(Duration.ofMinutes(7).toNanos());
+
+        // Assert
+        assertEquals(1, counters.count("a"));
+        assertEquals(1, counters.count("b"));
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String address) {
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(username,
+                "wrong");
+        token.setDetails(new WebAuthenticationDetails(address, null));
+        return token;
+    }
+}
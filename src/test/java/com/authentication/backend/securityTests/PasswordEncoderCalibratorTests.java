@@ -0,0 +1,111 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.authentication.backend.configurations.PasswordEncodingProperties;
+import com.authentication.backend.configurations.PasswordEncodingProperties.Algorithm;
+import com.authentication.backend.security.PasswordEncoderCalibrator;
+import com.authentication.backend.security.TargetCostArgon2PasswordEncoder;
+
+/**
+ * Test suite for the {@link PasswordEncoderCalibrator}.
+ */
+public class PasswordEncoderCalibratorTests {
+
+    /**
+     * Tests that hashes stored without an algorithm id are verified as BCrypt
+     * and reported as needing an upgrade.
+     */
+    @Test
+    public void testLegacyHashIsVerifiedAndUpgraded() {
+        // Arrange
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(properties(Algorithm.BCRYPT, 5));
+        String legacy = new BCryptPasswordEncoder(5).encode("password");
+
+        // Assert
+        assertTrue(encoder.matches("password", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    /**
+     * Tests that only hashes weaker than the fixed cost are upgraded, never
+     * stronger ones.
+     */
+    @Test
+    public void testOnlyWeakerHashesAreUpgraded() {
+        // Arrange
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(properties(Algorithm.BCRYPT, 5));
+
+        // Assert
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode("password")));
+    }
+
+    /**
+     * Tests that a calibrated encoder upgrades hashes below the minimum cost
+     * only, whatever cost it calibrated to, so nodes calibrated differently do
+     * not rewrite each other's hashes.
+     */
+    @Test
+    public void testCalibratedEncoderOnlyUpgradesHashesBelowTheMinimum() {
+        // Arrange
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(properties(Algorithm.BCRYPT, 0));
+
+        // Assert
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(9).encode("password")));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(10).encode("password")));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(11).encode("password")));
+    }
+
+    /**
+     * Tests that switching to Argon2 keeps BCrypt hashes working and upgrades
+     * them, as well as Argon2 hashes using less memory.
+     */
+    @Test
+    public void testSwitchToArgon2() {
+        // Arrange
+        PasswordEncoder encoder = PasswordEncoderCalibrator.create(properties(Algorithm.ARGON2, 1));
+        String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+
+        // Act
+        String argon2 = encoder.encode("password");
+
+        // Assert
+        assertTrue(argon2.startsWith("{argon2}$argon2id$"), argon2);
+        assertTrue(encoder.matches("password", argon2));
+        assertFalse(encoder.upgradeEncoding(argon2));
+        assertTrue(encoder.matches("password", bcrypt));
+        assertTrue(encoder.upgradeEncoding(bcrypt));
+        assertFalse(encoder.upgradeEncoding(
+                "{argon2}" + new TargetCostArgon2PasswordEncoder(1024, 2, 1, 1).encode("password")));
+        assertTrue(encoder.upgradeEncoding(
+                "{argon2}" + new TargetCostArgon2PasswordEncoder(512, 1, 1, 1).encode("password")));
+    }
+
+    /**
+     * Tests that a longer target verification time never calibrates to a lower
+     * cost, nor below the minimum strength.
+     */
+    @Test
+    public void testCalibrationFollowsTargetTime() {
+        // Act
+        int fast = PasswordEncoderCalibrator.bcryptStrength(Duration.ofMillis(1));
+        int slow = PasswordEncoderCalibrator.bcryptStrength(Duration.ofMillis(200));
+
+        // Assert
+        assertTrue(fast >= 10 && slow <= 31);
+        assertTrue(slow > fast, "Expected " + slow + " > " + fast);
+    }
+
+    private static PasswordEncodingProperties properties(Algorithm algorithm, int cost) {
+        return new PasswordEncodingProperties(algorithm, Duration.ofMillis(100), cost, 1024, 1);
+    }
+}
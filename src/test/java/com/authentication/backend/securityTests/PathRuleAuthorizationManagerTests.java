@@ -0,0 +1,100 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import com.authentication.backend.configurations.AuthorizationRulesProperties;
+import com.authentication.backend.models.AuthorizationRule;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.PathRuleAuthorizationManager;
+import com.authentication.backend.support.InMemoryAuthorizationRuleRepository;
+import com.authentication.backend.support.InMemoryRoleRepository;
+
+/**
+ * Test suite for the {@link PathRuleAuthorizationManager}.
+ */
+public class PathRuleAuthorizationManagerTests {
+
+    private InMemoryAuthorizationRuleRepository ruleRepository;
+
+    private PathRuleAuthorizationManager manager;
+
+    @BeforeEach
+    public void setUp() {
+        ruleRepository = new InMemoryAuthorizationRuleRepository();
+        AuthorizationRulesProperties properties = new AuthorizationRulesProperties(List.of(
+                new AuthorizationRulesProperties.Rule("/api/admin/**", null, List.of("ADMIN")),
+                new AuthorizationRulesProperties.Rule("/api/user/**", null, List.of("USER", "ADMIN"))));
+        manager = new PathRuleAuthorizationManager(properties, ruleRepository,
+                new RoleCatalog(new InMemoryRoleRepository()));
+    }
+
+    /**
+     * Tests that the configured rules keep users out of the admin API, and that
+     * paths without a rule only require authentication.
+     */
+    @Test
+    public void testConfiguredRules() {
+        // Arrange
+        Supplier<Authentication> user = authenticated("USER");
+        Supplier<Authentication> admin = authenticated("ADMIN");
+
+        // Assert
+        assertFalse(manager.check(user, request("GET", "/api/admin/")).isGranted());
+        assertFalse(manager.check(user, request("GET", "/api/admin/users/export")).isGranted());
+        assertTrue(manager.check(admin, request("GET", "/api/admin/")).isGranted());
+        assertTrue(manager.check(user, request("GET", "/api/user/")).isGranted());
+        assertTrue(manager.check(admin, request("GET", "/api/user/")).isGranted());
+        assertTrue(manager.check(user, request("GET", "/v3/api-docs")).isGranted());
+        assertFalse(manager.check(() -> null, request("GET", "/v3/api-docs")).isGranted());
+    }
+
+    /**
+     * Tests that stored rules are applied on reload, replacing a configured rule
+     * with the same pattern and method.
+     */
+    @Test
+    public void testStoredRulesAreAppliedOnReload() {
+        // Arrange
+        Supplier<Authentication> auditor = authenticated("AUDITOR");
+        manager.reload();
+        ruleRepository.save(new AuthorizationRule("/api/admin/users", "GET", List.of("AUDITOR", "ADMIN")));
+        ruleRepository.save(new AuthorizationRule("/api/user/**", null, List.of("ADMIN")));
+
+        // Assert
+        assertFalse(manager.check(auditor, request("GET", "/api/admin/users")).isGranted());
+
+        // Act
+        int rules = manager.reload();
+
+        // Assert
+        assertEquals(3, rules);
+        assertTrue(manager.check(auditor, request("GET", "/api/admin/users")).isGranted());
+        assertFalse(manager.check(auditor, request("DELETE", "/api/admin/users")).isGranted());
+        assertFalse(manager.check(authenticated("USER"), request("GET", "/api/user/")).isGranted());
+    }
+
+    private static Supplier<Authentication> authenticated(String authority) {
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated("john.doe", null,
+                List.of(new SimpleGrantedAuthority(authority)));
+        return () -> authentication;
+    }
+
+    private static RequestAuthorizationContext request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return new RequestAuthorizationContext(request);
+    }
+}
@@ -0,0 +1,72 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.authentication.backend.security.PathRuleMatcher;
+
+/**
+ * Test suite for the {@link PathRuleMatcher}.
+ */
+public class PathRuleMatcherTests {
+
+    /**
+     * Tests that the most specific pattern wins: literals over {@code *} over
+     * {@code **}, backtracking when the preferred branch has no rule.
+     */
+    @Test
+    public void testMostSpecificRuleWins() {
+        // Arrange
+        PathRuleMatcher<String> matcher = PathRuleMatcher.<String>builder()
+                .add(null, "/api/**", "api")
+                .add(null, "/api/admin/**", "admin")
+                .add(null, "/api/admin/users", "users")
+                .add(null, "/api/*/reports", "reports")
+                .add(null, "/api/admin/users/*/roles", "roles")
+                .build();
+
+        // Assert
+        assertEquals("admin", matcher.match("GET", "/api/admin"));
+        assertEquals("admin", matcher.match("GET", "/api/admin/"));
+        assertEquals("users", matcher.match("GET", "/api/admin/users"));
+        assertEquals("admin", matcher.match("GET", "/api/admin/users/export"));
+        assertEquals("roles", matcher.match("GET", "/api/admin/users/42/roles"));
+        assertEquals("reports", matcher.match("GET", "/api/user/reports"));
+        assertEquals("admin", matcher.match("GET", "/api/admin/reports"));
+        assertEquals("api", matcher.match("GET", "/api/user"));
+        assertNull(matcher.match("GET", "/swagger-ui/index.html"));
+        assertEquals(5, matcher.size());
+    }
+
+    /**
+     * Tests that a rule restricted to a method is preferred over a rule for every
+     * method, and that a later rule replaces an earlier one.
+     */
+    @Test
+    public void testMethodSpecificRules() {
+        // Arrange
+        PathRuleMatcher<String> matcher = PathRuleMatcher.<String>builder()
+                .add(null, "/api/admin/users/**", "read")
+                .add("post", "/api/admin/users/**", "write")
+                .add("POST", "/api/admin/users/**", "import")
+                .build();
+
+        // Assert
+        assertEquals("read", matcher.match("GET", "/api/admin/users"));
+        assertEquals("import", matcher.match("POST", "/api/admin/users/import"));
+        assertEquals(2, matcher.size());
+    }
+
+    /**
+     * Tests that {@code **} is only accepted as the last segment.
+     */
+    @Test
+    public void testDoubleWildcardMustBeLast() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> PathRuleMatcher.<String>builder().add(null, "/api/**/users", "invalid"));
+    }
+}
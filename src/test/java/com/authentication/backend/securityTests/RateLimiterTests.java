@@ -0,0 +1,170 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.authentication.backend.configurations.RateLimitingProperties;
+import com.authentication.backend.configurations.RateLimitingProperties.Quota;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.security.InMemoryRateLimitStore;
+import com.authentication.backend.security.RateLimitStore.RateLimitDecision;
+import com.authentication.backend.security.RateLimiter;
+import com.authentication.backend.security.RateLimitingFilter;
+import com.authentication.backend.support.InMemoryRoleRepository;
+
+/**
+ * Test suite for the {@link RateLimiter}, its {@link InMemoryRateLimitStore}
+ * and the {@link RateLimitingFilter}.
+ */
+public class RateLimiterTests {
+
+    private AtomicLong clock;
+
+    private InMemoryRateLimitStore store;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong();
+        store = new InMemoryRateLimitStore(2, Duration.ofSeconds(5), clock::get);
+        rateLimiter = new RateLimiter(new RateLimitingProperties(true, "memory", 2, List.of(
+                new Quota("/api/user/**", null, null, null, 2, Duration.ofSeconds(2)),
+                new Quota("/api/user/**", null, "ADMIN", null, 5, Duration.ofSeconds(5)),
+                new Quota("/api/user/**", null, null, "ethan", 1, Duration.ofSeconds(1)))),
+                store, new RoleCatalog(new InMemoryRoleRepository()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Tests that a bucket allows a burst of its capacity, refills one token per
+     * interval, and that buckets are evicted past the maximum.
+     */
+    @Test
+    public void testBucketRefills() {
+        // Act
+        RateLimitDecision first = store.tryAcquire("key", 3, 1_000);
+        store.tryAcquire("key", 3, 1_000);
+        RateLimitDecision third = store.tryAcquire("key", 3, 1_000);
+        RateLimitDecision denied = store.tryAcquire("key", 3, 1_000);
+        clock.addAndGet(1_000);
+        RateLimitDecision refilled = store.tryAcquire("key", 3, 1_000);
+
+        // Assert
+        assertTrue(first.allowed());
+        assertEquals(2, first.remaining());
+        assertTrue(third.allowed());
+        assertEquals(0, third.remaining());
+        assertFalse(denied.allowed());
+        assertEquals(1_000, denied.retryAfterNanos());
+        assertTrue(refilled.allowed());
+        assertFalse(store.tryAcquire("key", 3, 1_000).allowed());
+
+        // Act
+        clock.addAndGet(10_000);
+        store.tryAcquire("other", 3, 1_000);
+        store.tryAcquire("another", 3, 1_000);
+
+        // Assert
+        assertTrue(store.size() <= 2);
+    }
+
+    /**
+     * Tests that buckets idle for the refill horizon are evicted, however few
+     * buckets are held.
+     */
+    @Test
+    public void testIdleBucketsExpire() {
+        // Arrange
+        store.tryAcquire("key", 3, 1_000);
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        store.tryAcquire("other", 3, 1_000);
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // Assert
+        assertEquals(1, store.size());
+        assertEquals(2, store.tryAcquire("key", 3, 1_000).remaining());
+    }
+
+    /**
+     * Tests that a username quota is preferred over a role quota, itself
+     * preferred over the default quota, and that paths without a quota are not
+     * limited.
+     */
+    @Test
+    public void testQuotaResolution() {
+        // Arrange
+        Authentication user = authenticated("john.doe", "USER");
+        Authentication admin = authenticated("jane.doe", "USER", "ADMIN");
+        Authentication ethan = authenticated("ethan", "ADMIN");
+
+        // Assert
+        assertEquals(2, rateLimiter.tryAcquire("GET", "/api/user/", user).limit());
+        assertEquals(5, rateLimiter.tryAcquire("GET", "/api/user/", admin).limit());
+        assertEquals(1, rateLimiter.tryAcquire("GET", "/api/user/", ethan).limit());
+        assertNull(rateLimiter.tryAcquire("GET", "/api/admin/", admin));
+    }
+
+    /**
+     * Tests that the filter lets requests under quota through with the quota
+     * headers, and answers the request over quota with a 429 without calling
+     * the rest of the chain.
+     */
+    @Test
+    public void testFilterAnswersOverQuotaWith429() throws Exception {
+        // Arrange
+        RateLimitingFilter filter = new RateLimitingFilter(rateLimiter);
+        SecurityContextHolder.getContext().setAuthentication(authenticated("ethan", "USER"));
+
+        // Act
+        MockHttpServletResponse allowed = new MockHttpServletResponse();
+        MockFilterChain allowedChain = new MockFilterChain();
+        filter.doFilter(request("/api/user/"), allowed, allowedChain);
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        MockFilterChain limitedChain = new MockFilterChain();
+        filter.doFilter(request("/api/user/"), limited, limitedChain);
+
+        // Assert
+        assertNotNull(allowedChain.getRequest());
+        assertEquals("1", allowed.getHeader("X-RateLimit-Limit"));
+        assertEquals("0", allowed.getHeader("X-RateLimit-Remaining"));
+        assertNull(limitedChain.getRequest());
+        assertEquals(429, limited.getStatus());
+        assertEquals("1", limited.getHeader("Retry-After"));
+    }
+
+    private static Authentication authenticated(String username, String... authorities) {
+        return UsernamePasswordAuthenticationToken.authenticated(username, null,
+                List.of(authorities).stream().map(SimpleGrantedAuthority::new).toList());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
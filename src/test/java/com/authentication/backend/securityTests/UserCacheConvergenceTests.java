@@ -0,0 +1,231 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.authentication.backend.configurations.UserCacheProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.authentication.backend.security.AuthenticationInvalidationPublisher;
+import com.authentication.backend.security.CaffeineUserCache;
+import com.authentication.backend.security.InvalidationBroadcaster;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryInvalidationBus;
+import com.authentication.backend.support.InMemorySharedUserCache;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Multi-node test suite for the two-level user cache: several nodes, each with
+ * its own {@link CaffeineUserCache} and {@link InvalidationBroadcaster}, share
+ * a user repository, an {@link InMemorySharedUserCache} and an
+ * {@link InMemoryInvalidationBus}, and must all stop granting a revoked role
+ * within a bounded delay.
+ */
+public class UserCacheConvergenceTests {
+
+    /**
+     * Delivery delay of the invalidation bus.
+     */
+    private static final Duration BUS_DELAY = Duration.ofMillis(50);
+
+    /**
+     * Time within which every node must see a revocation broadcast over the
+     * bus.
+     */
+    private static final Duration CONVERGENCE_BOUND = Duration.ofSeconds(1);
+
+    private final UserCacheProperties properties = new UserCacheProperties(true, 100, Duration.ofMinutes(2),
+            Duration.ofMinutes(1), false, "none", Duration.ofMinutes(10), "none");
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private final Role userRole = new Role("1", "USER");
+
+    private final Role adminRole = new Role("2", "ADMIN");
+
+    private AtomicLong ticker;
+
+    private InMemoryUserRepository userRepository;
+
+    private InMemorySharedUserCache sharedCache;
+
+    private InMemoryInvalidationBus network;
+
+    private List<Node> nodes;
+
+    @BeforeEach
+    public void setUp() {
+        ticker = new AtomicLong();
+        userRepository = new InMemoryUserRepository();
+        ApplicationUser user = new ApplicationUser("Ethan", passwordEncoder.encode("password"),
+                Set.of(userRole, adminRole));
+        user.setUserId("42");
+        user.setVersion(1);
+        userRepository.save(user);
+
+        sharedCache = new InMemorySharedUserCache();
+        network = new InMemoryInvalidationBus(BUS_DELAY);
+        nodes = List.of(new Node(), new Node(), new Node());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        network.close();
+    }
+
+    /**
+     * Tests that a role revoked on one node is no longer granted by any node
+     * once the invalidation was delivered over the bus, although every node
+     * had the user cached.
+     */
+    @Test
+    public void testRevocationConvergesOverBus() throws InterruptedException {
+        // Arrange
+        for (Node node : nodes)
+            assertEquals(Set.of("USER", "ADMIN"), node.authorities());
+
+        // Act
+        long start = System.nanoTime();
+        nodes.get(0).revoke(adminRole);
+
+        // Assert
+        assertEquals(Set.of("USER"), nodes.get(0).authorities());
+        for (Node node : nodes) {
+            while (node.authorities().contains("ADMIN")
+                    && System.nanoTime() - start < CONVERGENCE_BOUND.toNanos())
+                Thread.sleep(10);
+            assertEquals(Set.of("USER"), node.authorities());
+        }
+        assertTrue(System.nanoTime() - start < CONVERGENCE_BOUND.toNanos());
+    }
+
+    /**
+     * Tests that a copy loaded before a revocation and cached after the
+     * invalidation is rejected by both tiers instead of being served until it
+     * expires.
+     */
+    @Test
+    public void testStaleCopyIsNotCachedAfterInvalidation() {
+        // Arrange
+        Node node = nodes.get(1);
+        ApplicationUser staleCopy = userRepository.findByUsername("Ethan").orElseThrow();
+        nodes.get(0).revoke(adminRole);
+        node.cache.onApplicationEvent(AuthenticationInvalidationEvent.forUser(this, "Ethan", 2));
+
+        // Act
+        node.cache.putUserInCache(staleCopy);
+
+        // Assert
+        assertNull(node.cache.getUserFromCache("Ethan"));
+        assertNull(sharedCache.get("Ethan"));
+        assertEquals(Set.of("USER"), node.authorities());
+    }
+
+    /**
+     * Tests that a node missing the invalidation, cut off from the bus, still
+     * converges once its cached copy reaches the time to live of the near
+     * cache, as the origin evicted the shared tier.
+     */
+    @Test
+    public void testRevocationConvergesWithinTimeToLiveWithoutBus() {
+        // Arrange
+        Node partitioned = nodes.get(2);
+        for (Node node : nodes)
+            node.authorities();
+        partitioned.bus.setConnected(false);
+
+        // Act
+        nodes.get(0).revoke(adminRole);
+
+        // Assert
+        assertEquals(Set.of("USER", "ADMIN"), partitioned.authorities());
+
+        // Act
+        ticker.addAndGet(properties.timeToLive().plusSeconds(1).toNanos());
+
+        // Assert
+        assertEquals(Set.of("USER"), partitioned.authorities());
+    }
+
+    /**
+     * A node of the deployment, with its own caches and bus endpoint on top of
+     * the shared stand-ins.
+     */
+    private class Node {
+
+        private final InMemoryInvalidationBus.Endpoint bus = network.connect();
+
+        private final CaffeineUserCache cache;
+
+        private final InvalidationBroadcaster broadcaster;
+
+        private final AuthenticationInvalidationPublisher publisher;
+
+        private final AuthenticationManager authenticationManager;
+
+        Node() {
+            UserService userService = new UserService(userRepository);
+            cache = new CaffeineUserCache(userService, properties, sharedCache, ticker::get);
+            broadcaster = new InvalidationBroadcaster(bus, this::publish, null);
+            broadcaster.start();
+            publisher = new AuthenticationInvalidationPublisher(this::publish);
+
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+            provider.setUserDetailsService(userService);
+            provider.setPasswordEncoder(passwordEncoder);
+            provider.setUserCache(cache);
+            authenticationManager = new ProviderManager(provider);
+        }
+
+        Set<String> authorities() {
+            return authenticationManager
+                    .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("Ethan", "password"))
+                    .getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+        }
+
+        /**
+         * Save the user without the given role through this node, raising the
+         * same mapping events as MongoDB would.
+         */
+        void revoke(Role role) {
+            ApplicationUser current = userRepository.findByUsername("Ethan").orElseThrow();
+            ApplicationUser updated = new ApplicationUser(current.getUsername(), current.getPassword(),
+                    current.getAuthorities().stream().map(Role.class::cast).filter(held -> held != role)
+                            .collect(Collectors.toSet()));
+            updated.setUserId(current.getUserId());
+            updated.setVersion(current.getVersion());
+
+            publisher.onBeforeConvert(new BeforeConvertEvent<>(updated, "users"));
+            userRepository.save(updated);
+            publisher.onAfterSave(new AfterSaveEvent<>(updated, new Document(), "users"));
+        }
+
+        private void publish(Object event) {
+            if (event instanceof AuthenticationInvalidationEvent invalidation) {
+                cache.onApplicationEvent(invalidation);
+                broadcaster.onApplicationEvent(invalidation);
+            }
+        }
+    }
+}
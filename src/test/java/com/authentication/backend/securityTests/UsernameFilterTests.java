@@ -0,0 +1,182 @@
+package com.authentication.backend.securityTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.authentication.backend.configurations.UserCacheProperties;
+import com.authentication.backend.configurations.UsernameFilterProperties;
+import com.authentication.backend.configurations.UsernameProperties;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.authentication.backend.security.AuthenticationMetrics;
+import com.authentication.backend.security.BloomFilter;
+import com.authentication.backend.security.UsernameFilter;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test suite for the {@link BloomFilter} and the {@link UsernameFilter}
+ * rejecting unknown usernames before the database lookup.
+ */
+public class UsernameFilterTests {
+
+    private static final int USERNAMES = 100_000;
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InMemoryUserRepository userRepository;
+
+    private UsernameFilter usernameFilter;
+
+    private UserService userService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("Ethan", "$2a$10$storedHashOfThePassword",
+                Set.of(new Role("1", "USER"))));
+
+        usernameFilter = new UsernameFilter(userRepository,
+                new UsernameFilterProperties(true, 1_000, FALSE_POSITIVE_RATE, Duration.ofMinutes(10), false),
+                new UsernameProperties(false, "en"), cacheProperties("mongo"), meterRegistry);
+        userService = new UserService(userRepository, new AuthenticationMetrics(meterRegistry), null);
+        userService.setUsernameFilter(usernameFilter);
+    }
+
+    /**
+     * Tests that the filter never misses a username put, and that its measured
+     * false-positive rate and memory match the ones it was sized for.
+     */
+    @Test
+    public void testFalsePositiveRateMatchesSizing() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(USERNAMES, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < USERNAMES; i++)
+            filter.put("user-" + i);
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < USERNAMES; i++) {
+            assertTrue(filter.mightContain("user-" + i));
+            if (filter.mightContain("unknown-" + i))
+                falsePositives++;
+        }
+        double measured = (double) falsePositives / USERNAMES;
+
+        // Assert
+        assertTrue(measured < FALSE_POSITIVE_RATE * 1.5, "Measured false-positive rate " + measured);
+        assertEquals(FALSE_POSITIVE_RATE, filter.expectedFalsePositiveRate(), FALSE_POSITIVE_RATE / 2);
+        // About 1.2 bytes per username at 1%, against tens for a set of them.
+        assertTrue(filter.memoryBytes() < USERNAMES * 1.25);
+    }
+
+    /**
+     * Tests that an unknown username is rejected without a repository lookup
+     * once the filter is built, while known usernames are still looked up.
+     */
+    @Test
+    public void testUnknownUsernameIsRejectedWithoutLookup() {
+        // Arrange
+        assertThrows(UsernameNotFoundException.class, () -> userService.loadUserByUsername("Mallory"));
+        assertEquals(1, meterRegistry.get("authentication.lookup").tag("outcome", "unknown_user").timer().count());
+        usernameFilter.rebuild();
+
+        // Act
+        assertThrows(UsernameNotFoundException.class, () -> userService.loadUserByUsername("Mallory"));
+        userService.loadUserByUsername("Ethan");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("authentication.lookup").tag("outcome", "unknown_user").timer().count());
+        assertEquals(1, meterRegistry.get("authentication.lookup").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("authentication.username-filter.rejections").counter().count());
+        assertTrue(meterRegistry.get("authentication.username-filter.memory").gauge().value() > 0);
+    }
+
+    /**
+     * Tests that a user saved after the filter was built can log in at once,
+     * and that a rebuild picks up users created without an event.
+     */
+    @Test
+    public void testUsersSavedAfterBuildAreAdmitted() {
+        // Arrange
+        usernameFilter.rebuild();
+        userRepository.save(new ApplicationUser("Olivia", "hash", new HashSet<>()));
+        userRepository.save(new ApplicationUser("Imported", "hash", new HashSet<>()));
+
+        // Act
+        usernameFilter.onApplicationEvent(AuthenticationInvalidationEvent.forUser(this, "Olivia", 1));
+
+        // Assert
+        assertEquals("Olivia", userService.loadUserByUsername("Olivia").getUsername());
+        assertFalse(usernameFilter.getFilter().mightContain("Imported"));
+
+        // Act
+        usernameFilter.rebuild();
+
+        // Assert
+        assertEquals("Imported", userService.loadUserByUsername("Imported").getUsername());
+    }
+
+    /**
+     * Tests that with case-insensitive usernames the filter is never built, so
+     * a username equal to a stored one under the collation, but not as a
+     * string, is not rejected.
+     */
+    @Test
+    public void testCaseInsensitiveFilterStaysDisabled() {
+        // Arrange
+        userRepository.save(new ApplicationUser("straße", "hash", new HashSet<>()));
+        UsernameFilter caseInsensitiveFilter = new UsernameFilter(userRepository,
+                new UsernameFilterProperties(true, 1_000, FALSE_POSITIVE_RATE, Duration.ofMinutes(10), false),
+                new UsernameProperties(true, "en"), cacheProperties("mongo"), meterRegistry);
+
+        // Act
+        caseInsensitiveFilter.rebuild();
+
+        // Assert
+        assertNull(caseInsensitiveFilter.getFilter());
+        assertFalse(caseInsensitiveFilter.rejects("STRASSE"));
+    }
+
+    /**
+     * Tests that without change streams or an invalidation bus the filter is
+     * never built, so users registered on other nodes are not rejected.
+     */
+    @Test
+    public void testFilterWithoutInvalidationChannelStaysDisabled() {
+        // Arrange
+        UsernameFilter localFilter = new UsernameFilter(userRepository,
+                new UsernameFilterProperties(true, 1_000, FALSE_POSITIVE_RATE, Duration.ofMinutes(10), false),
+                new UsernameProperties(false, "en"), cacheProperties("none"), meterRegistry);
+
+        // Act
+        localFilter.rebuild();
+        userRepository.save(new ApplicationUser("Registered elsewhere", "hash", new HashSet<>()));
+
+        // Assert
+        assertNull(localFilter.getFilter());
+        assertFalse(localFilter.rejects("Registered elsewhere"));
+    }
+
+    private static UserCacheProperties cacheProperties(String bus) {
+        return new UserCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofMinutes(1), false, "none",
+                Duration.ofMinutes(10), bus);
+    }
+}
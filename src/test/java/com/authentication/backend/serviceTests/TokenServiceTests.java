@@ -0,0 +1,119 @@
+package com.authentication.backend.serviceTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import com.authentication.backend.configurations.TokenConfiguration;
+import com.authentication.backend.configurations.TokenProperties;
+import com.authentication.backend.dto.TokenResponse;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.services.TokenService;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+/**
+ * Test suite for the {@link TokenService} class.
+ */
+public class TokenServiceTests {
+
+    private TokenProperties properties;
+
+    private SecretKey key;
+
+    private InMemoryUserRepository userRepository;
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new TokenProperties(true, null, "test-issuer", Duration.ofMinutes(5), Duration.ofDays(1));
+        key = new SecretKeySpec("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role("1", "ADMIN"));
+        userRepository = new InMemoryUserRepository();
+        userRepository.save(new ApplicationUser("admin", "hash", roles));
+
+        tokenService = new TokenService(new NimbusJwtEncoder(new ImmutableSecret<>(key)), key,
+                new UserService(userRepository), properties);
+    }
+
+    /**
+     * Tests that access tokens carry the roles and are accepted by the access
+     * token decoder, while refresh tokens are not.
+     */
+    @Test
+    public void testIssuedAccessTokenCarriesRoles() {
+        // Arrange
+        JwtDecoder accessDecoder = TokenConfiguration.decoder(key, properties, TokenService.ACCESS_TOKEN);
+
+        // Act
+        TokenResponse tokens = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                List.of(new Role("1", "ADMIN"))));
+        Jwt access = accessDecoder.decode(tokens.accessToken());
+
+        // Assert
+        assertEquals("admin", access.getSubject());
+        assertEquals(List.of("ADMIN"), access.getClaimAsStringList(TokenService.ROLES_CLAIM));
+        assertEquals(300, tokens.expiresIn());
+        assertThrows(JwtException.class, () -> accessDecoder.decode(tokens.refreshToken()));
+    }
+
+    /**
+     * Tests that a refresh token yields a new pair and an access token is not
+     * accepted as a refresh token.
+     */
+    @Test
+    public void testRefresh() {
+        // Arrange
+        TokenResponse tokens = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                List.of(new Role("1", "ADMIN"))));
+
+        // Act
+        TokenResponse refreshed = tokenService.refresh(tokens.refreshToken());
+
+        // Assert
+        assertEquals("Bearer", refreshed.tokenType());
+        assertThrows(BadCredentialsException.class, () -> tokenService.refresh(tokens.accessToken()));
+    }
+
+    /**
+     * Tests that every refresh token issued before a password change, including
+     * one obtained by refreshing, stops working once the password changed.
+     */
+    @Test
+    public void testRefreshTokenIsRevokedByPasswordChange() {
+        // Arrange
+        ApplicationUser admin = userRepository.findByUsername("admin").orElseThrow();
+        TokenResponse tokens = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(admin, null,
+                admin.getAuthorities()));
+        TokenResponse refreshed = tokenService.refresh(tokens.refreshToken());
+
+        // Act
+        userRepository.updatePassword("admin", "new-hash");
+
+        // Assert
+        assertThrows(BadCredentialsException.class, () -> tokenService.refresh(tokens.refreshToken()));
+        assertThrows(BadCredentialsException.class, () -> tokenService.refresh(refreshed.refreshToken()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.authentication.backend.serviceTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.authentication.backend.configurations.UserImportProperties;
+import com.authentication.backend.dto.UserImportEvent;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleCatalog;
+import com.authentication.backend.services.UserImportService;
+import com.authentication.backend.services.UserImportService.Format;
+import com.authentication.backend.support.InMemoryRoleRepository;
+import com.authentication.backend.support.InMemoryUserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test suite for the {@link UserImportService} class.
+ */
+public class UserImportServiceTests {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private InMemoryUserRepository userRepository;
+
+    private UserImportService userImportService;
+
+    private List<UserImportEvent> events;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = new InMemoryUserRepository();
+        InMemoryRoleRepository roleRepository = new InMemoryRoleRepository();
+        roleRepository.save(new Role("1", "ADMIN"));
+        roleRepository.save(new Role("2", "USER"));
+        userImportService = new UserImportService(userRepository, new RoleCatalog(roleRepository), passwordEncoder,
+                new ObjectMapper(), new UserImportProperties(2, 2));
+        events = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userImportService.close();
+    }
+
+    /**
+     * Tests that NDJSON users are created in batches with encoded passwords and
+     * resolved roles, and that bad rows are reported without stopping the
+     * import.
+     */
+    @Test
+    public void testNdjsonImport() throws Exception {
+        // Arrange
+        String input = """
+                {"username":"john.doe","password":"secret","roles":["ADMIN","USER"]}
+                {"username":"jane.smith","password":"secret"}
+                {"username":"john.doe","password":"again"}
+                {"username":"bob","password":"secret","roles":["NOPE"]}
+                not json
+                {"username":"alice","password":"secret"}
+                """;
+
+        // Act
+        userImportService.importUsers(stream(input), Format.NDJSON, events::add);
+
+        // Assert
+        ApplicationUser john = userRepository.findByUsername("john.doe").orElseThrow();
+        assertTrue(passwordEncoder.matches("secret", john.getPassword()));
+        assertEquals(2, john.getAuthorities().size());
+        assertEquals("USER", userRepository.findByUsername("jane.smith").orElseThrow().getAuthorities()
+                .iterator().next().getAuthority());
+        assertTrue(userRepository.findByUsername("alice").isPresent());
+        assertEquals(3, userRepository.count());
+
+        List<Long> errorRows = events.stream().filter(event -> "error".equals(event.type()))
+                .map(UserImportEvent::row).sorted().toList();
+        assertEquals(List.of(3L, 4L, 5L), errorRows);
+        assertEquals(2, events.stream().filter(event -> "progress".equals(event.type())).count());
+        UserImportEvent summary = events.get(events.size() - 1);
+        assertEquals("summary", summary.type());
+        assertEquals(6, summary.processed());
+        assertEquals(3, summary.imported());
+        assertEquals(3, summary.failed());
+    }
+
+    /**
+     * Tests that CSV users are read through the header, including quoted
+     * fields and semicolon separated roles.
+     */
+    @Test
+    public void testCsvImport() throws Exception {
+        // Arrange
+        String input = """
+                username,password,roles
+                john.doe,"pa,ss""word",ADMIN;USER
+                ,secret,USER
+                """;
+
+        // Act
+        userImportService.importUsers(stream(input), Format.CSV, events::add);
+
+        // Assert
+        ApplicationUser john = userRepository.findByUsername("john.doe").orElseThrow();
+        assertTrue(passwordEncoder.matches("pa,ss\"word", john.getPassword()));
+        assertEquals(2, john.getAuthorities().size());
+        assertEquals(UserImportEvent.error(3, "", "Missing username"), events.get(0));
+        assertEquals(UserImportEvent.summary(2, 1, 1), events.get(events.size() - 1));
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
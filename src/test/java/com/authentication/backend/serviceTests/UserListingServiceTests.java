@@ -0,0 +1,75 @@
+package com.authentication.backend.serviceTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.authentication.backend.dto.UserPage;
+import com.authentication.backend.dto.UserSummary;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.services.UserListingService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Test suite for the {@link UserListingService} class.
+ */
+public class UserListingServiceTests {
+
+    private UserListingService userListingService;
+
+    @BeforeEach
+    public void setUp() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role("1", "USER"));
+        for (int i = 0; i < 5; i++) {
+            ApplicationUser user = new ApplicationUser("user" + i, "hash", roles);
+            user.setUserId("id" + i);
+            userRepository.save(user);
+        }
+        userListingService = new UserListingService(userRepository);
+    }
+
+    /**
+     * Tests that following the next cursors walks every user exactly once.
+     */
+    @Test
+    public void testKeysetPagination() {
+        // Act
+        UserPage first = userListingService.page(null, 2);
+        UserPage second = userListingService.page(first.next(), 2);
+        UserPage last = userListingService.page(second.next(), 2);
+
+        // Assert
+        assertEquals(List.of("id0", "id1"), first.users().stream().map(UserSummary::id).toList());
+        assertEquals("id1", first.next());
+        assertEquals(List.of("id2", "id3"), second.users().stream().map(UserSummary::id).toList());
+        assertEquals(List.of("id4"), last.users().stream().map(UserSummary::id).toList());
+        assertNull(last.next());
+    }
+
+    /**
+     * Tests that the export passes every user, in id order and without
+     * password.
+     */
+    @Test
+    public void testExport() {
+        // Arrange
+        List<UserSummary> exported = new ArrayList<>();
+
+        // Act
+        userListingService.export(exported::add);
+
+        // Assert
+        assertEquals(5, exported.size());
+        assertEquals(new UserSummary("id0", "user0", List.of("USER")), exported.get(0));
+    }
+}
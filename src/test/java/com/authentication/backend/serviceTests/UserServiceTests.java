@@ -0,0 +1,103 @@
+package com.authentication.backend.serviceTests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.authentication.backend.configurations.PasswordEncodingProperties;
+import com.authentication.backend.configurations.PasswordEncodingProperties.Algorithm;
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.models.Role;
+import com.authentication.backend.security.AuthenticationInvalidationEvent;
+import com.authentication.backend.security.PasswordEncoderCalibrator;
+import com.authentication.backend.services.UserService;
+import com.authentication.backend.support.InMemoryUserRepository;
+
+/**
+ * Test suite for the {@link UserService} class.
+ */
+public class UserServiceTests {
+
+    private InMemoryUserRepository userRepository;
+
+    private UserService userService;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = new InMemoryUserRepository();
+        userService = new UserService(userRepository);
+    }
+
+    /**
+     * Tests that the stored password hash is returned untouched.
+     */
+    @Test
+    public void testLoadUserByUsernameReturnsStoredHash() {
+        // Arrange
+        Set<Role> authorities = new HashSet<>();
+        authorities.add(new Role("1", "USER"));
+        userRepository.save(new ApplicationUser("john.doe", "$2a$10$storedHash", authorities));
+
+        // Act
+        UserDetails user = userService.loadUserByUsername("john.doe");
+
+        // Assert
+        assertEquals("john.doe", user.getUsername());
+        assertEquals("$2a$10$storedHash", user.getPassword());
+        assertEquals(authorities, user.getAuthorities());
+    }
+
+    /**
+     * Tests that an unknown username is reported as not found.
+     */
+    @Test
+    public void testLoadUserByUsernameUnknownUser() {
+        // Assert
+        assertThrows(UsernameNotFoundException.class, () -> userService.loadUserByUsername("nobody"));
+    }
+
+    /**
+     * Tests that a successful login with an outdated hash writes the re-encoded
+     * hash back and invalidates the cached user.
+     */
+    @Test
+    public void testLoginUpgradesOutdatedHash() {
+        // Arrange
+        Set<Role> authorities = new HashSet<>();
+        authorities.add(new Role("1", "USER"));
+        userRepository.save(new ApplicationUser("john.doe", new BCryptPasswordEncoder(4).encode("password"),
+                authorities));
+        Set<Object> events = new HashSet<>();
+        userService.setApplicationEventPublisher(events::add);
+
+        PasswordEncoder passwordEncoder = PasswordEncoderCalibrator
+                .create(new PasswordEncodingProperties(Algorithm.BCRYPT, Duration.ofMillis(100), 5, 19456, 1));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userService);
+        provider.setUserDetailsPasswordService(userService);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        // Act
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john.doe", "password"));
+
+        // Assert
+        String stored = userRepository.findByUsername("john.doe").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}$2a$05$"), stored);
+        assertTrue(passwordEncoder.matches("password", stored));
+        assertEquals(1, events.size());
+        assertTrue(events.iterator().next() instanceof AuthenticationInvalidationEvent);
+    }
+}
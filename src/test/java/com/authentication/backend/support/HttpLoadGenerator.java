@@ -0,0 +1,109 @@
+package com.authentication.backend.support;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal closed-loop HTTP load generator for the load tests, keeping a fixed
+ * number of requests in flight against a single endpoint with HTTP Basic
+ * credentials.
+ */
+public class HttpLoadGenerator {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    /**
+     * Result of a load run.
+     *
+     * @param requests      Number of requests sent.
+     * @param elapsed       Wall-clock duration of the run.
+     * @param statusCounts  Number of responses per HTTP status, {@code -1} for
+     *                      transport errors.
+     * @param p50Millis     Median latency in milliseconds.
+     * @param p99Millis     99th percentile latency in milliseconds.
+     */
+    public record Result(int requests, Duration elapsed, Map<Integer, Long> statusCounts, double p50Millis,
+            double p99Millis) {
+
+        /**
+         * Get the completed requests per second.
+         *
+         * @return The throughput.
+         */
+        public double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests in %d ms: %.1f req/s, p50 %.1f ms, p99 %.1f ms, statuses %s",
+                    requests, elapsed.toMillis(), throughput(), p50Millis, p99Millis, statusCounts);
+        }
+    }
+
+    /**
+     * Send {@code requests} GET requests with at most {@code concurrency} in
+     * flight and wait for all of them.
+     *
+     * @param uri         The endpoint to call.
+     * @param username    The HTTP Basic username.
+     * @param password    The HTTP Basic password.
+     * @param requests    Total number of requests.
+     * @param concurrency Maximum number of requests in flight.
+     * @return The result of the run.
+     */
+    public Result run(URI uri, String username, String password, int requests, int concurrency) {
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", authorization)
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquireUninterruptibly();
+            long sent = System.nanoTime();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index.getAndIncrement()] = System.nanoTime() - sent;
+                        statuses.computeIfAbsent(error == null ? response.statusCode() : -1, status -> new LongAdder())
+                                .increment();
+                        inFlight.release();
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Arrays.sort(latencies);
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(requests, elapsed, statusCounts, latencies[requests / 2] / 1e6,
+                latencies[requests * 99 / 100] / 1e6);
+    }
+}
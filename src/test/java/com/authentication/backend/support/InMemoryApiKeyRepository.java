@@ -0,0 +1,172 @@
+package com.authentication.backend.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import com.authentication.backend.models.ApiKey;
+import com.authentication.backend.repository.ApiKeyRepository;
+
+/**
+ * In-memory stand-in for the MongoDB backed {@link ApiKeyRepository}, keyed by
+ * key id, so API key authentication can be exercised without a running
+ * database.
+ *
+ * <p>
+ * Only the operations used by the application are implemented; query by
+ * example is not supported.
+ * </p>
+ */
+public class InMemoryApiKeyRepository implements ApiKeyRepository {
+
+    private final ConcurrentMap<String, ApiKey> apiKeys = new ConcurrentHashMap<>();
+
+    @Override
+    public <S extends ApiKey> S save(S entity) {
+        if (entity.getKeyId() == null)
+            entity.setKeyId(UUID.randomUUID().toString());
+        apiKeys.put(entity.getKeyId(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends ApiKey> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends ApiKey> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends ApiKey> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<ApiKey> findByPrefix(String prefix) {
+        return apiKeys.values().stream().filter(apiKey -> apiKey.getPrefix().equals(prefix)).findFirst();
+    }
+
+    @Override
+    public List<ApiKey> findByUsername(String username) {
+        return apiKeys.values().stream().filter(apiKey -> apiKey.getUsername().equals(username)).toList();
+    }
+
+    @Override
+    public Optional<ApiKey> findById(String id) {
+        return Optional.ofNullable(apiKeys.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<ApiKey> findAll() {
+        return new ArrayList<>(apiKeys.values());
+    }
+
+    @Override
+    public List<ApiKey> findAllById(Iterable<String> ids) {
+        List<ApiKey> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public List<ApiKey> findAll(Sort sort) {
+        return findAll();
+    }
+
+    @Override
+    public Page<ApiKey> findAll(Pageable pageable) {
+        List<ApiKey> all = findAll();
+        if (pageable.isUnpaged())
+            return new PageImpl<>(all);
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return apiKeys.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        findById(id).ifPresent(this::delete);
+    }
+
+    @Override
+    public void delete(ApiKey entity) {
+        apiKeys.remove(entity.getKeyId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends ApiKey> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        apiKeys.clear();
+    }
+
+    @Override
+    public <S extends ApiKey> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApiKey> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApiKey> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApiKey> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApiKey> long count(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApiKey> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApiKey, R> R findBy(Example<S> example,
+            Function<FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+}
@@ -0,0 +1,162 @@
+package com.authentication.backend.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import com.authentication.backend.models.AuthorizationRule;
+import com.authentication.backend.repository.AuthorizationRuleRepository;
+
+/**
+ * In-memory stand-in for the MongoDB backed
+ * {@link AuthorizationRuleRepository}, keyed by rule id, so the compiled
+ * authorization rules can be exercised without a running database.
+ *
+ * <p>
+ * Only the operations used by the application are implemented; query by
+ * example is not supported.
+ * </p>
+ */
+public class InMemoryAuthorizationRuleRepository implements AuthorizationRuleRepository {
+
+    private final ConcurrentMap<String, AuthorizationRule> rules = new ConcurrentHashMap<>();
+
+    @Override
+    public <S extends AuthorizationRule> S save(S entity) {
+        if (entity.getRuleId() == null)
+            entity.setRuleId(UUID.randomUUID().toString());
+        rules.put(entity.getRuleId(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends AuthorizationRule> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends AuthorizationRule> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends AuthorizationRule> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<AuthorizationRule> findById(String id) {
+        return Optional.ofNullable(rules.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<AuthorizationRule> findAll() {
+        return new ArrayList<>(rules.values());
+    }
+
+    @Override
+    public List<AuthorizationRule> findAllById(Iterable<String> ids) {
+        List<AuthorizationRule> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public List<AuthorizationRule> findAll(Sort sort) {
+        return findAll();
+    }
+
+    @Override
+    public Page<AuthorizationRule> findAll(Pageable pageable) {
+        List<AuthorizationRule> all = findAll();
+        if (pageable.isUnpaged())
+            return new PageImpl<>(all);
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return rules.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        findById(id).ifPresent(this::delete);
+    }
+
+    @Override
+    public void delete(AuthorizationRule entity) {
+        rules.remove(entity.getRuleId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends AuthorizationRule> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        rules.clear();
+    }
+
+    @Override
+    public <S extends AuthorizationRule> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends AuthorizationRule> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends AuthorizationRule> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends AuthorizationRule> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends AuthorizationRule> long count(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends AuthorizationRule> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends AuthorizationRule, R> R findBy(Example<S> example,
+            Function<FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+}
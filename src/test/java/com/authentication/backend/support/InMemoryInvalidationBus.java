@@ -0,0 +1,93 @@
+package com.authentication.backend.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.authentication.backend.security.InvalidationBus;
+
+/**
+ * In-memory stand-in for the network of an {@link InvalidationBus}: every
+ * endpoint receives the invalidations published by any endpoint after a fixed
+ * delivery delay, on a thread of the network. Endpoints can be disconnected to
+ * simulate lost messages.
+ */
+public class InMemoryInvalidationBus implements AutoCloseable {
+
+    private final List<Endpoint> endpoints = new CopyOnWriteArrayList<>();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "invalidation-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Duration delay;
+
+    /**
+     * Create a network delivering invalidations after the given delay.
+     *
+     * @param delay The delivery delay.
+     */
+    public InMemoryInvalidationBus(Duration delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * Connect a new node to the network.
+     *
+     * @return The bus of the node.
+     */
+    public Endpoint connect() {
+        Endpoint endpoint = new Endpoint();
+        endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The bus of a node connected to the network.
+     */
+    public class Endpoint implements InvalidationBus {
+
+        private final List<Consumer<Invalidation>> receivers = new CopyOnWriteArrayList<>();
+
+        private volatile boolean connected = true;
+
+        @Override
+        public void publish(Invalidation invalidation) {
+            if (!connected)
+                return;
+            for (Endpoint endpoint : endpoints)
+                executor.schedule(() -> endpoint.deliver(invalidation), delay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void subscribe(Consumer<Invalidation> receiver) {
+            receivers.add(receiver);
+        }
+
+        /**
+         * Connect or disconnect the node; a disconnected node neither sends nor
+         * receives invalidations.
+         *
+         * @param connected Whether the node is connected.
+         */
+        public void setConnected(boolean connected) {
+            this.connected = connected;
+        }
+
+        private void deliver(Invalidation invalidation) {
+            if (connected)
+                receivers.forEach(receiver -> receiver.accept(invalidation));
+        }
+    }
+}
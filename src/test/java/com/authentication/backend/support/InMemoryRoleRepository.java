@@ -0,0 +1,167 @@
+package com.authentication.backend.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import com.authentication.backend.models.Role;
+import com.authentication.backend.repository.RoleRepository;
+
+/**
+ * In-memory stand-in for the MongoDB backed {@link RoleRepository}, keyed by
+ * authority, so services resolving roles can be exercised without a running
+ * database.
+ *
+ * <p>
+ * Only the operations used by the application are implemented; query by
+ * example is not supported.
+ * </p>
+ */
+public class InMemoryRoleRepository implements RoleRepository {
+
+    private final ConcurrentMap<String, Role> roles = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Role> findByAuthority(String authority) {
+        return Optional.ofNullable(roles.get(authority));
+    }
+
+    @Override
+    public <S extends Role> S save(S entity) {
+        if (entity.getRoleId() == null)
+            entity.setRoleId(UUID.randomUUID().toString());
+        roles.put(entity.getAuthority(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends Role> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends Role> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Role> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<Role> findById(Integer id) {
+        return roles.values().stream().filter(role -> String.valueOf(id).equals(role.getRoleId())).findFirst();
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Role> findAll() {
+        return new ArrayList<>(roles.values());
+    }
+
+    @Override
+    public List<Role> findAllById(Iterable<Integer> ids) {
+        List<Role> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public List<Role> findAll(Sort sort) {
+        return findAll();
+    }
+
+    @Override
+    public Page<Role> findAll(Pageable pageable) {
+        List<Role> all = findAll();
+        if (pageable.isUnpaged())
+            return new PageImpl<>(all);
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return roles.size();
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        findById(id).ifPresent(this::delete);
+    }
+
+    @Override
+    public void delete(Role entity) {
+        roles.remove(entity.getAuthority());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Integer> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Role> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        roles.clear();
+    }
+
+    @Override
+    public <S extends Role> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends Role> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends Role> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends Role> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends Role> long count(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends Role> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends Role, R> R findBy(Example<S> example,
+            Function<FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+}
@@ -0,0 +1,48 @@
+package com.authentication.backend.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.security.SharedUserCache;
+
+/**
+ * In-memory stand-in for a {@link SharedUserCache} shared by several nodes,
+ * with the same version rules as the MongoDB backed one: a user is only stored
+ * if it is at least as recent as the stored entry or tombstone.
+ */
+public class InMemorySharedUserCache implements SharedUserCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public ApplicationUser get(String username) {
+        Entry entry = entries.get(username);
+        return entry == null ? null : entry.user();
+    }
+
+    @Override
+    public void put(ApplicationUser user) {
+        entries.merge(user.getUsername(), new Entry(user.getVersion(), user), InMemorySharedUserCache::newest);
+    }
+
+    @Override
+    public void evict(String username, long version) {
+        if (version <= 0)
+            entries.remove(username);
+        else
+            entries.merge(username, new Entry(version, null), InMemorySharedUserCache::newest);
+    }
+
+    @Override
+    public void evictAll() {
+        entries.clear();
+    }
+
+    private static Entry newest(Entry stored, Entry written) {
+        return stored.version() <= written.version() ? written : stored;
+    }
+
+    private record Entry(long version, ApplicationUser user) {
+    }
+}
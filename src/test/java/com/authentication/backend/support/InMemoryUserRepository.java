@@ -0,0 +1,214 @@
+package com.authentication.backend.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import com.authentication.backend.models.ApplicationUser;
+import com.authentication.backend.repository.UserRepository;
+
+/**
+ * In-memory stand-in for the MongoDB backed {@link UserRepository}, keyed by
+ * username, so authentication flows can be exercised and measured without a
+ * running database.
+ *
+ * <p>
+ * Only the operations used by the application are implemented; query by
+ * example is not supported.
+ * </p>
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final ConcurrentMap<String, ApplicationUser> users = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<ApplicationUser> findByUsername(String userName) {
+        return Optional.ofNullable(users.get(userName));
+    }
+
+    @Override
+    public Optional<ApplicationUser> findCredentialsByUsername(String userName) {
+        return findByUsername(userName);
+    }
+
+    @Override
+    public boolean updatePassword(String userName, String password) {
+        ApplicationUser user = users.get(userName);
+        if (user == null)
+            return false;
+        user.setPassword(password);
+        user.setVersion(user.getVersion() + 1);
+        return true;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<ApplicationUser> users) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            if (users.get(i).getUserId() == null)
+                users.get(i).setUserId(UUID.randomUUID().toString());
+            if (this.users.putIfAbsent(users.get(i).getUsername(), users.get(i)) != null)
+                failures.put(i, "Username already exists");
+        }
+        return failures;
+    }
+
+    @Override
+    public List<ApplicationUser> findPageAfter(String afterId, int limit) {
+        return streamAll().filter(user -> afterId == null || user.getUserId().compareTo(afterId) > 0)
+                .limit(limit).toList();
+    }
+
+    @Override
+    public Stream<ApplicationUser> streamAll() {
+        return users.values().stream().sorted(Comparator.comparing(ApplicationUser::getUserId));
+    }
+
+    @Override
+    public Stream<String> streamUsernames() {
+        return users.keySet().stream();
+    }
+
+    @Override
+    public <S extends ApplicationUser> S save(S entity) {
+        if (entity.getUserId() == null)
+            entity.setUserId(UUID.randomUUID().toString());
+        users.put(entity.getUsername(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends ApplicationUser> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends ApplicationUser> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends ApplicationUser> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<ApplicationUser> findById(Integer id) {
+        return users.values().stream().filter(user -> String.valueOf(id).equals(user.getUserId())).findFirst();
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<ApplicationUser> findAll() {
+        return new ArrayList<>(users.values());
+    }
+
+    @Override
+    public List<ApplicationUser> findAllById(Iterable<Integer> ids) {
+        List<ApplicationUser> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public List<ApplicationUser> findAll(Sort sort) {
+        return findAll();
+    }
+
+    @Override
+    public Page<ApplicationUser> findAll(Pageable pageable) {
+        List<ApplicationUser> all = findAll();
+        if (pageable.isUnpaged())
+            return new PageImpl<>(all);
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return users.size();
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        findById(id).ifPresent(this::delete);
+    }
+
+    @Override
+    public void delete(ApplicationUser entity) {
+        users.remove(entity.getUsername());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Integer> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends ApplicationUser> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        users.clear();
+    }
+
+    @Override
+    public <S extends ApplicationUser> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApplicationUser> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApplicationUser> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApplicationUser> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApplicationUser> long count(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApplicationUser> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+
+    @Override
+    public <S extends ApplicationUser, R> R findBy(Example<S> example,
+            Function<FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Query by example is not supported");
+    }
+}